@@ -0,0 +1,28 @@
+package com.finance.management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finance.management.service.BudgetService;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BudgetServiceBenchmark {
+
+    @Benchmark
+    public List<BudgetService.BudgetTrackingInfo> budgetTrackingInfo(SeededApplication app) {
+        return app.bean(BudgetService.class).getBudgetTrackingInfo(app.userId, app.currentMonth.getYear(),
+                app.currentMonth.getMonthValue());
+    }
+}
@@ -0,0 +1,38 @@
+package com.finance.management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+
+import com.finance.management.config.CacheConfig;
+import com.finance.management.dto.RecommendationDto;
+import com.finance.management.service.FinancialHealthService;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FinancialHealthBenchmark {
+
+    // Snapshot kesehatan sudah ada di cache: hanya versi data yang dibaca
+    @Benchmark
+    public List<RecommendationDto> dynamicRecommendations(SeededApplication app) {
+        return app.bean(FinancialHealthService.class).generateDynamicRecommendations(app.userId);
+    }
+
+    // Snapshot dihitung ulang setiap kali, seperti setelah penulisan data
+    @Benchmark
+    public List<RecommendationDto> dynamicRecommendationsColdSnapshot(SeededApplication app) {
+        app.bean(CacheManager.class).getCache(CacheConfig.HEALTH_SNAPSHOTS).clear();
+        return app.bean(FinancialHealthService.class).generateDynamicRecommendations(app.userId);
+    }
+}
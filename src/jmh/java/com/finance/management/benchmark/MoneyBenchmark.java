@@ -0,0 +1,130 @@
+package com.finance.management.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finance.management.model.Money;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+
+/**
+ * Penjumlahan nominal di memori: reduce(BigDecimal::add) dan merge per kategori seperti kode lama,
+ * dibandingkan Money yang diakumulasi sebagai long. Benchmark *NetCash memakai Transaction seperti
+ * TransactionService.recordTransactions, jadi biaya konversi BigDecimal ke sen per baris ikut terukur.
+ * Jalankan dengan -prof gc untuk melihat alokasi per operasi (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final String[] CATEGORIES = { "Makan", "Transport", "Belanja", "Listrik", "Hiburan", "Gaji" };
+
+    @Param({ "1000", "100000" })
+    public int rows;
+
+    private List<BigDecimal> decimals;
+    private List<Money> amounts;
+    private List<Transaction> transactions;
+    private String[] categories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        decimals = new ArrayList<>(rows);
+        amounts = new ArrayList<>(rows);
+        transactions = new ArrayList<>(rows);
+        categories = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            // Nilai seperti yang dibaca dari kolom DECIMAL(15,2)
+            BigDecimal amount = BigDecimal.valueOf(500_000 + random.nextInt(50_000_000), Money.SCALE);
+            decimals.add(amount);
+            amounts.add(Money.of(amount));
+            categories[i] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+
+            Transaction transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setType(random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        return decimals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money moneySum() {
+        return Money.sum(amounts, Function.identity());
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalNetCash() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transaction transaction : transactions) {
+            total = transaction.getType() == TransactionType.INCOME ? total.add(transaction.getAmount())
+                    : total.subtract(transaction.getAmount());
+        }
+        return total;
+    }
+
+    // Money per baris lewat Money.of dan negate
+    @Benchmark
+    public Money moneySumNetCash() {
+        return Money.sum(transactions, transaction -> {
+            Money amount = Money.of(transaction.getAmount());
+            return transaction.getType() == TransactionType.INCOME ? amount : amount.negate();
+        });
+    }
+
+    // Seperti TransactionService.recordTransactions: sen per baris lewat toMinorUnits
+    @Benchmark
+    public Money moneySumMinorNetCash() {
+        return Money.sumMinor(transactions, transaction -> {
+            long amount = Money.toMinorUnits(transaction.getAmount());
+            return transaction.getType() == TransactionType.INCOME ? amount : Math.negateExact(amount);
+        });
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> bigDecimalSumByCategory() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            totals.merge(categories[i], decimals.get(i), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, long[]> moneySumByCategory() {
+        Map<String, long[]> totals = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            long[] total = totals.computeIfAbsent(categories[i], category -> new long[1]);
+            total[0] = Math.addExact(total[0], amounts.get(i).getMinorUnits());
+        }
+        return totals;
+    }
+}
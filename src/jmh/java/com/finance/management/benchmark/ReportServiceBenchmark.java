@@ -0,0 +1,32 @@
+package com.finance.management.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finance.management.service.ReportService;
+
+/**
+ * PDF laporan satu bulan ditulis ke OutputStream.nullOutputStream(), jadi yang terukur hanya
+ * query, layout iText dan alokasinya, tanpa I/O.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportServiceBenchmark {
+
+    @Benchmark
+    public void monthlyPdfReport(SeededApplication app) throws Exception {
+        app.bean(ReportService.class).generatePdfReport(app.userId, app.currentMonth.getYear(),
+                app.currentMonth.getMonthValue(), OutputStream.nullOutputStream());
+    }
+}
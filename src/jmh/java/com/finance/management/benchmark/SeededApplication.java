@@ -0,0 +1,144 @@
+package com.finance.management.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.finance.management.ManagementApplication;
+import com.finance.management.dto.AssetDto;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.UserRegistrationDto;
+import com.finance.management.model.AssetType;
+import com.finance.management.model.Budget;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.service.AssetService;
+import com.finance.management.service.BudgetService;
+import com.finance.management.service.DebtService;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+
+/**
+ * Aplikasi lengkap di atas H2 (mode MySQL) dengan satu user berisi `rows` transaksi yang tersebar
+ * di 24 bulan terakhir, ditambah anggaran bulan ini, beberapa aset dan utang.
+ * Data dibuat sekali per trial lewat jalur batch yang sama dengan impor file.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    private static final String[] EXPENSE_CATEGORIES = { "Makan", "Transport", "Belanja", "Listrik", "Internet",
+            "Hiburan", "Kesehatan", "Pendidikan", "Sewa", "Lainnya" };
+    private static final int MONTHS = 24;
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    public ConfigurableApplicationContext context;
+    public Long userId;
+    public YearMonth currentMonth;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = SpringApplication.run(ManagementApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        currentMonth = YearMonth.now();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        UserRegistrationDto registration = new UserRegistrationDto();
+        registration.setUsername("benchmark");
+        registration.setEmail("benchmark@example.com");
+        registration.setPassword("benchmark");
+        userId = bean(UserService.class).registerNewUser(registration).getId();
+
+        TransactionService transactionService = bean(TransactionService.class);
+        Random random = new Random(42);
+        List<Transaction> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            YearMonth month = currentMonth.minusMonths(i % MONTHS);
+            Transaction transaction = new Transaction();
+            if (i % 5 == 0) {
+                transaction.setType(TransactionType.INCOME);
+                transaction.setCategory("Gaji");
+                transaction.setAmount(BigDecimal.valueOf(1_000_000 + random.nextInt(9_000_000)));
+            } else {
+                transaction.setType(TransactionType.EXPENSE);
+                transaction.setCategory(EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)]);
+                transaction.setAmount(BigDecimal.valueOf(5_000 + random.nextInt(500_000)));
+            }
+            transaction.setDescription("Transaksi benchmark #" + i);
+            transaction.setTransactionDate(month.atDay(1 + random.nextInt(28)));
+            batch.add(transaction);
+            if (batch.size() == SEED_BATCH_SIZE) {
+                transactionService.createTransactions(batch, userId);
+                batch = new ArrayList<>(SEED_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            transactionService.createTransactions(batch, userId);
+        }
+
+        BudgetService budgetService = bean(BudgetService.class);
+        for (String category : EXPENSE_CATEGORIES) {
+            Budget budget = new Budget();
+            budget.setCategory(category);
+            budget.setAmount(BigDecimal.valueOf(2_000_000));
+            budget.setBudgetYear(currentMonth.getYear());
+            budget.setBudgetMonth(currentMonth.getMonthValue());
+            budgetService.createOrUpdateBudget(budget, userId);
+        }
+
+        AssetService assetService = bean(AssetService.class);
+        for (int i = 0; i < 5; i++) {
+            AssetDto asset = new AssetDto();
+            asset.setType(i % 2 == 0 ? AssetType.INVESTMENT : AssetType.PROPERTY);
+            asset.setName("Aset " + i);
+            asset.setCurrentValue(BigDecimal.valueOf(50_000_000L * (i + 1)));
+            asset.setAcquisitionDate(LocalDate.now().minusYears(i));
+            assetService.createAsset(asset, userId);
+        }
+
+        DebtService debtService = bean(DebtService.class);
+        for (int i = 0; i < 3; i++) {
+            DebtDto debt = new DebtDto();
+            debt.setLenderName("Kreditur " + i);
+            debt.setInitialAmount(BigDecimal.valueOf(20_000_000L * (i + 1)));
+            debt.setMonthlyInstallment(BigDecimal.valueOf(1_000_000L * (i + 1)));
+            debt.setDueDayOfMonth(10 + i);
+            debt.setDueDate(LocalDate.now().plusYears(2));
+            debtService.createDebt(debt, userId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.finance.management.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finance.management.service.TransactionService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionServiceBenchmark {
+
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        transactionService = app.bean(TransactionService.class);
+    }
+
+    @Benchmark
+    public BigDecimal totalIncome(SeededApplication app) {
+        return transactionService.getTotalIncome(app.userId);
+    }
+
+    @Benchmark
+    public BigDecimal expenseForCurrentMonth(SeededApplication app) {
+        return transactionService.getExpenseForCurrentMonth(app.userId);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> expenseSummaryByCategory(SeededApplication app) {
+        return transactionService.getExpenseSummaryByCategory(app.userId);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> expenseSummaryForMonth(SeededApplication app) {
+        return transactionService.getExpenseSummaryForMonth(app.userId, app.currentMonth.getYear(),
+                app.currentMonth.getMonthValue());
+    }
+}
@@ -0,0 +1,71 @@
+package com.finance.management.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Penampung latensi (nanodetik) untuk satu sesi. Tidak thread-safe: setiap sesi punya instance
+ * sendiri dan hasilnya digabung dengan merge setelah sesi selesai.
+ */
+public class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public void merge(LatencyStats other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, size + other.size));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Ringkasan dalam milidetik: p50, p90, p99, p99.9 dan max, dengan metode nearest-rank.
+     */
+    public Map<String, Double> percentilesMillis() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        Map<String, Double> result = new LinkedHashMap<>();
+        result.put("p50", percentile(sorted, 50));
+        result.put("p90", percentile(sorted, 90));
+        result.put("p99", percentile(sorted, 99));
+        result.put("p999", percentile(sorted, 99.9));
+        result.put("max", sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]));
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return toMillis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,171 @@
+package com.finance.management.load;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.finance.management.ManagementApplication;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.UserRegistrationDto;
+import com.finance.management.model.Asset;
+import com.finance.management.model.AssetType;
+import com.finance.management.model.Budget;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.service.AssetService;
+import com.finance.management.service.BudgetService;
+import com.finance.management.service.DebtService;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+
+/**
+ * Aplikasi lengkap dengan Tomcat di port acak di atas H2 (mode MySQL), diisi sejumlah user
+ * "load-user-{i}" dengan riwayat sintetis 12 bulan terakhir: transaksi, aset (termasuk kas dari
+ * pembelian), utang beserta cicilannya, dan anggaran per kategori setiap bulan. Data dibuat lewat
+ * service aplikasi dengan seed tetap, jadi dua kali jalan menghasilkan data yang sama.
+ */
+public class LoadApplication implements AutoCloseable {
+
+    public static final String PASSWORD = "load-secret";
+
+    private static final String[] EXPENSE_CATEGORIES = { "Makan", "Transport", "Belanja", "Listrik", "Hiburan" };
+    private static final String[] ASSET_NAMES = { "Reksa Dana", "Saham", "Emas", "Deposito", "Rumah" };
+    private static final String[] LENDERS = { "Bank", "Kartu Kredit", "Koperasi", "Keluarga" };
+    private static final int MONTHS = 12;
+
+    private final ConfigurableApplicationContext context;
+
+    public LoadApplication(String databaseName, String... extraArgs) {
+        // Restart devtools menjalankan ulang main() dengan argumen Spring; hanya bisa dimatikan lewat system property
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String[] args = Stream.concat(Stream.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--app.async.enabled=true",
+                "--logging.level.root=WARN"), Stream.of(extraArgs)).toArray(String[]::new);
+        context = SpringApplication.run(ManagementApplication.class, args);
+    }
+
+    public int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public static String username(int index) {
+        return "load-user-" + index;
+    }
+
+    public void seedUsers(int users, int transactionsPerUser) {
+        seedUsers(users, transactionsPerUser, 2, 1);
+    }
+
+    public void seedUsers(int users, int transactionsPerUser, int assetsPerUser, int debtsPerUser) {
+        for (int i = 0; i < users; i++) {
+            Random random = new Random(42L + i);
+            Long userId = registerUser(i);
+            seedTransactions(userId, transactionsPerUser, random);
+            seedAssets(userId, assetsPerUser, random);
+            seedDebts(userId, debtsPerUser, random);
+            seedBudgets(userId);
+        }
+    }
+
+    private Long registerUser(int index) {
+        UserRegistrationDto registration = new UserRegistrationDto();
+        registration.setUsername(username(index));
+        registration.setEmail(username(index) + "@example.com");
+        registration.setPassword(PASSWORD);
+        return bean(UserService.class).registerNewUser(registration).getId();
+    }
+
+    private void seedTransactions(Long userId, int count, Random random) {
+        YearMonth currentMonth = YearMonth.now();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            Transaction transaction = new Transaction();
+            if (t % 5 == 0) {
+                transaction.setType(TransactionType.INCOME);
+                transaction.setCategory("Gaji");
+                transaction.setAmount(BigDecimal.valueOf(1_000_000 + random.nextInt(9_000_000)));
+            } else {
+                transaction.setType(TransactionType.EXPENSE);
+                transaction.setCategory(EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)]);
+                transaction.setAmount(BigDecimal.valueOf(5_000 + random.nextInt(500_000)));
+            }
+            transaction.setTransactionDate(currentMonth.minusMonths(t % MONTHS).atDay(1 + random.nextInt(28)));
+            transactions.add(transaction);
+        }
+        bean(TransactionService.class).createTransactions(transactions, userId);
+    }
+
+    // Pembelian lewat addOrUpdateAsset ikut mencatat pengeluaran "Pembelian Aset" dan mengurangi kas
+    private void seedAssets(Long userId, int count, Random random) {
+        AssetService assetService = bean(AssetService.class);
+        for (int a = 0; a < count; a++) {
+            String name = ASSET_NAMES[a % ASSET_NAMES.length];
+            Asset asset = new Asset();
+            asset.setType("Rumah".equals(name) ? AssetType.PROPERTY : AssetType.INVESTMENT);
+            asset.setName(a < ASSET_NAMES.length ? name : name + " " + a);
+            asset.setCurrentValue(BigDecimal.valueOf(500_000 + random.nextInt(20_000_000)));
+            asset.setAcquisitionDate(LocalDate.now().minusDays(random.nextInt(365)));
+            assetService.addOrUpdateAsset(asset, userId);
+        }
+    }
+
+    private void seedDebts(Long userId, int count, Random random) {
+        DebtService debtService = bean(DebtService.class);
+        for (int d = 0; d < count; d++) {
+            DebtDto debt = new DebtDto();
+            debt.setLenderName(LENDERS[d % LENDERS.length]);
+            BigDecimal initialAmount = BigDecimal.valueOf(5_000_000 + random.nextInt(45_000_000));
+            BigDecimal installment = initialAmount.divide(BigDecimal.valueOf(24), 0, RoundingMode.CEILING);
+            debt.setInitialAmount(initialAmount);
+            debt.setMonthlyInstallment(installment);
+            debt.setDueDayOfMonth(1 + random.nextInt(28));
+            debt.setDueDate(LocalDate.now().plusMonths(12 + random.nextInt(24)));
+            Long debtId = debtService.createDebt(debt, userId).getId();
+            for (int payment = random.nextInt(4); payment > 0; payment--) {
+                debtService.makePayment(debtId, installment, userId);
+            }
+        }
+    }
+
+    private void seedBudgets(Long userId) {
+        YearMonth currentMonth = YearMonth.now();
+        BudgetService budgetService = bean(BudgetService.class);
+        for (int m = 0; m < MONTHS; m++) {
+            YearMonth month = currentMonth.minusMonths(m);
+            for (String category : EXPENSE_CATEGORIES) {
+                Budget budget = new Budget();
+                budget.setCategory(category);
+                budget.setAmount(BigDecimal.valueOf(2_000_000));
+                budget.setBudgetYear(month.getYear());
+                budget.setBudgetMonth(month.getMonthValue());
+                budgetService.createOrUpdateBudget(budget, userId);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
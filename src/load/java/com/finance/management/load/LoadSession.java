@@ -0,0 +1,97 @@
+package com.finance.management.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Satu sesi browser: login lewat form (dengan token CSRF dari halaman login), lalu membawa cookie
+ * JSESSIONID di setiap request berikutnya. HttpClient dibagi antar sesi; cookie diurus manual supaya
+ * ribuan sesi tidak butuh ribuan HttpClient. Token CSRF untuk POST setelah login diambil dari
+ * halaman yang memuat form, karena token lama diganti saat login.
+ */
+public class LoadSession {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern SESSION_COOKIE = Pattern.compile("JSESSIONID=([^;]+)");
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private String sessionId;
+    private String csrfToken;
+
+    public LoadSession(HttpClient client, URI baseUri) {
+        this.client = client;
+        this.baseUri = baseUri;
+    }
+
+    public void login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> loginPage = send(HttpRequest.newBuilder(baseUri.resolve("/login")).GET());
+        Matcher csrf = CSRF_INPUT.matcher(loginPage.body());
+        if (!csrf.find()) {
+            throw new IllegalStateException("Token CSRF tidak ditemukan di halaman login");
+        }
+        String form = "username=" + encode(username) + "&password=" + encode(password) + "&_csrf="
+                + encode(csrf.group(1));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri.resolve("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("Login gagal untuk " + username + ": " + response.statusCode()
+                    + " " + location);
+        }
+    }
+
+    /**
+     * GET dan mengembalikan status HTTP; body dibaca habis supaya koneksi bisa dipakai ulang.
+     */
+    public int get(String path) throws IOException, InterruptedException {
+        return fetch(path).statusCode();
+    }
+
+    public HttpResponse<String> fetch(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(baseUri.resolve(path)).GET());
+    }
+
+    /**
+     * POST form dengan token CSRF milik sesi ini; token diambil sekali dari formPage.
+     */
+    public HttpResponse<String> post(String path, String form, String formPage)
+            throws IOException, InterruptedException {
+        if (csrfToken == null) {
+            Matcher csrf = CSRF_INPUT.matcher(fetch(formPage).body());
+            if (!csrf.find()) {
+                throw new IllegalStateException("Token CSRF tidak ditemukan di " + formPage);
+            }
+            csrfToken = csrf.group(1);
+        }
+        return send(HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form + "&_csrf=" + encode(csrfToken))));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        if (sessionId != null) {
+            request.header("Cookie", "JSESSIONID=" + sessionId);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        response.headers().allValues("Set-Cookie").forEach(cookie -> {
+            Matcher matcher = SESSION_COOKIE.matcher(cookie);
+            if (matcher.find()) {
+                sessionId = matcher.group(1);
+            }
+        });
+        return response;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,270 @@
+package com.finance.management.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Uji beban per endpoint dengan data sintetis banyak user. Aplikasi dijalankan di atas H2 (mode MySQL),
+ * diisi lewat LoadApplication, lalu setiap sesi login lewat form dan bergantian membuka PAGES tanpa jeda.
+ * Setiap "report-every" request, sesi membuat laporan PDF: POST /reports/jobs, memantau status job,
+ * lalu mengunduh hasilnya. Kirim, cek status, dan unduh diukur sebagai endpoint masing-masing; jeda
+ * antar pengecekan status tidak ikut diukur.
+ *
+ * Hasilnya throughput dan persentil latensi per endpoint (termasuk login) dalam file JSON.
+ *
+ * Argumen (key=value): users, sessions, transactions, assets, debts, pool-size, threads (platform/virtual),
+ * warmup, duration, report-every, output.
+ */
+public class LoadTestSuite {
+
+    static final List<String> PAGES = List.of("/dashboard", "/transactions", "/budgets", "/api/expense-summary");
+    static final String LOGIN = "login";
+    static final String REPORT_SUBMIT = "POST /reports/jobs";
+    static final String REPORT_STATUS = "/reports/jobs/{id}";
+    static final String REPORT_DOWNLOAD = "/reports/jobs/{id}/download";
+
+    private static final Duration REPORT_POLL_INTERVAL = Duration.ofMillis(250);
+    private static final Duration REPORT_TIMEOUT = Duration.ofSeconds(60);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("users", "50");
+        options.put("sessions", "200");
+        options.put("transactions", "240");
+        options.put("assets", "3");
+        options.put("debts", "2");
+        options.put("pool-size", "20");
+        options.put("threads", "platform");
+        options.put("warmup", "10s");
+        options.put("duration", "60s");
+        options.put("report-every", "20");
+        options.put("output", "target/load/load-test.json");
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        int users = Integer.parseInt(options.get("users"));
+        int sessions = Integer.parseInt(options.get("sessions"));
+        int reportEvery = Integer.parseInt(options.get("report-every"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+        boolean virtual = switch (options.get("threads")) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Mode thread tidak dikenal: " + options.get("threads"));
+        };
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        try (LoadApplication app = new LoadApplication("load-suite",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.hikari.maximum-pool-size=" + options.get("pool-size"));
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long seedStarted = System.nanoTime();
+            app.seedUsers(users, Integer.parseInt(options.get("transactions")),
+                    Integer.parseInt(options.get("assets")), Integer.parseInt(options.get("debts")));
+            double seedSeconds = (System.nanoTime() - seedStarted) / 1e9;
+            report.put("seedSeconds", Math.round(seedSeconds * 10) / 10.0);
+            System.out.printf("%d user siap dalam %.1f s, login %d sesi...%n", users, seedSeconds, sessions);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .executor(clients)
+                    .build();
+            URI baseUri = URI.create("http://localhost:" + app.port());
+
+            CountDownLatch loggedIn = new CountDownLatch(sessions);
+            CountDownLatch start = new CountDownLatch(1);
+            long[] window = new long[2];
+            long loginStarted = System.nanoTime();
+            List<Future<Map<String, LatencyStats>>> futures = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                int index = i;
+                futures.add(clients.submit(() -> {
+                    Map<String, LatencyStats> stats = new LinkedHashMap<>();
+                    LoadSession session = new LoadSession(client, baseUri);
+                    long started = System.nanoTime();
+                    try {
+                        session.login(LoadApplication.username(index % users), LoadApplication.PASSWORD);
+                        stats.computeIfAbsent(LOGIN, key -> new LatencyStats()).record(System.nanoTime() - started);
+                    } catch (IOException | IllegalStateException e) {
+                        stats.computeIfAbsent(LOGIN, key -> new LatencyStats()).recordError();
+                        return stats;
+                    } finally {
+                        loggedIn.countDown();
+                    }
+                    start.await();
+                    drive(session, index, reportEvery, window[0], window[1], stats);
+                    return stats;
+                }));
+            }
+            loggedIn.await();
+            double loginSeconds = (System.nanoTime() - loginStarted) / 1e9;
+
+            long now = System.nanoTime();
+            window[0] = now + warmup.toNanos();
+            window[1] = window[0] + duration.toNanos();
+            System.out.printf("warmup %s, ukur %s...%n", warmup, duration);
+            start.countDown();
+
+            // Urutan laporan tetap: login, halaman, lalu laporan PDF
+            Map<String, LatencyStats> total = new LinkedHashMap<>();
+            total.put(LOGIN, new LatencyStats());
+            PAGES.forEach(page -> total.put(page, new LatencyStats()));
+            List.of(REPORT_SUBMIT, REPORT_STATUS, REPORT_DOWNLOAD).forEach(step -> total.put(step, new LatencyStats()));
+            for (Future<Map<String, LatencyStats>> future : futures) {
+                future.get().forEach((endpoint, stats) ->
+                        total.computeIfAbsent(endpoint, key -> new LatencyStats()).merge(stats));
+            }
+
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            total.forEach((endpoint, stats) -> endpoints.put(endpoint, summary(stats,
+                    endpoint.equals(LOGIN) ? loginSeconds : duration.toNanos() / 1e9)));
+            report.put("endpoints", endpoints);
+        }
+
+        System.out.printf("%n%-28s %9s %8s %10s %8s %8s %8s %8s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "max ms");
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((endpoint, result) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Double> latency = (Map<String, Double>) result.get("latencyMs");
+            System.out.printf("%-28s %9d %8d %10.1f %8.1f %8.1f %8.1f %8.1f%n", endpoint, result.get("requests"),
+                    result.get("errors"), result.get("throughputPerSecond"), latency.get("p50"), latency.get("p90"),
+                    latency.get("p99"), latency.get("max"));
+        });
+
+        Path output = Path.of(options.get("output"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        JSON.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Hasil: " + output.toAbsolutePath());
+    }
+
+    private static void drive(LoadSession session, int index, int reportEvery, long measureFrom, long measureUntil,
+            Map<String, LatencyStats> stats) throws InterruptedException {
+        for (int request = index; ; request++) {
+            long started = System.nanoTime();
+            if (started >= measureUntil) {
+                return;
+            }
+            Recorder recorder = new Recorder(stats, started >= measureFrom);
+            if (reportEvery > 0 && request % reportEvery == reportEvery - 1) {
+                generateReport(session, recorder);
+            } else {
+                String page = PAGES.get(request % PAGES.size());
+                recorder.time(page, 200, () -> session.fetch(page));
+            }
+        }
+    }
+
+    // Periode acak dalam 12 bulan terakhir supaya tidak semua permintaan kena cache PDF yang sama
+    private static void generateReport(LoadSession session, Recorder recorder) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        YearMonth from = YearMonth.now().minusMonths(random.nextInt(12));
+        String form = "year=" + from.getYear() + "&month=" + from.getMonthValue() + "&months=" + (1 + random.nextInt(3));
+        HttpResponse<String> submitted = recorder.time(REPORT_SUBMIT, 202,
+                () -> session.post("/reports/jobs", form, "/reports"));
+        if (submitted == null) {
+            return;
+        }
+        try {
+            JsonNode job = JSON.readTree(submitted.body());
+            String jobPath = "/reports/jobs/" + job.path("id").asText();
+            long deadline = System.nanoTime() + REPORT_TIMEOUT.toNanos();
+            while (!isFinished(job.path("status").asText())) {
+                if (System.nanoTime() > deadline) {
+                    recorder.error(REPORT_STATUS);
+                    return;
+                }
+                Thread.sleep(REPORT_POLL_INTERVAL);
+                HttpResponse<String> polled = recorder.time(REPORT_STATUS, 200, () -> session.fetch(jobPath));
+                if (polled == null) {
+                    return;
+                }
+                job = JSON.readTree(polled.body());
+            }
+            if ("DONE".equals(job.path("status").asText())) {
+                recorder.time(REPORT_DOWNLOAD, 200, () -> session.fetch(jobPath + "/download"));
+            } else {
+                recorder.error(REPORT_DOWNLOAD);
+            }
+        } catch (IOException e) {
+            recorder.error(REPORT_STATUS);
+        }
+    }
+
+    private static boolean isFinished(String status) {
+        return "DONE".equals(status) || "FAILED".equals(status);
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Mencatat latensi satu request per endpoint, hanya jika iterasinya dimulai di dalam jendela ukur.
+     */
+    private record Recorder(Map<String, LatencyStats> stats, boolean measuring) {
+
+        // Mengembalikan response, atau null jika gagal atau statusnya bukan expectedStatus
+        HttpResponse<String> time(String endpoint, int expectedStatus, Call call) throws InterruptedException {
+            long started = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = call.send();
+            } catch (IOException e) {
+                response = null;
+            }
+            boolean ok = response != null && response.statusCode() == expectedStatus;
+            if (measuring) {
+                LatencyStats endpointStats = stats.computeIfAbsent(endpoint, key -> new LatencyStats());
+                if (ok) {
+                    endpointStats.record(System.nanoTime() - started);
+                } else {
+                    endpointStats.recordError();
+                }
+            }
+            return ok ? response : null;
+        }
+
+        void error(String endpoint) {
+            if (measuring) {
+                stats.computeIfAbsent(endpoint, key -> new LatencyStats()).recordError();
+            }
+        }
+    }
+
+    private static Map<String, Object> summary(LatencyStats stats, double seconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", stats.count());
+        result.put("errors", stats.errors());
+        result.put("throughputPerSecond", Math.round(stats.count() / seconds * 10) / 10.0);
+        result.put("latencyMs", stats.percentilesMillis());
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package com.finance.management.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Membandingkan throughput dan latensi antara thread platform (pool Tomcat) dan virtual thread
+ * (spring.threads.virtual.enabled=true). Setiap mode menjalankan aplikasi baru, mengisi data, login
+ * sejumlah sesi sekaligus, lalu setiap sesi bergantian membuka halaman di ENDPOINTS tanpa jeda.
+ * Deteksi pinning JFR diaktifkan di kedua mode dan jumlah event-nya ikut dilaporkan.
+ *
+ * Argumen (key=value): sessions, users, transactions, pool-size, warmup, duration, modes, output.
+ */
+public class VirtualThreadLoadScenario {
+
+    static final List<String> ENDPOINTS = List.of("/dashboard", "/transactions", "/budgets", "/api/expense-summary");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "sessions", "1200",
+                "users", "100",
+                "transactions", "240",
+                "pool-size", "20",
+                "warmup", "10s",
+                "duration", "30s",
+                "modes", "platform,virtual",
+                "output", "target/load/virtual-threads.json"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String mode : options.get("modes").split(",")) {
+            results.add(run(mode.trim(), options));
+        }
+
+        System.out.printf("%n%-10s %9s %10s %8s %8s %8s %8s %8s%n", "mode", "requests", "req/s", "errors",
+                "p50 ms", "p99 ms", "max ms", "pinned");
+        for (Map<String, Object> result : results) {
+            @SuppressWarnings("unchecked")
+            Map<String, Double> latency = (Map<String, Double>) result.get("latencyMs");
+            System.out.printf("%-10s %9d %10.1f %8d %8.1f %8.1f %8.1f %8d%n", result.get("mode"),
+                    result.get("requests"), result.get("throughputPerSecond"), result.get("errors"),
+                    latency.get("p50"), latency.get("p99"), latency.get("max"), result.get("pinnedEvents"));
+        }
+
+        Path output = Path.of(options.get("output"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("results", results);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Hasil: " + output.toAbsolutePath());
+    }
+
+    private static Map<String, Object> run(String mode, Map<String, String> options) throws Exception {
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Mode tidak dikenal: " + mode);
+        };
+        int sessions = Integer.parseInt(options.get("sessions"));
+        int users = Integer.parseInt(options.get("users"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+
+        try (LoadApplication app = new LoadApplication("load-" + mode,
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--app.jfr.pinning.enabled=true",
+                "--spring.datasource.hikari.maximum-pool-size=" + options.get("pool-size"));
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            app.seedUsers(users, Integer.parseInt(options.get("transactions")));
+            System.out.printf("[%s] %d user siap, login %d sesi...%n", mode, users, sessions);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .executor(clients)
+                    .build();
+            URI baseUri = URI.create("http://localhost:" + app.port());
+
+            CountDownLatch loggedIn = new CountDownLatch(sessions);
+            CountDownLatch start = new CountDownLatch(1);
+            long[] window = new long[2];
+            List<Future<LatencyStats>> futures = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                int index = i;
+                futures.add(clients.submit(() -> {
+                    LoadSession session = new LoadSession(client, baseUri);
+                    try {
+                        session.login(LoadApplication.username(index % users), LoadApplication.PASSWORD);
+                    } finally {
+                        loggedIn.countDown();
+                    }
+                    start.await();
+                    return drive(session, index, window[0], window[1]);
+                }));
+            }
+            loggedIn.await();
+
+            long now = System.nanoTime();
+            window[0] = now + warmup.toNanos();
+            window[1] = window[0] + duration.toNanos();
+            System.out.printf("[%s] warmup %s, ukur %s...%n", mode, warmup, duration);
+            start.countDown();
+
+            LatencyStats total = new LatencyStats();
+            for (Future<LatencyStats> future : futures) {
+                total.merge(future.get());
+            }
+            // Event JFR dikirim ke stream secara berkala, beri waktu sebelum metrik dibaca
+            Thread.sleep(2_000);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("sessions", sessions);
+            result.put("requests", total.count());
+            result.put("errors", total.errors());
+            result.put("throughputPerSecond", total.count() / (double) duration.toSeconds());
+            result.put("latencyMs", total.percentilesMillis());
+            result.put("pinnedEvents", pinnedEvents(app.bean(MeterRegistry.class)));
+            return result;
+        }
+    }
+
+    private static LatencyStats drive(LoadSession session, int index, long measureFrom, long measureUntil)
+            throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        for (int request = index; ; request++) {
+            long started = System.nanoTime();
+            if (started >= measureUntil) {
+                return stats;
+            }
+            boolean ok;
+            try {
+                ok = session.get(ENDPOINTS.get(request % ENDPOINTS.size())) == 200;
+            } catch (IOException e) {
+                ok = false;
+            }
+            if (started >= measureFrom) {
+                if (ok) {
+                    stats.record(System.nanoTime() - started);
+                } else {
+                    stats.recordError();
+                }
+            }
+        }
+    }
+
+    private static long pinnedEvents(MeterRegistry registry) {
+        return registry.find("app.virtual-threads.pinned").timers().stream().mapToLong(Timer::count).sum();
+    }
+}
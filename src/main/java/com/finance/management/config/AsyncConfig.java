@@ -0,0 +1,41 @@
+package com.finance.management.config;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import com.finance.management.event.LedgerEvent;
+
+/**
+ * Mengaktifkan @Async dengan executor bawaan Spring Boot (applicationTaskExecutor, virtual thread jika
+ * spring.threads.virtual.enabled=true). Sengaja tidak mendefinisikan bean Executor sendiri: bean itu
+ * akan menggantikan applicationTaskExecutor untuk seluruh aplikasi.
+ *
+ * Dengan app.async.enabled=false (dipakai test), listener @Async berjalan langsung di thread yang
+ * melakukan commit, sehingga read model sudah terbarui saat request selesai.
+ */
+@Configuration
+@EnableAsync
+@ConditionalOnProperty(name = "app.async.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> {
+            if (params.length > 0 && params[0] instanceof LedgerEvent event) {
+                log.error("Proyeksi kategori {} gagal; bangun ulang read model dengan --replay-projections={}", event,
+                        event.userId(), ex);
+            } else {
+                log.error("Gagal menjalankan {} dengan argumen {}", method, Arrays.toString(params), ex);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.finance.management.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.finance.management.dto.AmortizationSchedule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String HEALTH_SNAPSHOTS = "healthSnapshots";
+    public static final String DEBT_SCHEDULES = "debtSchedules";
+    public static final String DEBT_PAYOFF_PLANS = "debtPayoffPlans";
+
+    // Cache snapshot profil user berdasarkan id: dibatasi jumlahnya dan kedaluwarsa otomatis
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${app.cache.users.ttl:10m}") Duration usersTtl,
+            @Value("${app.cache.health-snapshots.max-size:10000}") long healthSnapshotsMaxSize,
+            @Value("${app.cache.health-snapshots.ttl:30m}") Duration healthSnapshotsTtl,
+            @Value("${app.cache.debt-schedules.max-months:2000000}") long debtScheduleMaxMonths,
+            @Value("${app.cache.debt-payoff-plans.max-size:10000}") long debtPayoffPlansMaxSize,
+            @Value("${app.cache.debt-payoff-plans.ttl:30m}") Duration debtPayoffPlansTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            // Evict dari updateProfile dan changePassword baru dijalankan setelah commit; jika langsung,
+            // request lain bisa membaca baris lama sebelum commit dan menyimpannya lagi ke cache
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adapted = super.adaptCaffeineCache(name, cache);
+                return USERS.equals(name) ? new TransactionAwareCacheDecorator(adapted) : adapted;
+            }
+        };
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(usersTtl)
+                .build());
+        // Snapshot kesehatan per user: kesegaran dijaga oleh versi data, TTL hanya untuk membuang user yang tidak aktif
+        cacheManager.registerCustomCache(HEALTH_SNAPSHOTS, Caffeine.newBuilder()
+                .maximumSize(healthSnapshotsMaxSize)
+                .expireAfterAccess(healthSnapshotsTtl)
+                .build());
+        // Jadwal amortisasi per kondisi utang (sisa, cicilan, bunga); dibatasi total bulan yang disimpan
+        cacheManager.registerCustomCache(DEBT_SCHEDULES, Caffeine.newBuilder()
+                .maximumWeight(debtScheduleMaxMonths)
+                .weigher((key, value) -> ((AmortizationSchedule) value).getBalances().length + 1)
+                .build());
+        // Proyeksi pelunasan per user, strategi dan pembayaran tambahan; kesegaran dijaga oleh versi data
+        cacheManager.registerCustomCache(DEBT_PAYOFF_PLANS, Caffeine.newBuilder()
+                .maximumSize(debtPayoffPlansMaxSize)
+                .expireAfterAccess(debtPayoffPlansTtl)
+                .build());
+        return cacheManager;
+    }
+}
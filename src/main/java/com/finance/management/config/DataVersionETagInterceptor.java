@@ -0,0 +1,47 @@
+package com.finance.management.config;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.UserDataVersionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ETag untuk GET JSON milik user, diturunkan dari versi data user (lihat UserDataVersionService).
+ * Jika If-None-Match cocok, request dijawab 304 sebelum controller berjalan, sehingga hanya
+ * tabel user_data_versions yang dibaca.
+ */
+@Component
+public class DataVersionETagInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !(request.getUserPrincipal() instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return true;
+        }
+
+        // Tanggal hari ini ikut menentukan tag karena periode default endpoint bergantung padanya
+        // (daftar: bulan ini, seri kekayaan bersih: 12 bulan sampai hari ini)
+        String resource = request.getRequestURI() + "?" + request.getQueryString();
+        String etag = "\"" + principal.getId() + "-" + userDataVersionService.getVersion(principal.getId()) + "-"
+                + LocalDate.now() + "-" + Integer.toHexString(resource.hashCode()) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
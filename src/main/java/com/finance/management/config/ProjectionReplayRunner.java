@@ -0,0 +1,52 @@
+package com.finance.management.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.finance.management.service.ProjectionReplayService;
+
+/**
+ * Perintah replay read model: jalankan aplikasi dengan --replay-projections untuk semua user atau
+ * --replay-projections=12,15 untuk user tertentu. Aplikasi berhenti setelah replay selesai.
+ */
+@Component
+public class ProjectionReplayRunner implements ApplicationRunner {
+
+    static final String OPTION = "replay-projections";
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionReplayRunner.class);
+
+    @Autowired
+    private ProjectionReplayService projectionReplayService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<Long> userIds = replay(args.getOptionValues(OPTION));
+        log.info("Read model {} user selesai dibangun ulang", userIds.size());
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    List<Long> replay(List<String> values) {
+        List<Long> userIds = values.isEmpty() ? projectionReplayService.getUserIds()
+                : values.stream().flatMap(value -> List.of(value.split(",")).stream())
+                        .map(String::trim).filter(value -> !value.isEmpty()).map(Long::valueOf).toList();
+        for (Long userId : userIds) {
+            projectionReplayService.replay(userId);
+        }
+        return userIds;
+    }
+}
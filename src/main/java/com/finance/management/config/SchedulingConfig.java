@@ -0,0 +1,15 @@
+package com.finance.management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Mengaktifkan @Scheduled (materializer transaksi berulang) dengan scheduler bawaan Spring Boot.
+ * Test mematikannya dengan app.scheduling.enabled=false dan memanggil job secara langsung.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,20 +1,38 @@
 package com.finance.management.config;
 
 import com.finance.management.service.UserDetailsServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Akun scraper Prometheus (HTTP Basic); tanpa password, endpoint actuator selain health selalu ditolak
+    @Value("${app.metrics.username:prometheus}")
+    private String metricsUsername;
+
+    @Value("${app.metrics.password:}")
+    private String metricsPassword;
+
     // Bean untuk mengenkripsi dan memverifikasi password
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -37,10 +55,46 @@ public class SecurityConfig {
         return authProvider;
     }
 
+    // Tempat SecurityContext disimpan antar request; dipakai juga saat principal diperbarui
+    @Bean
+    public SecurityContextRepository securityContextRepository() {
+        return new DelegatingSecurityContextRepository(
+                new RequestAttributeSecurityContextRepository(),
+                new HttpSessionSecurityContextRepository());
+    }
+
+    // Actuator: health terbuka untuk health check, endpoint lain (metrik per endpoint, JVM, pinning) hanya
+    // untuk akun scraper dengan role METRICS, bukan untuk user aplikasi
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        InMemoryUserDetailsManager metricsUsers = new InMemoryUserDetailsManager();
+        if (!metricsPassword.isBlank()) {
+            metricsUsers.createUser(User.withUsername(metricsUsername)
+                    .password(passwordEncoder().encode(metricsPassword))
+                    .roles("METRICS")
+                    .build());
+        }
+        DaoAuthenticationProvider metricsProvider = new DaoAuthenticationProvider(metricsUsers);
+        metricsProvider.setPasswordEncoder(passwordEncoder());
+
+        http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .anyRequest().hasRole("METRICS"))
+                .authenticationManager(new ProviderManager(metricsProvider))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        return http.build();
+    }
+
     // Mendefinisikan aturan keamanan HTTP
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
+                .securityContext(context -> context.securityContextRepository(securityContextRepository()))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/css/**", "/js/**", "/images/**", "/register", "/login").permitAll()
                         .anyRequest().authenticated())
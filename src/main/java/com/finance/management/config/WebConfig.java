@@ -1,8 +1,11 @@
 package com.finance.management.config;
 
+import com.finance.management.metrics.RequestMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 
@@ -11,10 +14,23 @@ import java.util.Locale;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Autowired
+    private DataVersionETagInterceptor dataVersionETagInterceptor;
+
     @Bean
     public LocaleResolver localeResolver() {
         SessionLocaleResolver slr = new SessionLocaleResolver();
         slr.setDefaultLocale(new Locale("in", "ID"));
         return slr;
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Didaftarkan pertama agar query interceptor lain ikut terhitung
+        registry.addInterceptor(requestMetricsInterceptor);
+        registry.addInterceptor(dataVersionETagInterceptor).addPathPatterns("/api/**");
+    }
 }
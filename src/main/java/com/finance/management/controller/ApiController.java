@@ -1,24 +1,166 @@
 package com.finance.management.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.security.Principal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.finance.management.dto.BudgetMatrix;
+import com.finance.management.dto.CursorPage;
+import com.finance.management.dto.DebtPayoffPlan;
+import com.finance.management.dto.ImportResult;
+import com.finance.management.dto.NetWorthSeries;
+import com.finance.management.importer.ImportFormat;
+import com.finance.management.model.Asset;
+import com.finance.management.model.AssetType;
+import com.finance.management.model.Debt;
+import com.finance.management.model.DebtStatus;
+import com.finance.management.model.PayoffStrategy;
+import com.finance.management.model.Transaction;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.AssetService;
+import com.finance.management.service.BudgetService;
+import com.finance.management.service.DebtPayoffService;
+import com.finance.management.service.DebtService;
+import com.finance.management.service.NetWorthService;
+import com.finance.management.service.TransactionImportService;
 import com.finance.management.service.TransactionService;
 
 @RestController
 @RequestMapping("/api")
 public class ApiController {
+  private static final int MAX_PAGE_SIZE = 100;
+
   @Autowired
   private TransactionService transactionService;
 
+  @Autowired
+  private AssetService assetService;
+
+  @Autowired
+  private DebtService debtService;
+
+  @Autowired
+  private BudgetService budgetService;
+
+  @Autowired
+  private TransactionImportService transactionImportService;
+
+  @Autowired
+  private DebtPayoffService debtPayoffService;
+
+  @Autowired
+  private NetWorthService netWorthService;
+
   @GetMapping("/expense-summary")
-  public Map<String, BigDecimal> getExpenseSummary(Principal principal) {
-    return transactionService.getExpenseSummaryByCategory(principal.getName());
+  public Map<String, BigDecimal> getExpenseSummary(@AuthenticationPrincipal UserPrincipal currentUser) {
+    return transactionService.getExpenseSummaryByCategory(currentUser.getId());
+  }
+
+  // Daftar dengan keyset pagination: kirim nextCursor dari respons sebelumnya sebagai parameter cursor
+  @GetMapping("/transactions")
+  public CursorPage<Transaction> getTransactions(@RequestParam(required = false) Integer year,
+      @RequestParam(required = false) Integer month,
+      @RequestParam(required = false) String category,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    YearMonth period = period(year, month);
+    return transactionService.findSliceByMonth(currentUser.getId(), period.getYear(), period.getMonthValue(),
+        category, cursor, clampSize(size));
+  }
+
+  @GetMapping("/assets")
+  public CursorPage<Asset> getAssets(@RequestParam(required = false) Integer year,
+      @RequestParam(required = false) Integer month,
+      @RequestParam(required = false) AssetType type,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    YearMonth period = period(year, month);
+    return assetService.findSliceByMonth(currentUser.getId(), period.getYear(), period.getMonthValue(), type,
+        cursor, clampSize(size));
+  }
+
+  // year/month 0 berarti semua periode, sama seperti halaman /debts
+  @GetMapping("/debts")
+  public CursorPage<Debt> getDebts(@RequestParam(defaultValue = "0") int year,
+      @RequestParam(defaultValue = "0") int month,
+      @RequestParam(required = false) DebtStatus status,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    return debtService.findSliceByFilter(currentUser.getId(), year, month, status, cursor, clampSize(size));
+  }
+
+  // Nilai dalam sen; baris mengikuti categories, kolom bulan Januari-Desember
+  @GetMapping("/budgets/matrix")
+  public BudgetMatrix getBudgetMatrix(@RequestParam(required = false) Integer year,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    return budgetService.getBudgetMatrix(currentUser.getId(), year == null ? YearMonth.now().getYear() : year);
+  }
+
+  // Proyeksi pelunasan semua utang aktif; extra adalah pembayaran tambahan per bulan
+  @GetMapping("/debts/payoff")
+  public DebtPayoffPlan getDebtPayoffPlan(@RequestParam(defaultValue = "AVALANCHE") PayoffStrategy strategy,
+      @RequestParam(defaultValue = "0") BigDecimal extra,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    return debtPayoffService.getPlan(currentUser.getId(), strategy, extra);
+  }
+
+  // Riwayat kekayaan bersih, default 12 bulan terakhir; rentang panjang diringkas per minggu/bulan/tahun
+  @GetMapping("/net-worth")
+  public NetWorthSeries getNetWorthSeries(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "" + NetWorthService.DEFAULT_MAX_POINTS) int maxPoints,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    LocalDate end = to == null ? LocalDate.now() : to;
+    LocalDate start = from == null ? end.minusYears(1).plusDays(1) : from;
+    return netWorthService.getSeries(currentUser.getId(), start, end, maxPoints);
+  }
+
+  // DateTimeException: year/month di luar rentang, misalnya month=13
+  @ExceptionHandler({ IllegalArgumentException.class, DateTimeException.class })
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Map<String, String> handleBadRequest(RuntimeException e) {
+    return Map.of("error", e.getMessage());
+  }
+
+  private static YearMonth period(Integer year, Integer month) {
+    YearMonth now = YearMonth.now();
+    return YearMonth.of(year == null ? now.getYear() : year, month == null ? now.getMonthValue() : month);
+  }
+
+  private static int clampSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  // format opsional; jika kosong ditentukan dari ekstensi file
+  @PostMapping(value = "/transactions/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ImportResult importTransactions(@RequestParam("file") MultipartFile file,
+      @RequestParam(required = false) ImportFormat format,
+      @AuthenticationPrincipal UserPrincipal currentUser) throws IOException {
+    try (InputStream in = file.getInputStream()) {
+      return transactionImportService.importTransactions(currentUser.getId(), in,
+          format != null ? format : ImportFormat.fromFilename(file.getOriginalFilename()));
+    }
   }
 }
@@ -2,20 +2,19 @@ package com.finance.management.controller;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.finance.management.dto.CursorPage;
 import com.finance.management.model.Asset;
 import com.finance.management.model.AssetType;
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
+import com.finance.management.security.UserPrincipal;
 import com.finance.management.service.AssetService;
 
-import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,26 +27,22 @@ public class AssetController {
   @Autowired
   private AssetService assetService;
 
-  @Autowired
-  private UserRepository userRepository;
-
   @GetMapping
   public String showAssetPage(@RequestParam(required = false) AssetType type,
       @RequestParam(required = false) Integer month,
       @RequestParam(required = false) Integer year,
-      @RequestParam(defaultValue = "1") int page,
-      Model model, Principal principal) {
-    User user = userRepository.findByUsername(principal.getName()).orElseThrow();
-    String username = principal.getName();
+      @RequestParam(required = false) String cursor,
+      Model model, @AuthenticationPrincipal UserPrincipal currentUser) {
     int pageSize = 10;
     int currentMonth = (month == null) ? LocalDate.now().getMonthValue() : month;
     int currentYear = (year == null) ? LocalDate.now().getYear() : year;
 
-    Page<Asset> assetPage = assetService.findPaginatedByMonth(username, currentYear, currentMonth, type, page,
-        pageSize);
+    CursorPage<Asset> assetPage = assetService.findSliceByMonth(currentUser.getId(), currentYear, currentMonth,
+        type, cursor, pageSize);
 
-    model.addAttribute("user", user);
+    model.addAttribute("user", currentUser);
     model.addAttribute("assetPage", assetPage);
+    model.addAttribute("cursor", cursor);
     model.addAttribute("assetTypes", AssetType.values());
     model.addAttribute("selectedType", type);
     model.addAttribute("selectedMonth", currentMonth);
@@ -67,7 +62,7 @@ public class AssetController {
   @PostMapping("/add")
   public String addAsset(@Valid @ModelAttribute("asset") Asset asset,
       BindingResult result,
-      Principal principal,
+      @AuthenticationPrincipal UserPrincipal currentUser,
       RedirectAttributes redirectAttributes) {
     if (result.hasErrors()) {
       redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.asset", result);
@@ -75,15 +70,24 @@ public class AssetController {
       return "redirect:/assets";
     }
 
-    assetService.addOrUpdateAsset(asset, principal.getName());
+    try {
+      assetService.addOrUpdateAsset(asset, currentUser.getId());
+    } catch (IllegalArgumentException e) {
+      // Nama aset sudah dipakai (dibuat bersamaan oleh request lain)
+      result.rejectValue("name", "", e.getMessage());
+      redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.asset", result);
+      redirectAttributes.addFlashAttribute("asset", asset);
+      return "redirect:/assets";
+    }
 
     redirectAttributes.addFlashAttribute("successMessage", "Aset berhasil dicatat dan transaksi pengeluaran dibuat!");
     return "redirect:/assets";
   }
 
   @GetMapping("/edit/{id}")
-  public String showEditAssetForm(@PathVariable Long id, Model model, Principal principal) {
-    Asset asset = assetService.getAssetByIdAndUsername(id, principal.getName());
+  public String showEditAssetForm(@PathVariable Long id, Model model,
+      @AuthenticationPrincipal UserPrincipal currentUser) {
+    Asset asset = assetService.getAssetByIdAndUserId(id, currentUser.getId());
     model.addAttribute("asset", asset);
     return "edit-asset";
   }
@@ -92,21 +96,28 @@ public class AssetController {
   public String updateAsset(@PathVariable Long id,
       @Valid @ModelAttribute("asset") Asset asset,
       BindingResult result,
-      Principal principal,
+      @AuthenticationPrincipal UserPrincipal currentUser,
       RedirectAttributes redirectAttributes) {
     if (result.hasErrors()) {
       asset.setId(id);
       return "edit-asset";
     }
-    assetService.updateAsset(id, asset, principal.getName());
+    try {
+      assetService.updateAsset(id, asset, currentUser.getId());
+    } catch (IllegalArgumentException e) {
+      result.rejectValue("name", "", e.getMessage());
+      asset.setId(id);
+      return "edit-asset";
+    }
     redirectAttributes.addFlashAttribute("successMessage", "Aset berhasil diperbarui!");
     return "redirect:/assets";
   }
 
   @PostMapping("/delete/{id}")
-  public String deleteAsset(@PathVariable Long id, Principal principal, RedirectAttributes attrs) {
+  public String deleteAsset(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal currentUser,
+      RedirectAttributes attrs) {
     try {
-      assetService.deleteAsset(id, principal.getName());
+      assetService.deleteAsset(id, currentUser.getId());
       attrs.addFlashAttribute("successMessage", "Aset berhasil dihapus!");
     } catch (Exception e) {
       attrs.addFlashAttribute("errorMessage", "Gagal menghapus: " + e.getMessage());
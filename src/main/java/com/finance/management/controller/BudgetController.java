@@ -1,19 +1,18 @@
 package com.finance.management.controller;
 
 import com.finance.management.model.Budget;
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
+import com.finance.management.security.UserPrincipal;
 import com.finance.management.service.BudgetService;
 import com.finance.management.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,25 +28,21 @@ public class BudgetController {
     @Autowired
     private TransactionService transactionService;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @GetMapping
     public String showBudgetPage(@RequestParam(required = false) Integer month,
                                  @RequestParam(required = false) Integer year,
                                  Model model,
-                                 Principal principal) {
-        User user = userRepository.findByUsername(principal.getName()).orElseThrow();
-        String username = principal.getName();
+                                 @AuthenticationPrincipal UserPrincipal currentUser) {
         
         int currentMonth = (month == null) ? LocalDate.now().getMonthValue() : month;
         int currentYear = (year == null) ? LocalDate.now().getYear() : year;
 
-        model.addAttribute("user", user);
+        model.addAttribute("user", currentUser);
 
         // Mengambil data anggaran yang sudah ada untuk bulan & tahun yang dipilih
-        List<BudgetService.BudgetTrackingInfo> budgetInfos = budgetService.getBudgetTrackingInfo(username, currentYear, currentMonth);
+        List<BudgetService.BudgetTrackingInfo> budgetInfos = budgetService.getBudgetTrackingInfo(currentUser.getId(), currentYear, currentMonth);
         model.addAttribute("budgetInfos", budgetInfos);
+        model.addAttribute("budgetMatrix", budgetService.getBudgetMatrix(currentUser.getId(), currentYear));
 
         // Menyiapkan data untuk dropdown filter
         model.addAttribute("selectedMonth", currentMonth);
@@ -59,7 +54,7 @@ public class BudgetController {
         model.addAttribute("years", years);
         
         // Menyiapkan daftar kategori pengeluaran yang sudah ada untuk dropdown form
-        model.addAttribute("expenseCategories", transactionService.getUniqueCategories(username));
+        model.addAttribute("expenseCategories", transactionService.getUniqueCategories(currentUser.getId()));
 
         // Menyiapkan objek kosong untuk form tambah anggaran baru
         if (!model.containsAttribute("budget")) {
@@ -75,7 +70,7 @@ public class BudgetController {
     @PostMapping("/add")
     public String addOrUpdateBudget(@Valid @ModelAttribute("budget") Budget budget,
                                     BindingResult result,
-                                    Principal principal,
+                                    @AuthenticationPrincipal UserPrincipal currentUser,
                                     RedirectAttributes redirectAttributes) {
         
         // Menyimpan parameter bulan dan tahun untuk redirect
@@ -87,7 +82,7 @@ public class BudgetController {
             return redirectUrl;
         }
 
-        budgetService.createOrUpdateBudget(budget, principal.getName());
+        budgetService.createOrUpdateBudget(budget, currentUser.getId());
         redirectAttributes.addFlashAttribute("successMessage", "Anggaran untuk kategori '" + budget.getCategory() + "' berhasil disimpan!");
         
         return redirectUrl;
@@ -1,14 +1,15 @@
 package com.finance.management.controller;
 
+import com.finance.management.dto.CursorPage;
 import com.finance.management.dto.DebtDto;
 import com.finance.management.model.Debt;
 import com.finance.management.model.DebtStatus;
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.DebtPayoffService;
 import com.finance.management.service.DebtService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -16,7 +17,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
-import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,26 +30,30 @@ public class DebtController {
     private DebtService debtService;
 
     @Autowired
-    private UserRepository userRepository;
+    private DebtPayoffService debtPayoffService;
 
     @GetMapping
     public String showDebtPage(@RequestParam(required = false) DebtStatus status,
             @RequestParam(defaultValue = "0") Integer month,
             @RequestParam(defaultValue = "0") Integer year,
-            @RequestParam(defaultValue = "1") int page,
-            Model model, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(principal.getName()).orElseThrow();
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") BigDecimal extra,
+            Model model, @AuthenticationPrincipal UserPrincipal currentUser) {
         int pageSize = 10;
         int displayMonth = (month == 0) ? LocalDate.now().getMonthValue() : month;
         int displayYear = (year == 0) ? LocalDate.now().getYear() : year;
 
-        Page<Debt> debtPage = debtService.findPaginatedByFilter(username, year, month, status, page,
+        CursorPage<Debt> debtPage = debtService.findSliceByFilter(currentUser.getId(), year, month, status, cursor,
                 pageSize);
 
-        model.addAttribute("user", user);
+        model.addAttribute("user", currentUser);
         model.addAttribute("debtPage", debtPage);
+        model.addAttribute("cursor", cursor);
         model.addAttribute("debtStatuses", DebtStatus.values());
+        // Perkiraan lunas per baris dan perbandingan strategi pelunasan untuk semua utang aktif
+        model.addAttribute("payoffMonths", debtPayoffService.getPayoffMonths(debtPage.getContent()));
+        model.addAttribute("payoffPlans", debtPayoffService.comparePlans(currentUser.getId(), extra.max(BigDecimal.ZERO)));
+        model.addAttribute("extra", extra.max(BigDecimal.ZERO));
         model.addAttribute("selectedStatus", status);
         model.addAttribute("selectedMonth", month);
         model.addAttribute("selectedYear", year);
@@ -68,21 +72,22 @@ public class DebtController {
     @PostMapping("/add")
     public String addDebt(@Valid @ModelAttribute("debtDto") DebtDto debtDto, // Menggunakan DebtDto
             BindingResult result,
-            Principal principal,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
             redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.debtDto", result);
             redirectAttributes.addFlashAttribute("debtDto", debtDto);
             return "redirect:/debts";
         }
-        debtService.createDebt(debtDto, principal.getName()); // Mengirim DebtDto ke service
+        debtService.createDebt(debtDto, currentUser.getId()); // Mengirim DebtDto ke service
         redirectAttributes.addFlashAttribute("successMessage", "Utang berhasil ditambahkan!");
         return "redirect:/debts";
     }
 
     @GetMapping("/edit/{id}")
-    public String showEditDebtForm(@PathVariable Long id, Model model, Principal principal) {
-        Debt debt = debtService.getDebtByIdAndUsername(id, principal.getName());
+    public String showEditDebtForm(@PathVariable Long id, Model model,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Debt debt = debtService.getDebtByIdAndUserId(id, currentUser.getId());
         model.addAttribute("debt", debt);
         model.addAttribute("debtStatuses", DebtStatus.values());
         return "edit-debt";
@@ -93,22 +98,23 @@ public class DebtController {
             @Valid @ModelAttribute("debt") Debt debt,
             BindingResult result,
             Model model,
-            Principal principal,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
             debt.setId(id);
             model.addAttribute("debtStatuses", DebtStatus.values());
             return "edit-debt";
         }
-        debtService.updateDebt(id, debt, principal.getName());
+        debtService.updateDebt(id, debt, currentUser.getId());
         redirectAttributes.addFlashAttribute("successMessage", "Utang berhasil diperbarui!");
         return "redirect:/debts";
     }
 
     @PostMapping("/delete/{id}")
-    public String deleteDebt(@PathVariable Long id, Principal principal, RedirectAttributes redirectAttributes) {
+    public String deleteDebt(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal currentUser,
+            RedirectAttributes redirectAttributes) {
         try {
-            debtService.deleteDebt(id, principal.getName());
+            debtService.deleteDebt(id, currentUser.getId());
             redirectAttributes.addFlashAttribute("successMessage", "Utang berhasil dihapus!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Gagal menghapus: " + e.getMessage());
@@ -119,10 +125,10 @@ public class DebtController {
     @PostMapping("/pay")
     public String processPayment(@RequestParam("debtId") Long debtId,
             @RequestParam("amount") BigDecimal amount,
-            Principal principal,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             RedirectAttributes redirectAttributes) {
         try {
-            debtService.makePayment(debtId, amount, principal.getName());
+            debtService.makePayment(debtId, amount, currentUser.getId());
             redirectAttributes.addFlashAttribute("successMessage", "Pembayaran berhasil dicatat!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Gagal mencatat pembayaran: " + e.getMessage());
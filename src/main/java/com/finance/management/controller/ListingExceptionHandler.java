@@ -0,0 +1,23 @@
+package com.finance.management.controller;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cursor yang rusak atau bulan/tahun yang tidak valid di halaman daftar adalah kesalahan request (400),
+ * bukan error server. Halaman error bawaan Spring Boot yang ditampilkan.
+ */
+@ControllerAdvice(assignableTypes = { TransactionController.class, AssetController.class, DebtController.class })
+public class ListingExceptionHandler {
+
+    @ExceptionHandler({ IllegalArgumentException.class, DateTimeException.class })
+    public void handleBadRequest(RuntimeException e, HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+}
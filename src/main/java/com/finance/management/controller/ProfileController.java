@@ -1,8 +1,12 @@
 package com.finance.management.controller;
 
-import java.security.Principal;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -14,25 +18,27 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.finance.management.dto.PasswordChangeDto;
 import com.finance.management.dto.ProfileUpdateDto;
+import com.finance.management.dto.UserSnapshot;
 import com.finance.management.model.RiskProfile;
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
+import com.finance.management.security.UserPrincipal;
 import com.finance.management.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @Controller
 @RequestMapping("/profile")
 public class ProfileController {
   @Autowired
-  private UserRepository userRepository;
+  private UserService userService;
 
   @Autowired
-  private UserService userService;
+  private SecurityContextRepository securityContextRepository;
 
   @GetMapping
-  public String showProfilePage(Model model, Principal principal) {
-    User user = userRepository.findByUsername(principal.getName()).orElseThrow();
+  public String showProfilePage(Model model, @AuthenticationPrincipal UserPrincipal currentUser) {
+    UserSnapshot user = userService.getById(currentUser.getId());
 
     // Menyiapkan DTO untuk form update profil
     ProfileUpdateDto profileDto = new ProfileUpdateDto();
@@ -54,14 +60,17 @@ public class ProfileController {
   @PostMapping("/update")
   public String updateProfile(@Valid @ModelAttribute("profileDto") ProfileUpdateDto dto,
       BindingResult result,
-      Principal principal,
+      @AuthenticationPrincipal UserPrincipal currentUser,
+      HttpServletRequest request,
+      HttpServletResponse response,
       RedirectAttributes redirectAttributes) {
     if (result.hasErrors()) {
       redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.profileDto", result);
       redirectAttributes.addFlashAttribute("profileDto", dto);
       return "redirect:/profile";
     }
-    userService.updateProfile(principal.getName(), dto);
+    userService.updateProfile(currentUser.getId(), dto);
+    refreshPrincipal(currentUser.withName(dto.getName()), request, response);
     redirectAttributes.addFlashAttribute("successMessage", "Profil berhasil diperbarui!");
     return "redirect:/profile";
   }
@@ -69,7 +78,7 @@ public class ProfileController {
   @PostMapping("/change-password")
   public String changePassword(@Valid @ModelAttribute("passwordChangeDto") PasswordChangeDto dto,
       BindingResult result,
-      Principal principal,
+      @AuthenticationPrincipal UserPrincipal currentUser,
       RedirectAttributes redirectAttributes) {
 
     if (result.hasErrors()) {
@@ -79,7 +88,7 @@ public class ProfileController {
     }
 
     try {
-      userService.changePassword(principal.getName(), dto);
+      userService.changePassword(currentUser.getId(), dto);
       redirectAttributes.addFlashAttribute("successMessage", "Password berhasil diubah!");
     } catch (IllegalArgumentException e) {
       redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
@@ -88,4 +97,14 @@ public class ProfileController {
 
     return "redirect:/profile";
   }
+
+  // Nama tampilan di navbar diambil dari principal, jadi principal di sesi ikut diperbarui
+  private void refreshPrincipal(UserPrincipal principal, HttpServletRequest request, HttpServletResponse response) {
+    Authentication current = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContext context = SecurityContextHolder.createEmptyContext();
+    context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null,
+        current.getAuthorities()));
+    SecurityContextHolder.setContext(context);
+    securityContextRepository.saveContext(context, request, response);
+  }
 }
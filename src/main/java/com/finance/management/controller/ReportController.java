@@ -1,22 +1,33 @@
 package com.finance.management.controller;
 
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
-import com.finance.management.service.ReportService;
-import jakarta.servlet.http.HttpServletResponse;
+import com.finance.management.dto.ReportJob;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.ReportJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.io.IOException;
-import java.security.Principal;
+import java.nio.file.Files;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -24,16 +35,14 @@ import java.util.stream.IntStream;
 @RequestMapping("/reports")
 public class ReportController {
 
-    @Autowired
-    private ReportService reportService;
+    private static final int MAX_REPORT_MONTHS = 12;
 
     @Autowired
-    private UserRepository userRepository;
+    private ReportJobService reportJobService;
 
     @GetMapping
-    public String showReportPage(Model model, Principal principal) {
-        User user = userRepository.findByUsername(principal.getName()).orElseThrow();
-        model.addAttribute("user", user);
+    public String showReportPage(Model model, @AuthenticationPrincipal UserPrincipal currentUser) {
+        model.addAttribute("user", currentUser);
         model.addAttribute("selectedMonth", LocalDate.now().getMonthValue());
         model.addAttribute("selectedYear", LocalDate.now().getYear());
 
@@ -44,27 +53,64 @@ public class ReportController {
         return "reports";
     }
 
-    @GetMapping("/generate")
-    public void generateReport(@RequestParam("year") int year,
+    // Mendaftarkan job laporan; halaman laporan lalu memantau statusnya dan mengunduh hasilnya
+    @PostMapping("/jobs")
+    @ResponseBody
+    public ResponseEntity<?> submitReport(@RequestParam("year") int year,
             @RequestParam("month") int month,
-            Principal principal,
-            HttpServletResponse response) {
+            @RequestParam(defaultValue = "1") int months,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        // Laporan multi-bulan dibatasi maksimal 12 bulan
+        int monthCount = Math.max(1, Math.min(months, MAX_REPORT_MONTHS));
+        YearMonth from;
+        YearMonth to;
+        try {
+            from = YearMonth.of(year, month);
+            to = from.plusMonths(monthCount - 1);
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Bulan atau tahun laporan tidak valid."));
+        }
 
         try {
-            response.setContentType("application/pdf");
-            String monthName = YearMonth.of(year, month).format(DateTimeFormatter.ofPattern("MMMM"));
-            String headerKey = "Content-Disposition";
-            String headerValue = "attachment; filename=Laporan_" + monthName + "_" + year + ".pdf";
-            response.setHeader(headerKey, headerValue);
+            ReportJob job = reportJobService.submit(currentUser.getId(), from, to);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            reportService.generatePdfReport(principal.getName(), year, month, response);
+    @GetMapping("/jobs/{id}")
+    @ResponseBody
+    public ResponseEntity<ReportJob> getReportJob(@PathVariable String id,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.of(reportJobService.findJob(id, currentUser.getId()));
+    }
 
-        } catch (Exception e) {
-            response.setContentType("text/plain");
-            try {
-                response.getWriter().write("Gagal membuat laporan PDF: " + e.getMessage());
-            } catch (IOException ioException) {
-            }
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<?> downloadReport(@PathVariable String id,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ReportJob job = reportJobService.findJob(id, currentUser.getId()).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!job.isDone()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Laporan belum selesai dibuat.", "status", job.getStatus()));
         }
+        // File versi lama dihapus setelah data berubah; minta job baru untuk data terbaru
+        if (!Files.exists(job.getFile())) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(Map.of("error", "Laporan sudah kedaluwarsa, silakan cetak ulang."));
+        }
+
+        // Nama file sudah memuat periode dan versi data, jadi isinya tidak pernah berubah
+        Resource pdf = new FileSystemResource(job.getFile());
+        return ResponseEntity.ok()
+                .eTag("\"" + currentUser.getId() + "-" + job.getFile().getFileName() + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.getFileName()).build().toString())
+                .body(pdf);
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,26 @@
 package com.finance.management.controller;
 
+import com.finance.management.dto.CursorPage;
+import com.finance.management.dto.ImportResult;
+import com.finance.management.importer.ImportFormat;
+import com.finance.management.model.RecurringTransaction;
 import com.finance.management.model.Transaction;
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.RecurringTransactionService;
+import com.finance.management.service.TransactionImportService;
 import com.finance.management.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.security.Principal;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,29 +34,30 @@ public class TransactionController {
     private TransactionService transactionService;
 
     @Autowired
-    private UserRepository userRepository;
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
 
     @GetMapping
     public String showTransactionPage(@RequestParam(required = false) String category,
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
-            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             Model model,
-            Principal principal) {
-        User user = userRepository.findByUsername(principal.getName()).orElseThrow();
-        String username = principal.getName();
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         int pageSize = 10;
 
         int currentMonth = (month == null) ? LocalDate.now().getMonthValue() : month;
         int currentYear = (year == null) ? LocalDate.now().getYear() : year;
 
-        Page<Transaction> transactionPage;
-
-        transactionPage = transactionService.findPaginatedByMonth(username, currentYear, currentMonth, category, page,
-                pageSize);
-        model.addAttribute("user", user);
+        CursorPage<Transaction> transactionPage = transactionService.findSliceByMonth(currentUser.getId(),
+                currentYear, currentMonth, category, cursor, pageSize);
+        model.addAttribute("user", currentUser);
         model.addAttribute("transactionPage", transactionPage);
-        model.addAttribute("categories", transactionService.getUniqueCategories(username));
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("categories", transactionService.getUniqueCategories(currentUser.getId()));
+        model.addAttribute("frequentCategories", transactionService.getFrequentCategories(currentUser.getId()));
         model.addAttribute("selectedCategory", category);
         model.addAttribute("selectedMonth", currentMonth);
         model.addAttribute("selectedYear", currentYear);
@@ -61,6 +69,13 @@ public class TransactionController {
         if (!model.containsAttribute("transaction")) {
             model.addAttribute("transaction", new Transaction());
         }
+        model.addAttribute("recurringTransactions",
+                recurringTransactionService.getRecurringTransactions(currentUser.getId()));
+        if (!model.containsAttribute("recurringTransaction")) {
+            RecurringTransaction recurringTransaction = new RecurringTransaction();
+            recurringTransaction.setStartDate(LocalDate.now());
+            model.addAttribute("recurringTransaction", recurringTransaction);
+        }
 
         return "transactions";
     }
@@ -68,7 +83,7 @@ public class TransactionController {
     @PostMapping("/add")
     public String addTransaction(@Valid @ModelAttribute("transaction") Transaction transaction,
             BindingResult result,
-            Principal principal,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             RedirectAttributes redirectAttributes) {
 
         if (result.hasErrors()) {
@@ -77,15 +92,38 @@ public class TransactionController {
             return "redirect:/transactions";
         }
 
-        transactionService.createTransaction(transaction, principal.getName());
+        transactionService.createTransaction(transaction, currentUser.getId());
         redirectAttributes.addFlashAttribute("successMessage", "Transaksi berhasil ditambahkan!");
 
         return "redirect:/transactions";
     }
 
+    @PostMapping("/import")
+    public String importTransactions(@RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Pilih file CSV atau OFX terlebih dahulu.");
+            return "redirect:/transactions";
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            ImportResult importResult = transactionImportService.importTransactions(currentUser.getId(), in,
+                    ImportFormat.fromFilename(file.getOriginalFilename()));
+            redirectAttributes.addFlashAttribute("successMessage", String.format(
+                    "%d transaksi berhasil diimpor, %d baris gagal (%.0f baris/detik).",
+                    importResult.getImportedRows(), importResult.getFailedRows(), importResult.getRowsPerSecond()));
+            redirectAttributes.addFlashAttribute("importErrors", importResult.getErrors());
+        } catch (IOException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Gagal membaca file: " + e.getMessage());
+        }
+        return "redirect:/transactions";
+    }
+
     @GetMapping("/edit/{id}")
-    public String showEditTransactionForm(@PathVariable Long id, Model model, Principal principal) {
-        Transaction transaction = transactionService.getTransactionByIdAndUsername(id, principal.getName());
+    public String showEditTransactionForm(@PathVariable Long id, Model model,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Transaction transaction = transactionService.getTransactionByIdAndUserId(id, currentUser.getId());
         model.addAttribute("transaction", transaction);
         return "edit-transaction";
     }
@@ -94,25 +132,74 @@ public class TransactionController {
     public String updateTransaction(@PathVariable Long id,
             @Valid @ModelAttribute("transaction") Transaction transaction,
             BindingResult result,
-            Principal principal,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
             transaction.setId(id);
             return "edit-transaction";
         }
-        transactionService.updateTransaction(id, transaction, principal.getName());
+        transactionService.updateTransaction(id, transaction, currentUser.getId());
         redirectAttributes.addFlashAttribute("successMessage", "Transaksi berhasil diperbarui!");
         return "redirect:/transactions";
     }
 
     @PostMapping("/delete/{id}")
-    public String deleteTransaction(@PathVariable Long id, Principal principal, RedirectAttributes redirectAttributes) {
+    public String deleteTransaction(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal currentUser,
+            RedirectAttributes redirectAttributes) {
         try {
-            transactionService.deleteTransaction(id, principal.getName());
+            transactionService.deleteTransaction(id, currentUser.getId());
             redirectAttributes.addFlashAttribute("successMessage", "Transaksi berhasil dihapus!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Gagal menghapus transaksi: " + e.getMessage());
         }
         return "redirect:/transactions";
     }
+
+    @PostMapping("/recurring/add")
+    public String addRecurringTransaction(
+            @Valid @ModelAttribute("recurringTransaction") RecurringTransaction recurringTransaction,
+            BindingResult result,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            RedirectAttributes redirectAttributes) {
+        if (result.hasErrors()) {
+            redirectAttributes.addFlashAttribute(
+                    "org.springframework.validation.BindingResult.recurringTransaction", result);
+            redirectAttributes.addFlashAttribute("recurringTransaction", recurringTransaction);
+            return "redirect:/transactions";
+        }
+        try {
+            recurringTransactionService.createRecurringTransaction(recurringTransaction, currentUser.getId());
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Transaksi berulang disimpan dan akan diposting otomatis setiap jatuh tempo.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/transactions";
+    }
+
+    @PostMapping("/recurring/{id}/active")
+    public String setRecurringTransactionActive(@PathVariable Long id, @RequestParam boolean active,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            RedirectAttributes redirectAttributes) {
+        try {
+            recurringTransactionService.setActive(id, active, currentUser.getId());
+            redirectAttributes.addFlashAttribute("successMessage",
+                    active ? "Transaksi berulang dilanjutkan." : "Transaksi berulang dihentikan.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Gagal mengubah transaksi berulang: " + e.getMessage());
+        }
+        return "redirect:/transactions";
+    }
+
+    @PostMapping("/recurring/delete/{id}")
+    public String deleteRecurringTransaction(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal currentUser,
+            RedirectAttributes redirectAttributes) {
+        try {
+            recurringTransactionService.deleteRecurringTransaction(id, currentUser.getId());
+            redirectAttributes.addFlashAttribute("successMessage", "Transaksi berulang berhasil dihapus!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Gagal menghapus transaksi berulang: " + e.getMessage());
+        }
+        return "redirect:/transactions";
+    }
 }
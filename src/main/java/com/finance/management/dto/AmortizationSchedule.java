@@ -0,0 +1,22 @@
+package com.finance.management.dto;
+
+import lombok.Value;
+
+/**
+ * Jadwal amortisasi satu utang jika hanya dibayar cicilannya. balances[i] adalah sisa utang (sen)
+ * setelah pembayaran bulan ke-(i + 1) dihitung dari bulan depan. Utang yang cicilannya tidak
+ * menutup bunga, atau belum lunas dalam batas simulasi, punya paidOff false.
+ */
+@Value
+public class AmortizationSchedule {
+    long[] balances;
+    long totalInterest;
+    boolean paidOff;
+
+    /**
+     * Jumlah bulan sampai lunas, atau -1 jika tidak lunas.
+     */
+    public int getMonths() {
+        return paidOff ? balances.length : -1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.finance.management.dto;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+/**
+ * Ringkasan satu run pembayaran cicilan otomatis untuk semua user.
+ */
+@Value
+public class AutoPayResult {
+    LocalDate date;
+    int dueDebts;
+    int users;
+    int workers;
+    int paidDebts;
+    int paidOffDebts;
+    int failedChunks;
+    long durationMillis;
+
+    public double getDebtsPerSecond() {
+        return durationMillis == 0 ? paidDebts * 1000.0 : paidDebts * 1000.0 / durationMillis;
+    }
+}
@@ -0,0 +1,48 @@
+package com.finance.management.dto;
+
+import java.util.List;
+
+import com.finance.management.model.Money;
+
+import lombok.Value;
+
+/**
+ * Anggaran vs pengeluaran aktual setahun, kategori x bulan. Nilai dalam satuan terkecil (sen,
+ * 2 digit desimal) agar bisa dikirim apa adanya sebagai array JSON dan dijumlah tanpa BigDecimal.
+ * Indeks baris mengikuti categories, indeks kolom adalah bulan - 1. Anggaran 0 berarti tidak diatur.
+ */
+@Value
+public class BudgetMatrix {
+    public static final int MINOR_UNIT_SCALE = Money.SCALE;
+
+    int year;
+    List<String> categories;
+    long[][] budgets;
+    long[][] actuals;
+
+    public long[] getMonthlyBudgetTotals() {
+        return columnTotals(budgets);
+    }
+
+    public long[] getMonthlyActualTotals() {
+        return columnTotals(actuals);
+    }
+
+    /**
+     * Persentase terpakai untuk satu sel, atau -1 jika bulan itu tidak punya anggaran.
+     */
+    public int percentSpent(int category, int month) {
+        long budget = budgets[category][month - 1];
+        return budget == 0 ? -1 : (int) Math.round(actuals[category][month - 1] * 100.0 / budget);
+    }
+
+    private static long[] columnTotals(long[][] rows) {
+        long[] totals = new long[12];
+        for (long[] row : rows) {
+            for (int month = 0; month < 12; month++) {
+                totals[month] = Math.addExact(totals[month], row[month]);
+            }
+        }
+        return totals;
+    }
+}
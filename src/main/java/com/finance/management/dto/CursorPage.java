@@ -0,0 +1,32 @@
+package com.finance.management.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import lombok.Value;
+
+/**
+ * Satu halaman hasil keyset pagination. nextCursor berisi token untuk halaman berikutnya,
+ * atau null jika ini halaman terakhir.
+ */
+@Value
+public class CursorPage<T> {
+    List<T> content;
+    String nextCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, KeysetCursor> positionOf) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() ? positionOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, next);
+    }
+}
@@ -0,0 +1,30 @@
+package com.finance.management.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.finance.management.service.BudgetService;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Semua angka yang ditampilkan di dashboard, dihitung sekali per request.
+ */
+@Value
+@Builder
+public class DashboardSnapshot {
+    BigDecimal totalAssets;
+    BigDecimal totalDebt;
+    BigDecimal incomeThisMonth;
+    BigDecimal expenseThisMonth;
+    BigDecimal totalMonthlyInstallment;
+    HealthMetric debtToAssetMetric;
+    HealthMetric savingsRateMetric;
+    List<BudgetService.BudgetTrackingInfo> budgetInfos;
+    List<RecommendationDto> recommendations;
+
+    public BigDecimal getNetWorth() {
+        return totalAssets.subtract(totalDebt);
+    }
+}
@@ -1,5 +1,7 @@
 package com.finance.management.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -27,4 +29,10 @@ public class DebtDto {
     private Integer dueDayOfMonth;
 
     private LocalDate dueDate; // Ini menjadi deadline akhir
+
+    @DecimalMin(value = "0.00", message = "Bunga tidak boleh negatif")
+    @DecimalMax(value = "99.99", message = "Bunga maksimal 99,99% per tahun")
+    private BigDecimal annualInterestRate;
+
+    private boolean autoPay;
 }
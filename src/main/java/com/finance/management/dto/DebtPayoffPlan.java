@@ -0,0 +1,44 @@
+package com.finance.management.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finance.management.model.PayoffStrategy;
+
+import lombok.Value;
+
+/**
+ * Hasil proyeksi pelunasan semua utang ACTIVE milik user dengan satu strategi. Bulan pertama simulasi
+ * adalah firstMonth (bulan depan); months -1 berarti ada utang yang tidak lunas dalam batas simulasi.
+ * version dan firstMonth dipakai untuk memeriksa apakah hasil di cache masih berlaku.
+ */
+@Value
+public class DebtPayoffPlan {
+    @JsonIgnore
+    long version;
+    PayoffStrategy strategy;
+    BigDecimal extraPayment;
+    YearMonth firstMonth;
+    int months;
+    BigDecimal totalInterest;
+    List<DebtPayoff> debts;
+
+    public YearMonth getPayoffMonth() {
+        return months < 0 ? null : firstMonth.plusMonths(months - 1L);
+    }
+
+    public boolean isPaidOff() {
+        return months >= 0;
+    }
+
+    @Value
+    public static class DebtPayoff {
+        Long debtId;
+        String lenderName;
+        int months;
+        YearMonth payoffMonth;
+        BigDecimal interestPaid;
+    }
+}
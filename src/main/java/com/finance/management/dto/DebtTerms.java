@@ -0,0 +1,16 @@
+package com.finance.management.dto;
+
+import lombok.Value;
+
+/**
+ * Masukan simulasi pelunasan satu utang dalam satuan terkecil (sen): sisa utang, cicilan per bulan,
+ * dan bunga tahunan dalam basis poin (12,50% = 1250). Jadwal hanya bergantung pada ketiga nilai ini,
+ * sehingga objeknya dipakai langsung sebagai kunci cache jadwal: setiap perubahan sisa, cicilan atau
+ * bunga menghasilkan kunci baru.
+ */
+@Value
+public class DebtTerms {
+    long balance;
+    long installment;
+    int annualRateBasisPoints;
+}
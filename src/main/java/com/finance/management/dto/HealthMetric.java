@@ -29,6 +29,6 @@ public class HealthMetric {
         if (this.value == null) {
             return 0;
         }
-        return this.value.multiply(new BigDecimal("100")).intValue();
+        return this.value.movePointRight(2).intValue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.finance.management.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Angka-angka kesehatan keuangan seorang user untuk satu bulan, dihitung sekali per versi data
+ * user lalu dipakai bersama oleh metrik, rekomendasi, dan dashboard.
+ */
+@Value
+@Builder
+public class HealthSnapshot {
+    long version;
+    YearMonth yearMonth;
+    BigDecimal totalIncome;
+    BigDecimal totalExpense;
+    BigDecimal incomeThisMonth;
+    BigDecimal expenseThisMonth;
+    BigDecimal totalAssets;
+    BigDecimal totalDebt;
+    BigDecimal totalMonthlyInstallment;
+    HealthMetric savingsRate;
+    HealthMetric debtToAssetRatio;
+    // null jika bulan ini belum ada pengeluaran
+    String topExpenseCategory;
+    BigDecimal topExpenseAmount;
+}
@@ -0,0 +1,53 @@
+package com.finance.management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.finance.management.importer.ImportFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Ringkasan satu kali impor file transaksi. Hanya MAX_REPORTED_ERRORS error pertama yang disimpan;
+ * failedRows tetap menghitung semuanya.
+ */
+@Data
+public class ImportResult {
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private ImportFormat format;
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private int batches;
+    private long durationMillis;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public ImportResult(ImportFormat format) {
+        this.format = format;
+    }
+
+    public void addError(long line, String message) {
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public void finish(long elapsedNanos) {
+        durationMillis = elapsedNanos / 1_000_000;
+        rowsPerSecond = elapsedNanos > 0 ? importedRows * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,64 @@
+package com.finance.management.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import lombok.Value;
+
+/**
+ * Posisi terakhir yang sudah ditampilkan pada daftar yang diurutkan (tanggal desc, id desc).
+ * Dikirim ke klien sebagai token base64 yang tidak perlu dipahami isinya.
+ * Tanggal hanya boleh null pada daftar yang memuat baris tanpa tanggal (utang tanpa jatuh tempo
+ * di mode "Semua"); lihat decode(String, boolean).
+ */
+@Value
+public class KeysetCursor {
+    // Posisi awal: lebih besar dari tanggal dan id mana pun yang valid di tabel
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    LocalDate date;
+    Long id;
+
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor untuk daftar yang setiap barisnya bertanggal.
+     *
+     * @return FIRST jika token kosong
+     * @throws IllegalArgumentException jika token bukan hasil encode() atau tanpa tanggal
+     */
+    public static KeysetCursor decode(String token) {
+        return decode(token, false);
+    }
+
+    /**
+     * @param undatedAllowed true jika daftar memuat baris tanpa tanggal; selain itu cursor tanpa
+     *                       tanggal ditolak supaya tidak membawa query ke cabang tanpa filter tanggal
+     * @return FIRST jika token kosong
+     * @throws IllegalArgumentException jika token bukan hasil encode(), atau tanpa tanggal padahal
+     *                                  undatedAllowed false
+     */
+    public static KeysetCursor decode(String token, boolean undatedAllowed) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        KeysetCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            String datePart = raw.substring(0, separator);
+            cursor = new KeysetCursor(datePart.isEmpty() ? null : LocalDate.parse(datePart),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor tidak valid: " + token);
+        }
+        if (cursor.date == null && !undatedAllowed) {
+            throw new IllegalArgumentException("Cursor tidak valid: " + token);
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.finance.management.dto;
+
+import java.time.LocalDate;
+
+import com.finance.management.model.Money;
+
+import lombok.Value;
+
+/**
+ * Total aset dan utang pada akhir hari date. Untuk resolusi selain harian, date adalah hari terakhir
+ * periode (atau akhir rentang) dan nilainya adalah nilai penutup periode itu.
+ */
+@Value
+public class NetWorthPoint {
+    LocalDate date;
+    Money totalAssets;
+    Money totalDebts;
+
+    public Money getNetWorth() {
+        return totalAssets.minus(totalDebts);
+    }
+}
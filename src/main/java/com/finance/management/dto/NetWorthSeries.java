@@ -0,0 +1,54 @@
+package com.finance.management.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Seri kekayaan bersih untuk rentang from..to (inklusif) dengan paling banyak maxPoints titik.
+ * Resolusi dipilih paling halus yang masih muat; titik sebelum snapshot pertama user tidak ada.
+ */
+@Value
+public class NetWorthSeries {
+    LocalDate from;
+    LocalDate to;
+    Resolution resolution;
+    List<NetWorthPoint> points;
+
+    public enum Resolution {
+        DAY, WEEK, MONTH, YEAR;
+
+        public static Resolution forRange(LocalDate from, LocalDate to, int maxPoints) {
+            for (Resolution resolution : values()) {
+                if (resolution.bucketCount(from, to) <= maxPoints) {
+                    return resolution;
+                }
+            }
+            return YEAR;
+        }
+
+        // Hari terakhir periode yang memuat date (minggu berakhir hari Minggu)
+        public LocalDate bucketEnd(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+                case MONTH -> date.with(TemporalAdjusters.lastDayOfMonth());
+                case YEAR -> date.with(TemporalAdjusters.lastDayOfYear());
+            };
+        }
+
+        public long bucketCount(LocalDate from, LocalDate to) {
+            return switch (this) {
+                case DAY -> ChronoUnit.DAYS.between(from, to) + 1;
+                case WEEK -> ChronoUnit.WEEKS.between(WEEK.bucketEnd(from), WEEK.bucketEnd(to)) + 1;
+                case MONTH -> ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) + 1;
+                case YEAR -> to.getYear() - from.getYear() + 1;
+            };
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.finance.management.dto;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Status satu permintaan laporan PDF yang dikerjakan di background.
+ * Objeknya immutable; setiap perubahan status menyimpan salinan baru di ReportJobService.
+ */
+@Value
+public class ReportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    String id;
+    @JsonIgnore
+    Long userId;
+    YearMonth from;
+    YearMonth to;
+    // Versi data user saat job dibuat; bagian dari kunci cache file PDF
+    long dataVersion;
+    @With
+    Status status;
+    @With
+    String error;
+    @JsonIgnore
+    Path file;
+    String fileName;
+
+    public boolean isDone() {
+        return status == Status.DONE;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.finance.management.dto;
+
+import com.finance.management.model.RiskProfile;
+import com.finance.management.model.User;
+
+import lombok.Value;
+
+/**
+ * Salinan immutable data profil user yang disimpan di cache "users" dan dipakai bersama antar request.
+ * Sengaja tanpa hash password: pemakainya hanya butuh data profil, dan entity User yang mutable tidak
+ * ikut tersimpan di cache.
+ */
+@Value
+public class UserSnapshot {
+    Long id;
+    String username;
+    String email;
+    String name;
+    RiskProfile riskProfile;
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getName(),
+                user.getRiskProfile());
+    }
+}
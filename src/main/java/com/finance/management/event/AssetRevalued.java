@@ -0,0 +1,17 @@
+package com.finance.management.event;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Aset baru atau nilai aset yang diperbarui lewat form tambah aset. previousValue null untuk aset
+ * baru; purchase null jika nilainya tidak naik sehingga tidak ada transaksi "Pembelian Aset".
+ */
+public record AssetRevalued(Long userId, String assetName, BigDecimal previousValue, BigDecimal newValue,
+        LedgerEntry purchase) implements LedgerEvent {
+
+    @Override
+    public List<LedgerEntry> recorded() {
+        return purchase == null ? List.of() : List.of(purchase);
+    }
+}
@@ -0,0 +1,16 @@
+package com.finance.management.event;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Pembayaran cicilan; payment adalah transaksi pengeluaran "Pembayaran Utang" yang ikut dicatat.
+ */
+public record DebtPaymentMade(Long userId, Long debtId, BigDecimal amount, BigDecimal remainingAmount,
+        LedgerEntry payment) implements LedgerEvent {
+
+    @Override
+    public List<LedgerEntry> recorded() {
+        return List.of(payment);
+    }
+}
@@ -0,0 +1,20 @@
+package com.finance.management.event;
+
+import java.time.LocalDate;
+
+import com.finance.management.model.Money;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+
+/**
+ * Salinan nilai satu transaksi pada saat event diterbitkan; entity-nya sendiri tidak dibawa ke
+ * thread projector karena sudah lepas dari session. Nominal disimpan sebagai Money supaya projector
+ * bisa menjumlah batch besar dalam long.
+ */
+public record LedgerEntry(TransactionType type, String category, Money amount, LocalDate transactionDate) {
+
+    public static LedgerEntry of(Transaction transaction) {
+        return new LedgerEntry(transaction.getType(), transaction.getCategory(), Money.of(transaction.getAmount()),
+                transaction.getTransactionDate());
+    }
+}
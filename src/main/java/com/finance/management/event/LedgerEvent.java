@@ -0,0 +1,22 @@
+package com.finance.management.event;
+
+import java.util.List;
+
+/**
+ * Event domain yang mengubah buku besar (tabel transactions) seorang user. Diterbitkan di dalam
+ * transaksi database penulisnya dan diproyeksikan oleh LedgerProjector: monthly_rollup di transaksi
+ * yang sama, user_categories setelah commit.
+ */
+public sealed interface LedgerEvent
+        permits TransactionRecorded, TransactionRevised, TransactionRemoved, DebtPaymentMade, AssetRevalued {
+
+    Long userId();
+
+    // Transaksi yang bertambah di buku besar
+    List<LedgerEntry> recorded();
+
+    // Transaksi yang keluar dari buku besar
+    default List<LedgerEntry> removed() {
+        return List.of();
+    }
+}
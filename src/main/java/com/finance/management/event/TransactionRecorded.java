@@ -0,0 +1,9 @@
+package com.finance.management.event;
+
+import java.util.List;
+
+/**
+ * Satu transaksi dari form, atau banyak sekaligus dari impor file.
+ */
+public record TransactionRecorded(Long userId, List<LedgerEntry> recorded) implements LedgerEvent {
+}
@@ -0,0 +1,16 @@
+package com.finance.management.event;
+
+import java.util.List;
+
+public record TransactionRemoved(Long userId, Long transactionId, LedgerEntry entry) implements LedgerEvent {
+
+    @Override
+    public List<LedgerEntry> recorded() {
+        return List.of();
+    }
+
+    @Override
+    public List<LedgerEntry> removed() {
+        return List.of(entry);
+    }
+}
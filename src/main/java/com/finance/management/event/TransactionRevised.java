@@ -0,0 +1,17 @@
+package com.finance.management.event;
+
+import java.util.List;
+
+public record TransactionRevised(Long userId, Long transactionId, LedgerEntry before, LedgerEntry after)
+        implements LedgerEvent {
+
+    @Override
+    public List<LedgerEntry> recorded() {
+        return List.of(after);
+    }
+
+    @Override
+    public List<LedgerEntry> removed() {
+        return List.of(before);
+    }
+}
@@ -0,0 +1,210 @@
+package com.finance.management.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.finance.management.model.TransactionType;
+
+/**
+ * Pembaca CSV baris per baris. Baris pertama wajib berisi header; kolom dikenali dari namanya
+ * (Inggris atau Indonesia): date/tanggal, amount/jumlah, category/kategori, dan opsional
+ * type/tipe serta description/deskripsi. Jika kolom tipe tidak ada, jumlah negatif dianggap pengeluaran.
+ *
+ * Pemisah ';' (ekspor Excel lokal) juga didukung; pada format ini angka memakai titik sebagai
+ * pemisah ribuan dan koma sebagai desimal. Field dengan baris baru di dalam tanda kutip tidak didukung.
+ */
+public class CsvTransactionReader implements TransactionRowReader {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private char delimiter = ',';
+    private Map<String, Integer> columns;
+    private String headerError;
+
+    public CsvTransactionReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public ParsedRow next() throws IOException {
+        if (columns == null) {
+            if (headerError != null) {
+                return null;
+            }
+            readHeader();
+            if (headerError != null) {
+                return ParsedRow.failed(lineNumber, headerError);
+            }
+        }
+
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        return parseLine(split(line));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            headerError = "File kosong";
+            return;
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        if (header.indexOf(';') >= 0 && header.indexOf(',') < 0) {
+            delimiter = ';';
+        }
+
+        Map<String, Integer> found = new HashMap<>();
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            String column = canonicalColumn(names.get(i));
+            if (column != null) {
+                found.putIfAbsent(column, i);
+            }
+        }
+        for (String required : List.of("date", "amount", "category")) {
+            if (!found.containsKey(required)) {
+                headerError = "Header CSV harus memiliki kolom date/tanggal, amount/jumlah dan category/kategori";
+                return;
+            }
+        }
+        columns = found;
+    }
+
+    private ParsedRow parseLine(List<String> fields) {
+        LocalDate date = parseDate(field(fields, "date"));
+        if (date == null) {
+            return ParsedRow.failed(lineNumber, "Format tanggal tidak valid: " + field(fields, "date"));
+        }
+
+        BigDecimal amount;
+        try {
+            amount = parseAmount(field(fields, "amount"));
+        } catch (NumberFormatException e) {
+            return ParsedRow.failed(lineNumber, "Jumlah tidak valid: " + field(fields, "amount"));
+        }
+
+        String typeValue = field(fields, "type");
+        TransactionType type;
+        if (typeValue == null || typeValue.isBlank()) {
+            type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+            amount = amount.abs();
+        } else {
+            type = parseType(typeValue);
+        }
+
+        return ParsedRow.of(lineNumber, type, amount, field(fields, "category"), field(fields, "description"), date);
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private BigDecimal parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            throw new NumberFormatException();
+        }
+        String cleaned = value.replace("Rp", "").replace(" ", "");
+        if (delimiter == ';') {
+            cleaned = cleaned.replace(".", "").replace(',', '.');
+        } else {
+            cleaned = cleaned.replace(",", "");
+        }
+        return new BigDecimal(cleaned);
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException e) {
+                // coba format berikutnya
+            }
+        }
+        return null;
+    }
+
+    private static TransactionType parseType(String value) {
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "INCOME", "PEMASUKAN", "CREDIT", "KREDIT" -> TransactionType.INCOME;
+            case "EXPENSE", "PENGELUARAN", "DEBIT" -> TransactionType.EXPENSE;
+            default -> null;
+        };
+    }
+
+    private static String canonicalColumn(String name) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "date", "tanggal", "transaction_date" -> "date";
+            case "amount", "jumlah", "nominal" -> "amount";
+            case "category", "kategori" -> "category";
+            case "type", "tipe", "jenis" -> "type";
+            case "description", "deskripsi", "keterangan" -> "description";
+            default -> null;
+        };
+    }
+
+    // Memecah satu baris CSV, mendukung field dalam tanda kutip dan "" sebagai kutip literal
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
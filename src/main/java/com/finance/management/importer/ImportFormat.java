@@ -0,0 +1,26 @@
+package com.finance.management.importer;
+
+import java.io.Reader;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    /**
+     * Menentukan format dari ekstensi nama file; selain .ofx/.qfx dianggap CSV.
+     */
+    public static ImportFormat fromFilename(String filename) {
+        if (filename != null) {
+            String lower = filename.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+                return OFX;
+            }
+        }
+        return CSV;
+    }
+
+    public TransactionRowReader open(Reader reader) {
+        return this == OFX ? new OfxTransactionReader(reader) : new CsvTransactionReader(reader);
+    }
+}
@@ -0,0 +1,121 @@
+package com.finance.management.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.finance.management.model.TransactionType;
+
+/**
+ * Pembaca OFX/QFX (SGML 1.x maupun XML 2.x) yang hanya mengambil blok STMTTRN.
+ * File dibaca sebagai aliran tag satu arah, jadi tidak perlu parser XML dan tidak peduli
+ * apakah tag penutup ada atau tiap elemen berada di baris sendiri.
+ * OFX tidak punya kategori, sehingga semua baris masuk ke DEFAULT_CATEGORY.
+ * Nomor baris yang dilaporkan adalah urutan transaksi di dalam file.
+ */
+public class OfxTransactionReader implements TransactionRowReader {
+
+    public static final String DEFAULT_CATEGORY = "Impor Bank";
+
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Reader reader;
+    private long transactionNumber;
+
+    public OfxTransactionReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public ParsedRow next() throws IOException {
+        Map<String, String> fields = null;
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+            } else if (tag.equals("/STMTTRN")) {
+                if (fields != null) {
+                    return toRow(fields);
+                }
+            } else if (fields != null && !tag.startsWith("/")) {
+                fields.put(tag, readValue());
+            }
+        }
+        // Tag penutup hilang pada transaksi terakhir
+        return fields != null ? toRow(fields) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ParsedRow toRow(Map<String, String> fields) {
+        long line = ++transactionNumber;
+
+        LocalDate date;
+        String posted = fields.get("DTPOSTED");
+        try {
+            date = LocalDate.parse(posted.substring(0, 8), OFX_DATE);
+        } catch (RuntimeException e) {
+            return ParsedRow.failed(line, "DTPOSTED tidak valid: " + posted);
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(fields.get("TRNAMT").replace(',', '.'));
+        } catch (RuntimeException e) {
+            return ParsedRow.failed(line, "TRNAMT tidak valid: " + fields.get("TRNAMT"));
+        }
+
+        TransactionType type = amount.signum() < 0 || "DEBIT".equals(fields.get("TRNTYPE"))
+                ? TransactionType.EXPENSE
+                : TransactionType.INCOME;
+
+        String name = fields.getOrDefault("NAME", "");
+        String memo = fields.getOrDefault("MEMO", "");
+        String description = memo.isEmpty() || memo.equals(name) ? name : (name + " - " + memo).trim();
+
+        return ParsedRow.of(line, type, amount.abs(), DEFAULT_CATEGORY, description, date);
+    }
+
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // lewati teks di luar tag (header SGML, spasi, baris baru)
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            tag.append((char) c);
+        }
+        return tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Nilai elemen berakhir di '<' berikutnya; posisi reader dikembalikan ke '<' tersebut
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        reader.mark(1);
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            value.append((char) c);
+            reader.mark(1);
+        }
+        if (c == '<') {
+            reader.reset();
+        }
+        return unescape(value.toString().trim());
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,67 @@
+package com.finance.management.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+
+import lombok.Value;
+
+/**
+ * Hasil parse satu baris file impor. Tepat satu dari transaction atau error yang terisi.
+ */
+@Value
+public class ParsedRow {
+    // Batas kolom tabel transactions: amount DECIMAL(15,2), category VARCHAR(100), description VARCHAR(255)
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999999.99");
+    private static final int MAX_CATEGORY_LENGTH = Transaction.CATEGORY_LENGTH;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    long line;
+    Transaction transaction;
+    String error;
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public static ParsedRow failed(long line, String error) {
+        return new ParsedRow(line, null, error);
+    }
+
+    static ParsedRow of(long line, TransactionType type, BigDecimal amount, String category, String description,
+            LocalDate date) {
+        if (type == null) {
+            return failed(line, "Tipe transaksi tidak dikenali");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            return failed(line, "Jumlah harus lebih dari 0");
+        }
+        if (amount.scale() > 2 || amount.compareTo(MAX_AMOUNT) > 0) {
+            return failed(line, "Jumlah di luar batas: " + amount.toPlainString());
+        }
+        if (category == null || category.isBlank()) {
+            return failed(line, "Kategori kosong");
+        }
+        if (category.trim().length() > MAX_CATEGORY_LENGTH) {
+            return failed(line, "Kategori lebih dari " + MAX_CATEGORY_LENGTH + " karakter");
+        }
+        if (date == null) {
+            return failed(line, "Tanggal kosong");
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setType(type);
+        transaction.setAmount(amount);
+        transaction.setCategory(category.trim());
+        if (description != null && !description.isBlank()) {
+            String trimmed = description.trim();
+            transaction.setDescription(trimmed.length() > MAX_DESCRIPTION_LENGTH
+                    ? trimmed.substring(0, MAX_DESCRIPTION_LENGTH)
+                    : trimmed);
+        }
+        transaction.setTransactionDate(date);
+        return new ParsedRow(line, transaction, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.finance.management.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Membaca baris transaksi satu per satu dari file impor, tanpa memuat seluruh file ke memori.
+ */
+public interface TransactionRowReader extends Closeable {
+
+    /**
+     * @return baris berikutnya (berhasil diparse atau berisi pesan error), atau null jika file sudah habis
+     */
+    ParsedRow next() throws IOException;
+}
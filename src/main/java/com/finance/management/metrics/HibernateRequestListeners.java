@@ -0,0 +1,49 @@
+package com.finance.management.metrics;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Mendaftarkan listener Hibernate yang mengisi RequestStatistics: entity yang dimuat dan koleksi
+ * yang diinisialisasi. Statement dihitung oleh StatementCounter, yang dipasang per session lewat
+ * properti hibernate.session.events.auto (lihat MetricsConfig).
+ */
+@Component
+public class HibernateRequestListeners {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD,
+                (PostLoadEventListener) event -> RequestStatistics.countEntityLoad());
+        registry.appendListeners(EventType.INIT_COLLECTION,
+                (InitializeCollectionEventListener) event -> RequestStatistics.countCollectionFetch());
+    }
+
+    // Dibuat oleh Hibernate untuk setiap session, sehingga harus public dengan konstruktor tanpa argumen
+    public static class StatementCounter implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            RequestStatistics.countStatement();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            RequestStatistics.countStatement();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.finance.management.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mencatat jumlah statement SQL, entity yang dimuat, dan koleksi yang diambil untuk setiap request,
+ * sebagai distribution summary bertag handler (Controller#method). Karena open-in-view aktif,
+ * lazy loading saat render template ikut terhitung.
+ */
+@Component
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestStatistics.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        RequestStatistics statistics = RequestStatistics.current();
+        RequestStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+
+        String handlerName = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        record("app.request.sql.statements", "SQL statements executed per request", handlerName,
+                statistics.getStatements());
+        record("app.request.entities.loaded", "Hibernate entities loaded per request", handlerName,
+                statistics.getEntitiesLoaded());
+        record("app.request.collections.fetched", "Hibernate collections initialized per request", handlerName,
+                statistics.getCollectionsFetched());
+    }
+
+    private void record(String name, String description, String handler, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(value);
+    }
+}
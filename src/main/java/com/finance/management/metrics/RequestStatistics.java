@@ -0,0 +1,91 @@
+package com.finance.management.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Penghitung aktivitas Hibernate untuk satu request HTTP. Disimpan di ThreadLocal oleh
+ * RequestMetricsInterceptor dan diisi oleh listener Hibernate di HibernateRequestListeners.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong entitiesLoaded = new AtomicLong();
+    private final AtomicLong collectionsFetched = new AtomicLong();
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Membungkus pekerjaan yang dijalankan di thread lain (misalnya query paralel dashboard) agar
+     * statement-nya tetap dihitung untuk request yang memulainya.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return task;
+        }
+        return () -> {
+            RequestStatistics previous = CURRENT.get();
+            CURRENT.set(statistics);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void countStatement() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements.incrementAndGet();
+        }
+    }
+
+    static void countEntityLoad() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entitiesLoaded.incrementAndGet();
+        }
+    }
+
+    static void countCollectionFetch() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.collectionsFetched.incrementAndGet();
+        }
+    }
+
+    long getStatements() {
+        return statements.get();
+    }
+
+    long getEntitiesLoaded() {
+        return entitiesLoaded.get();
+    }
+
+    long getCollectionsFetched() {
+        return collectionsFetched.get();
+    }
+}
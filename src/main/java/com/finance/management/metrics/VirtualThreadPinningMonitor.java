@@ -0,0 +1,94 @@
+package com.finance.management.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Mendengarkan event JFR jdk.VirtualThreadPinned, yaitu virtual thread yang memblokir di dalam blok
+ * synchronized atau native frame sehingga carrier thread ikut tertahan. Setiap event dicatat sebagai
+ * timer app.virtual-threads.pinned dengan tag source = paket library pertama di luar JDK pada stack
+ * (misalnya com.mysql, com.zaxxer untuk Hikari, org.hibernate), lalu ditulis ke log beserta stack-nya.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jfr.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Event JFR hanya dicatat jika pinning berlangsung lebih lama dari ini
+    @Value("${app.jfr.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT_NAME, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String source = source(frames);
+        Timer.builder("app.virtual-threads.pinned")
+                .description("Virtual thread pinned to its carrier thread")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread tertahan di carrier selama {} ms ({}):\n\t{}", event.getDuration().toMillis(),
+                    source, frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    static String source(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.")) {
+                continue;
+            }
+            String[] parts = className.split("\\.");
+            return parts.length > 2 ? parts[0] + "." + parts[1] : className;
+        }
+        return "jdk";
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+}
@@ -22,7 +22,7 @@ public class Budget {
     private User user;
 
     @NotEmpty(message = "Kategori tidak boleh kosong")
-    @Column(nullable = false)
+    @Column(nullable = false, length = 100)
     private String category;
 
     @NotNull(message = "Jumlah anggaran tidak boleh kosong")
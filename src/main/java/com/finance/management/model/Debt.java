@@ -3,6 +3,8 @@ package com.finance.management.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -14,6 +16,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -26,6 +30,7 @@ public class Debt {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -48,7 +53,20 @@ public class Debt {
     @Column(name = "due_date")
     private LocalDate dueDate;
 
+    // Persen per tahun; null dianggap tanpa bunga
+    @DecimalMin(value = "0.00", message = "Bunga tidak boleh negatif")
+    @DecimalMax(value = "99.99", message = "Bunga maksimal 99,99% per tahun")
+    @Column(name = "annual_interest_rate", precision = 5, scale = 2)
+    private BigDecimal annualInterestRate;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DebtStatus status = DebtStatus.ACTIVE;
+
+    // Cicilan bulanan dibayar otomatis pada dueDayOfMonth oleh DebtAutoPayService
+    @Column(name = "auto_pay", nullable = false)
+    private boolean autoPay;
+
+    @Column(name = "last_auto_paid_on")
+    private LocalDate lastAutoPaidOn;
 }
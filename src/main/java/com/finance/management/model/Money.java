@@ -0,0 +1,130 @@
+package com.finance.management.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Nominal uang sebagai long dalam satuan terkecil (sen, 2 digit desimal seperti kolom DECIMAL(15,2)).
+ * Immutable; semua operasi memakai Math.*Exact sehingga overflow melempar ArithmeticException.
+ * Konversi dari BigDecimal dibulatkan HALF_UP ke 2 desimal, sama seperti saat disimpan ke database.
+ *
+ * Untuk menjumlah banyak nilai, pakai sum atau sumMinor: totalnya diakumulasi sebagai long. Jika
+ * sumber datanya BigDecimal (field entity), pakai sumMinor dengan toMinorUnits supaya tidak ada objek
+ * Money per elemen.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long serialVersionUID = 1L;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinorUnits(amount));
+    }
+
+    /**
+     * Nilai BigDecimal dalam sen tanpa membuat objek Money. Nilai yang sudah 2 desimal (dibaca dari kolom
+     * DECIMAL(p, 2)) diubah lewat scaleByPowerOfTen, yang tetap membuat satu BigDecimal sementara per
+     * panggilan; BigDecimal tidak punya cara publik membaca nilai unscaled sebagai long tanpa objek baru.
+     * Jika pemanggilnya di-inline oleh C2, escape analysis menghapus alokasi itu (lihat MoneyBenchmark
+     * dengan -prof gc); di interpreter, C1, atau pemanggilan yang tidak di-inline, alokasinya tetap ada.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount.scale() == SCALE) {
+            return amount.scaleByPowerOfTen(SCALE).longValueExact();
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static <T> Money sum(Iterable<T> items, Function<? super T, Money> amount) {
+        long total = 0;
+        for (T item : items) {
+            total = Math.addExact(total, amount.apply(item).minorUnits);
+        }
+        return ofMinor(total);
+    }
+
+    /**
+     * Seperti sum, tetapi nilai tiap elemen diberikan langsung dalam sen (misalnya lewat toMinorUnits),
+     * sehingga tidak ada objek Money per elemen. Selain hasilnya, yang tersisa hanya alokasi di dalam
+     * fungsi minorUnits itu sendiri (untuk toMinorUnits, lihat catatannya).
+     */
+    public static <T> Money sumMinor(Iterable<T> items, ToLongFunction<? super T> minorUnits) {
+        long total = 0;
+        for (T item : items) {
+            total = Math.addExact(total, minorUnits.applyAsLong(item));
+        }
+        return ofMinor(total);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public Money times(long factor) {
+        return ofMinor(Math.multiplyExact(minorUnits, factor));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,24 @@
+package com.finance.management.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Memetakan kolom DECIMAL(p, 2) ke Money. Tidak otomatis: field dipilih satu per satu dengan
+ * {@code @Convert(converter = MoneyConverter.class)}.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -0,0 +1,58 @@
+package com.finance.management.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total transaksi per (user, tahun, bulan, tipe, kategori).
+ * Diperbarui oleh LedgerProjector.projectRollup dari event buku besar setiap penulisan transaksi,
+ * di transaksi database penulisnya, sehingga total bulanan maupun total keseluruhan tidak perlu
+ * memuat semua transaksi.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "monthly_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_monthly_rollup_key", columnNames = {
+        "user_id", "rollup_year", "rollup_month", "type", "category" }))
+public class MonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "rollup_year", nullable = false)
+    private int rollupYear;
+
+    @Column(name = "rollup_month", nullable = false)
+    private int rollupMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
@@ -0,0 +1,47 @@
+package com.finance.management.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total aset dan utang seorang user di akhir hari snapshotDate. Ditulis oleh NetWorthSnapshotJob hanya
+ * pada hari nilainya berubah, sehingga nilai di hari lain sama dengan snapshot terakhir sebelumnya.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "net_worth_snapshots")
+public class NetWorthSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_assets", nullable = false, precision = 17, scale = 2)
+    private Money totalAssets;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_debts", nullable = false, precision = 17, scale = 2)
+    private Money totalDebts;
+
+    public boolean hasSameTotals(NetWorthSnapshot other) {
+        return other != null && totalAssets.equals(other.totalAssets) && totalDebts.equals(other.totalDebts);
+    }
+}
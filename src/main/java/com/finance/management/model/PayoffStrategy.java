@@ -0,0 +1,22 @@
+package com.finance.management.model;
+
+/**
+ * Urutan pelunasan utang untuk proyeksi. AVALANCHE dan SNOWBALL mengalihkan cicilan utang yang sudah
+ * lunas (dan pembayaran tambahan) ke utang prioritas berikutnya; MINIMUM hanya membayar cicilan
+ * masing-masing utang, dengan pembayaran tambahan tetap ke utang tertua.
+ */
+public enum PayoffStrategy {
+    MINIMUM("Cicilan Minimum"),
+    AVALANCHE("Avalanche (bunga tertinggi dulu)"),
+    SNOWBALL("Snowball (sisa terkecil dulu)");
+
+    private final String displayName;
+
+    PayoffStrategy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
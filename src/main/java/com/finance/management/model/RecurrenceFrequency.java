@@ -0,0 +1,34 @@
+package com.finance.management.model;
+
+import java.time.LocalDate;
+
+/**
+ * Aturan pengulangan transaksi. Kemunculan ke-n selalu dihitung dari tanggal mulai, sehingga template
+ * bulanan tanggal 31 jatuh pada 28/29 Februari lalu kembali ke 31 Maret, bukan terus bergeser ke 28.
+ */
+public enum RecurrenceFrequency {
+    DAILY("Harian"),
+    WEEKLY("Mingguan"),
+    MONTHLY("Bulanan"),
+    YEARLY("Tahunan");
+
+    private final String displayName;
+
+    RecurrenceFrequency(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public LocalDate occurrence(LocalDate startDate, int interval, int index) {
+        long units = (long) interval * index;
+        return switch (this) {
+            case DAILY -> startDate.plusDays(units);
+            case WEEKLY -> startDate.plusWeeks(units);
+            case MONTHLY -> startDate.plusMonths(units);
+            case YEARLY -> startDate.plusYears(units);
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.finance.management.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "recurring_transactions")
+public class RecurringTransaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @NotNull(message = "Tipe wajib dipilih")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @NotNull(message = "Jumlah wajib diisi")
+    @DecimalMin(value = "0.01", message = "Jumlah harus lebih dari 0")
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @NotBlank(message = "Kategori wajib diisi")
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    private String description;
+
+    @NotNull(message = "Frekuensi wajib dipilih")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency = RecurrenceFrequency.MONTHLY;
+
+    // Setiap berapa hari/minggu/bulan/tahun
+    @Min(value = 1, message = "Interval minimal 1")
+    @Max(value = 365, message = "Interval maksimal 365")
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount = 1;
+
+    @NotNull(message = "Tanggal mulai wajib diisi")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Kosong berarti tanpa batas
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Indeks dan tanggal kemunculan berikutnya yang belum diposting
+    @Column(name = "next_occurrence", nullable = false)
+    private int nextOccurrence;
+
+    @Column(name = "next_run_date", nullable = false)
+    private LocalDate nextRunDate;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    public LocalDate occurrence(int index) {
+        return frequency.occurrence(startDate, intervalCount, index);
+    }
+
+    /**
+     * Maju ke kemunculan berikutnya; template dinonaktifkan setelah melewati tanggal akhir.
+     */
+    public void advance() {
+        nextOccurrence++;
+        nextRunDate = occurrence(nextOccurrence);
+        if (endDate != null && nextRunDate.isAfter(endDate)) {
+            active = false;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.finance.management.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -21,10 +23,14 @@ import lombok.Data;
 @Table(name = "transactions")
 public class Transaction {
 
+    // Panjang kolom kategori (VARCHAR(100)), juga dipakai validasi impor file
+    public static final int CATEGORY_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -36,7 +42,7 @@ public class Transaction {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
 
-    @Column(nullable = false, length = 50)
+    @Column(nullable = false, length = CATEGORY_LENGTH)
     private String category;
 
     private String description;
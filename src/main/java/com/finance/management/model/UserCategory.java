@@ -0,0 +1,40 @@
+package com.finance.management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kategori transaksi milik user beserta jumlah transaksi yang memakainya.
+ * Diperbarui oleh LedgerProjector.projectCategories dari event buku besar setelah penulisan
+ * transaksi commit, sehingga daftar kategori tidak perlu dihitung ulang dari seluruh transaksi.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "user_categories", uniqueConstraints = @UniqueConstraint(name = "uk_user_categories_user_name", columnNames = {
+        "user_id", "name" }))
+public class UserCategory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "usage_count", nullable = false)
+    private long usageCount;
+}
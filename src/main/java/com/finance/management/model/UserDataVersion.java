@@ -0,0 +1,29 @@
+package com.finance.management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Penanda versi data keuangan seorang user. Nilainya naik setiap kali transaksi, aset, utang,
+ * atau anggaran milik user berubah, sehingga hasil perhitungan yang di-cache cukup dibandingkan versinya.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Versi yang terakhir tercatat di net_worth_snapshots
+    @Column(name = "net_worth_version", nullable = false)
+    private long netWorthVersion;
+}
@@ -1,25 +1,68 @@
 package com.finance.management.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.finance.management.model.Asset;
 import com.finance.management.model.AssetType;
-import com.finance.management.model.User;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
-    List<Asset> findByUserId(Long userId);
-    Optional<Asset> findByNameAndUser(String name, User user);
+    // Query eksplisit, lihat TransactionRepository.findAllByUserId
+    @Query("select a from Asset a where a.user.id = :userId")
+    List<Asset> findByUserId(@Param("userId") Long userId);
 
-    Page<Asset> findByUserId(Long userId, Pageable pageable);
-    Page<Asset> findByUserIdAndType(Long userId, AssetType type, Pageable pageable);
-    Page<Asset> findByUserIdAndAcquisitionDateBetween(Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
-    Page<Asset> findByUserIdAndTypeAndAcquisitionDateBetween(Long userId, AssetType type, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @Query("select a from Asset a where a.user.id = :userId and a.name = :name")
+    Optional<Asset> findByNameAndUserId(@Param("name") String name, @Param("userId") Long userId);
+
+    // Kosong jika aset tidak ada atau milik user lain
+    @Query("select a from Asset a where a.id = :id and a.user.id = :userId")
+    Optional<Asset> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Mengembalikan 0 jika aset tidak ada atau milik user lain
+    @Modifying
+    @Query("delete from Asset a where a.id = :id and a.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Menambah nilai aset secara atomik di database (delta boleh negatif).
+     * Mengembalikan 0 jika aset dengan nama tersebut belum ada.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Asset a set a.currentValue = a.currentValue + :delta, a.acquisitionDate = :date "
+            + "where a.user.id = :userId and a.name = :name")
+    int addToCurrentValue(@Param("userId") Long userId, @Param("name") String name,
+            @Param("delta") BigDecimal delta, @Param("date") LocalDate date);
+
+    // Membuat aset jika belum ada, atau menambah nilainya jika baris lain sempat dibuat lebih dulu
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO assets (user_id, type, name, current_value, acquisition_date) "
+            + "VALUES (:userId, :type, :name, :delta, :date) "
+            + "ON DUPLICATE KEY UPDATE current_value = current_value + :delta, acquisition_date = :date",
+            nativeQuery = true)
+    int upsertCurrentValue(@Param("userId") Long userId, @Param("type") String type, @Param("name") String name,
+            @Param("delta") BigDecimal delta, @Param("date") LocalDate date);
+
+    @Query("select coalesce(sum(a.currentValue), 0) from Asset a where a.user.id = :userId")
+    BigDecimal sumCurrentValueByUserId(@Param("userId") Long userId);
+
+    // Keyset pagination, lihat TransactionRepository.findSliceByMonth. Tipe null berarti semua tipe.
+    @Query("select a from Asset a where a.user.id = :userId "
+            + "and a.acquisitionDate between :startDate and :endDate "
+            + "and (:type is null or a.type = :type) "
+            + "and (a.acquisitionDate < :afterDate or (a.acquisitionDate = :afterDate and a.id < :afterId)) "
+            + "order by a.acquisitionDate desc, a.id desc")
+    Slice<Asset> findSliceByMonth(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate, @Param("type") AssetType type,
+            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Pageable pageable);
 }
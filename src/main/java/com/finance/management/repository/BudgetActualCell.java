@@ -0,0 +1,17 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Satu sel matriks anggaran: kategori dan bulan, dengan anggaran (0 jika tidak diatur) dan
+ * pengeluaran aktualnya.
+ */
+public interface BudgetActualCell {
+    String getCategory();
+
+    int getPeriod();
+
+    BigDecimal getBudget();
+
+    BigDecimal getActual();
+}
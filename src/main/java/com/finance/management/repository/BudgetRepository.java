@@ -4,12 +4,35 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.finance.management.model.Budget;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
-  List<Budget> findByUser_IdAndBudgetYearAndBudgetMonth(Long userId, int year, int month);
-  Optional<Budget> findByCategoryAndUser_IdAndBudgetYearAndBudgetMonth(String category, Long userId, int year, int month);
+  // Query eksplisit supaya index (user_id, budget_year, ...) terpakai, lihat TransactionRepository.findAllByUserId
+  @Query("select b from Budget b where b.user.id = :userId and b.budgetYear = :year and b.budgetMonth = :month")
+  List<Budget> findByUser_IdAndBudgetYearAndBudgetMonth(@Param("userId") Long userId, @Param("year") int year,
+      @Param("month") int month);
+
+  @Query("select b from Budget b where b.user.id = :userId and b.budgetYear = :year and b.budgetMonth = :month "
+      + "and b.category = :category")
+  Optional<Budget> findByCategoryAndUser_IdAndBudgetYearAndBudgetMonth(@Param("category") String category,
+      @Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
+
+  // Satu query untuk matriks setahun: baris anggaran digabung dengan pengeluaran per bulan dari
+  // monthly_rollup (hanya kategori yang punya anggaran di tahun itu), lalu dijumlah per sel.
+  @Query(value = "SELECT cells.category AS category, cells.period AS period, SUM(cells.budget) AS budget, "
+      + "SUM(cells.actual) AS actual FROM ("
+      + "SELECT b.category AS category, b.budget_month AS period, b.amount AS budget, "
+      + "CAST(0 AS DECIMAL(19, 2)) AS actual FROM budgets b WHERE b.user_id = :userId AND b.budget_year = :year "
+      + "UNION ALL "
+      + "SELECT r.category, r.rollup_month, CAST(0 AS DECIMAL(19, 2)), r.total_amount FROM monthly_rollup r "
+      + "WHERE r.user_id = :userId AND r.rollup_year = :year AND r.type = 'EXPENSE' AND r.category IN "
+      + "(SELECT c.category FROM budgets c WHERE c.user_id = :userId AND c.budget_year = :year)"
+      + ") cells GROUP BY cells.category, cells.period ORDER BY cells.category, cells.period",
+      nativeQuery = true)
+  List<BudgetActualCell> findBudgetActualCells(@Param("userId") Long userId, @Param("year") int year);
 }
@@ -0,0 +1,15 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+
+import com.finance.management.model.TransactionType;
+
+public interface CategoryTotal {
+    String getCategory();
+
+    TransactionType getType();
+
+    BigDecimal getTotal();
+
+    long getCount();
+}
@@ -0,0 +1,64 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.DebtStatus;
+
+/**
+ * Baca-kunci dan tulis untuk pembayaran cicilan otomatis lewat JDBC, tanpa entity JPA: baris dikunci
+ * dengan SELECT ... FOR UPDATE (syarat jatuh tempo, termasuk tanggal jatuh tempo, diperiksa ulang di bawah
+ * kunci, sehingga worker atau instance lain tidak membayar dua kali atau terlalu awal), lalu hasilnya ditulis dengan satu JDBC batch UPDATE.
+ */
+@Repository
+public class DebtAutoPayRepository {
+
+    private static final String LOCK_SQL = "SELECT id, user_id, lender_name, remaining_amount, monthly_installment "
+            + "FROM debts WHERE id IN (:ids) AND auto_pay = TRUE AND status = :status "
+            + "AND due_day_of_month <= :toDay "
+            + "AND (last_auto_paid_on IS NULL OR last_auto_paid_on < :monthStart) AND monthly_installment > 0 "
+            + "ORDER BY id FOR UPDATE";
+
+    private static final String UPDATE_SQL = "UPDATE debts SET remaining_amount = ?, status = ?, last_auto_paid_on = ? "
+            + "WHERE id = ?";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<DueInstallment> lockDue(Collection<Long> debtIds, LocalDate today) {
+        // Tanggal 29-31 jatuh tempo di hari terakhir bulan yang lebih pendek, sama seperti DebtAutoPayService
+        int toDay = today.getDayOfMonth() == today.lengthOfMonth() ? 31 : today.getDayOfMonth();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", debtIds)
+                .addValue("status", DebtStatus.ACTIVE.name())
+                .addValue("toDay", toDay)
+                .addValue("monthStart", Date.valueOf(today.withDayOfMonth(1)));
+        return jdbcTemplate.query(LOCK_SQL, params, (rs, rowNum) -> new DueInstallment(rs.getLong("id"),
+                rs.getLong("user_id"), rs.getString("lender_name"), rs.getBigDecimal("remaining_amount"),
+                rs.getBigDecimal("monthly_installment")));
+    }
+
+    public void updatePaid(List<PaidInstallment> payments, LocalDate paidOn) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SQL, payments, payments.size(), (ps, payment) -> {
+            ps.setBigDecimal(1, payment.remainingAmount());
+            ps.setString(2, payment.status().name());
+            ps.setDate(3, Date.valueOf(paidOn));
+            ps.setLong(4, payment.debtId());
+        });
+    }
+
+    public record DueInstallment(Long debtId, Long userId, String lenderName, BigDecimal remainingAmount,
+            BigDecimal monthlyInstallment) {
+    }
+
+    public record PaidInstallment(Long debtId, BigDecimal remainingAmount, DebtStatus status) {
+    }
+}
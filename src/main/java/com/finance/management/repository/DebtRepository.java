@@ -1,22 +1,78 @@
 package com.finance.management.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.finance.management.model.Debt;
 import com.finance.management.model.DebtStatus;
 
+import jakarta.persistence.LockModeType;
+
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DebtRepository extends JpaRepository<Debt, Long> {
-    List<Debt> findByUserId(Long userId);
+    // Query eksplisit, lihat TransactionRepository.findAllByUserId
+    @Query("select d from Debt d where d.user.id = :userId")
+    List<Debt> findByUserId(@Param("userId") Long userId);
+
+    // Kosong jika utang tidak ada atau milik user lain
+    @Query("select d from Debt d where d.id = :id and d.user.id = :userId")
+    Optional<Debt> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Sama dengan findByIdAndUserId, tetapi barisnya dikunci (SELECT ... FOR UPDATE) sampai transaksi selesai
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Debt d where d.id = :id and d.user.id = :userId")
+    Optional<Debt> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Mengembalikan 0 jika utang tidak ada atau milik user lain
+    @Modifying
+    @Query("delete from Debt d where d.id = :id and d.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select coalesce(sum(d.remainingAmount), 0) as totalRemaining, "
+            + "coalesce(sum(case when d.status = :activeStatus then d.monthlyInstallment end), 0) as totalMonthlyInstallment "
+            + "from Debt d where d.user.id = :userId")
+    DebtTotals sumTotalsByUserId(@Param("userId") Long userId, @Param("activeStatus") DebtStatus activeStatus);
+
+    /**
+     * Keyset pagination (due_date desc, id desc) dengan cursor pada baris yang punya jatuh tempo.
+     * NULL dianggap nilai terkecil oleh MySQL maupun H2, jadi utang tanpa jatuh tempo ada di akhir daftar
+     * dan tetap ikut terambil di sini selama filter tanggal tidak aktif (startDate null).
+     */
+    @Query("select d from Debt d where d.user.id = :userId "
+            + "and (:status is null or d.status = :status) "
+            + "and (:startDate is null or d.dueDate between :startDate and :endDate) "
+            + "and (d.dueDate < :afterDate or (d.dueDate = :afterDate and d.id < :afterId) or d.dueDate is null) "
+            + "order by d.dueDate desc, d.id desc")
+    Slice<Debt> findSliceAfterDueDate(@Param("userId") Long userId, @Param("status") DebtStatus status,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Lanjutan daftar setelah cursor berada di bagian utang tanpa jatuh tempo
+    @Query("select d from Debt d where d.user.id = :userId "
+            + "and (:status is null or d.status = :status) "
+            + "and d.dueDate is null and d.id < :afterId "
+            + "order by d.id desc")
+    Slice<Debt> findSliceWithoutDueDate(@Param("userId") Long userId, @Param("status") DebtStatus status,
+            @Param("afterId") Long afterId, Pageable pageable);
 
-    Page<Debt> findByUserId(Long userId, Pageable pageable);
-    Page<Debt> findByUserIdAndStatus(Long userId, DebtStatus status, Pageable pageable);
-    Page<Debt> findByUserIdAndDueDateBetween(Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
-    Page<Debt> findByUserIdAndStatusAndDueDateBetween(Long userId, DebtStatus status, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    /**
+     * Utang auto-pay ACTIVE semua user dengan cicilan dan tanggal jatuh tempo paling lambat toDay yang belum
+     * dibayar (otomatis atau manual) sejak monthStart, termasuk yang terlewat di hari sebelumnya bulan ini.
+     * Hanya membaca index idx_debts_auto_pay_due.
+     */
+    @Query("select d.id as id, d.user.id as userId from Debt d "
+            + "where d.autoPay = true and d.status = :status and d.dueDayOfMonth <= :toDay "
+            + "and (d.lastAutoPaidOn is null or d.lastAutoPaidOn < :monthStart) and d.monthlyInstallment > 0")
+    List<DueDebt> findDueForAutoPay(@Param("status") DebtStatus status, @Param("toDay") int toDay,
+            @Param("monthStart") LocalDate monthStart);
 }
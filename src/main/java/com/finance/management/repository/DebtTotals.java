@@ -0,0 +1,9 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+
+public interface DebtTotals {
+    BigDecimal getTotalRemaining();
+
+    BigDecimal getTotalMonthlyInstallment();
+}
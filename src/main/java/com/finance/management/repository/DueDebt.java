@@ -0,0 +1,7 @@
+package com.finance.management.repository;
+
+public interface DueDebt {
+    Long getId();
+
+    Long getUserId();
+}
@@ -0,0 +1,66 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.MonthlyRollup;
+import com.finance.management.model.TransactionType;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup (user_id, rollup_year, rollup_month, type, category, total_amount, transaction_count) "
+            + "VALUES (:userId, :year, :month, :type, :category, :amount, :count) "
+            + "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, transaction_count = transaction_count + :count",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month,
+            @Param("type") String type, @Param("category") String category,
+            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Modifying
+    @Query("delete from MonthlyRollup r where r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Sama dengan migrasi V3, untuk satu user
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup (user_id, rollup_year, rollup_month, type, category, total_amount, transaction_count) "
+            + "SELECT user_id, YEAR(transaction_date), MONTH(transaction_date), type, category, SUM(amount), COUNT(*) "
+            + "FROM transactions WHERE user_id = :userId "
+            + "GROUP BY user_id, YEAR(transaction_date), MONTH(transaction_date), type, category",
+            nativeQuery = true)
+    int rebuildFromTransactions(@Param("userId") Long userId);
+
+    @Query("select coalesce(sum(r.totalAmount), 0) from MonthlyRollup r where r.user.id = :userId and r.type = :type")
+    BigDecimal sumTotal(@Param("userId") Long userId, @Param("type") TransactionType type);
+
+    @Query("select coalesce(sum(r.totalAmount), 0) from MonthlyRollup r where r.user.id = :userId and r.type = :type "
+            + "and r.rollupYear = :year and r.rollupMonth = :month")
+    BigDecimal sumMonthlyTotal(@Param("userId") Long userId, @Param("type") TransactionType type,
+            @Param("year") int year, @Param("month") int month);
+
+    @Query("select r.type as type, sum(r.totalAmount) as total, "
+            + "coalesce(sum(case when r.rollupYear = :year and r.rollupMonth = :month then r.totalAmount end), 0) as monthTotal "
+            + "from MonthlyRollup r where r.user.id = :userId group by r.type")
+    List<RollupTypeTotal> sumTotalsByType(@Param("userId") Long userId, @Param("year") int year,
+            @Param("month") int month);
+
+    // Periode dinyatakan sebagai tahun * 100 + bulan, misalnya 202501
+    @Query("select r.type as type, sum(r.totalAmount) as total from MonthlyRollup r where r.user.id = :userId "
+            + "and r.rollupYear * 100 + r.rollupMonth between :fromPeriod and :toPeriod group by r.type")
+    List<TypeTotal> sumByTypeBetween(@Param("userId") Long userId, @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod);
+
+    @Query("select r.category as category, r.type as type, r.totalAmount as total, r.transactionCount as count "
+            + "from MonthlyRollup r where r.user.id = :userId "
+            + "and r.type = :type and r.rollupYear = :year and r.rollupMonth = :month order by r.totalAmount desc")
+    List<CategoryTotal> findTopCategories(@Param("userId") Long userId, @Param("type") TransactionType type,
+            @Param("year") int year, @Param("month") int month, Pageable pageable);
+}
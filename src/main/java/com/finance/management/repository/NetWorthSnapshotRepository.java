@@ -0,0 +1,27 @@
+package com.finance.management.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.NetWorthSnapshot;
+
+@Repository
+public interface NetWorthSnapshotRepository extends JpaRepository<NetWorthSnapshot, Long> {
+
+    @Query("select s from NetWorthSnapshot s where s.userId = :userId "
+            + "and s.snapshotDate between :from and :to order by s.snapshotDate")
+    List<NetWorthSnapshot> findRange(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Snapshot terakhir sebelum tanggal tertentu (pakai PageRequest.ofSize(1)), sebagai nilai awal rentang
+    @Query("select s from NetWorthSnapshot s where s.userId = :userId and s.snapshotDate < :date "
+            + "order by s.snapshotDate desc")
+    List<NetWorthSnapshot> findLatestBefore(@Param("userId") Long userId, @Param("date") LocalDate date,
+            Pageable pageable);
+}
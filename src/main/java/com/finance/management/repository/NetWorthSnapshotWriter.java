@@ -0,0 +1,92 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.Money;
+import com.finance.management.model.NetWorthSnapshot;
+import com.finance.management.model.UserDataVersion;
+
+/**
+ * Baca dan tulis untuk job snapshot kekayaan bersih, satu chunk user sekaligus: total aset dan utang
+ * dengan satu query GROUP BY per tabel, snapshot terakhir setiap user, lalu upsert snapshot dan versi
+ * yang sudah tercatat masing-masing dengan satu JDBC batch.
+ */
+@Repository
+public class NetWorthSnapshotWriter {
+
+    private static final String LATEST_SQL = "SELECT s.user_id, s.snapshot_date, s.total_assets, s.total_debts "
+            + "FROM net_worth_snapshots s WHERE s.user_id IN (:userIds) AND s.snapshot_date = "
+            + "(SELECT MAX(m.snapshot_date) FROM net_worth_snapshots m WHERE m.user_id = s.user_id "
+            + "AND m.snapshot_date <= :date)";
+
+    private static final String UPSERT_SQL = "INSERT INTO net_worth_snapshots "
+            + "(user_id, snapshot_date, total_assets, total_debts) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE total_assets = ?, total_debts = ?";
+
+    private static final String MARK_SQL = "UPDATE user_data_versions SET net_worth_version = ? WHERE user_id = ?";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<Long, Money> sumAssets(Collection<Long> userIds) {
+        return sumByUser("SELECT user_id, SUM(current_value) FROM assets WHERE user_id IN (:userIds) "
+                + "GROUP BY user_id", userIds);
+    }
+
+    public Map<Long, Money> sumDebts(Collection<Long> userIds) {
+        return sumByUser("SELECT user_id, SUM(remaining_amount) FROM debts WHERE user_id IN (:userIds) "
+                + "GROUP BY user_id", userIds);
+    }
+
+    // Snapshot terakhir setiap user sampai tanggal tertentu (inklusif); user tanpa snapshot tidak ada di map
+    public Map<Long, NetWorthSnapshot> findLatest(Collection<Long> userIds, LocalDate date) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", userIds)
+                .addValue("date", Date.valueOf(date));
+        Map<Long, NetWorthSnapshot> latest = new HashMap<>();
+        jdbcTemplate.query(LATEST_SQL, params, (RowCallbackHandler) rs -> latest.put(rs.getLong(1),
+                new NetWorthSnapshot(null, rs.getLong(1), rs.getDate(2).toLocalDate(), Money.of(rs.getBigDecimal(3)),
+                        Money.of(rs.getBigDecimal(4)))));
+        return latest;
+    }
+
+    public void upsertAll(List<NetWorthSnapshot> snapshots) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, snapshots, snapshots.size(), (ps, snapshot) -> {
+            BigDecimal assets = snapshot.getTotalAssets().toBigDecimal();
+            BigDecimal debts = snapshot.getTotalDebts().toBigDecimal();
+            ps.setLong(1, snapshot.getUserId());
+            ps.setDate(2, Date.valueOf(snapshot.getSnapshotDate()));
+            ps.setBigDecimal(3, assets);
+            ps.setBigDecimal(4, debts);
+            ps.setBigDecimal(5, assets);
+            ps.setBigDecimal(6, debts);
+        });
+    }
+
+    // Menandai versi yang dibaca sebelum total dihitung; penulisan yang terjadi sesudahnya diproses run berikutnya
+    public void markCaptured(List<UserDataVersion> versions) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(MARK_SQL, versions, versions.size(), (ps, version) -> {
+            ps.setLong(1, version.getVersion());
+            ps.setLong(2, version.getUserId());
+        });
+    }
+
+    private Map<Long, Money> sumByUser(String sql, Collection<Long> userIds) {
+        Map<Long, Money> totals = new HashMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource("userIds", userIds),
+                (RowCallbackHandler) rs -> totals.put(rs.getLong(1), Money.of(rs.getBigDecimal(2))));
+        return totals;
+    }
+}
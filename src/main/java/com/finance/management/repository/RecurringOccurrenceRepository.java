@@ -0,0 +1,48 @@
+package com.finance.management.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Kunci kemunculan transaksi berulang yang sudah diposting (recurring_transaction_occurrences).
+ * Ditulis lewat JDBC batch bersama TransactionBatchWriter di transaksi database yang sama; primary key
+ * (template, tanggal) membuat posting ganda gagal keras, bukan tersimpan diam-diam.
+ */
+@Repository
+public class RecurringOccurrenceRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO recurring_transaction_occurrences "
+            + "(recurring_transaction_id, occurrence_date) VALUES (?, ?)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Set<Occurrence> findExisting(Collection<Long> templateIds, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", templateIds)
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+        return new HashSet<>(jdbcTemplate.query("SELECT recurring_transaction_id, occurrence_date FROM recurring_transaction_occurrences "
+                + "WHERE recurring_transaction_id IN (:ids) AND occurrence_date BETWEEN :from AND :to", params,
+                (rs, rowNum) -> new Occurrence(rs.getLong(1), rs.getDate(2).toLocalDate())));
+    }
+
+    public void insertAll(List<Occurrence> occurrences) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, occurrences, occurrences.size(), (ps, occurrence) -> {
+            ps.setLong(1, occurrence.recurringTransactionId());
+            ps.setDate(2, Date.valueOf(occurrence.date()));
+        });
+    }
+
+    public record Occurrence(Long recurringTransactionId, LocalDate date) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.finance.management.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.RecurringTransaction;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+    @Query("select r from RecurringTransaction r where r.user.id = :userId order by r.active desc, r.nextRunDate, r.id")
+    List<RecurringTransaction> findByUserId(@Param("userId") Long userId);
+
+    // Kosong jika template tidak ada atau milik user lain
+    @Query("select r from RecurringTransaction r where r.id = :id and r.user.id = :userId")
+    Optional<RecurringTransaction> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Mengembalikan 0 jika template tidak ada atau milik user lain
+    @Modifying
+    @Query("delete from RecurringTransaction r where r.id = :id and r.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Keyset pagination atas user yang punya template jatuh tempo (urut user_id), dipakai materializer
+     * untuk membagi semua user menjadi chunk berukuran tetap.
+     */
+    @Query("select distinct r.user.id from RecurringTransaction r "
+            + "where r.active = true and r.nextRunDate <= :today and r.user.id > :afterUserId "
+            + "order by r.user.id")
+    List<Long> findDueUserIds(@Param("today") LocalDate today, @Param("afterUserId") Long afterUserId,
+            Pageable pageable);
+
+    @Query("select r from RecurringTransaction r "
+            + "where r.active = true and r.nextRunDate <= :today and r.user.id in :userIds "
+            + "order by r.user.id, r.id")
+    List<RecurringTransaction> findDueByUserIds(@Param("today") LocalDate today,
+            @Param("userIds") Collection<Long> userIds);
+
+    // Id template dari findDueByUserIds, untuk log chunk yang gagal
+    @Query("select r.id from RecurringTransaction r "
+            + "where r.active = true and r.nextRunDate <= :today and r.user.id in :userIds "
+            + "order by r.user.id, r.id")
+    List<Long> findDueIdsByUserIds(@Param("today") LocalDate today, @Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,16 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.finance.management.model.TransactionType;
+
+public interface ReportRow {
+    LocalDate getTransactionDate();
+
+    String getCategory();
+
+    TransactionType getType();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,13 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+
+import com.finance.management.model.TransactionType;
+
+public interface RollupTypeTotal {
+    TransactionType getType();
+
+    BigDecimal getTotal();
+
+    BigDecimal getMonthTotal();
+}
@@ -0,0 +1,48 @@
+package com.finance.management.repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.Transaction;
+
+/**
+ * Menyimpan banyak transaksi sekaligus lewat JDBC batch insert, tanpa melewati persistence context JPA.
+ * Dengan IDENTITY, Hibernate tidak bisa mem-batch insert, sedangkan di MySQL batch ini digabung menjadi
+ * satu INSERT multi-baris oleh driver (rewriteBatchedStatements=true).
+ * Pemanggil bertanggung jawab memperbarui monthly_rollup dan saldo Cash di transaksi database yang sama.
+ */
+@Repository
+public class TransactionBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(user_id, type, amount, category, description, transaction_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(Long userId, List<Transaction> transactions) {
+        insertAll(Map.of(userId, transactions));
+    }
+
+    // Transaksi banyak user dalam satu batch, misalnya satu chunk materializer transaksi berulang
+    public void insertAll(Map<Long, List<Transaction>> transactionsByUser) {
+        List<Map.Entry<Long, Transaction>> rows = new ArrayList<>();
+        transactionsByUser.forEach((userId, transactions) -> transactions
+                .forEach(transaction -> rows.add(Map.entry(userId, transaction))));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            Transaction transaction = row.getValue();
+            ps.setLong(1, row.getKey());
+            ps.setString(2, transaction.getType().name());
+            ps.setBigDecimal(3, transaction.getAmount());
+            ps.setString(4, transaction.getCategory());
+            ps.setString(5, transaction.getDescription());
+            ps.setDate(6, Date.valueOf(transaction.getTransactionDate()));
+        });
+    }
+}
@@ -1,27 +1,75 @@
 package com.finance.management.repository;
 
 import com.finance.management.model.Transaction;
-import org.springframework.data.domain.Page;
+import com.finance.management.model.TransactionType;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    Page<Transaction> findByUserId(Long userId, Pageable pageable);
+    /**
+     * Keyset pagination: baris sesudah (afterDate, afterId) dalam urutan tanggal dan id menurun.
+     * Tanpa query COUNT dan tanpa OFFSET, sehingga halaman ke-n sama murahnya dengan halaman pertama.
+     * Kategori null berarti semua kategori.
+     */
+    @Query("select t from Transaction t where t.user.id = :userId "
+            + "and t.transactionDate between :startDate and :endDate "
+            + "and (:category is null or t.category = :category) "
+            + "and (t.transactionDate < :afterDate or (t.transactionDate = :afterDate and t.id < :afterId)) "
+            + "order by t.transactionDate desc, t.id desc")
+    Slice<Transaction> findSliceByMonth(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate, @Param("category") String category,
+            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Query ditulis eksplisit: method turunan dengan path user.id menghasilkan LEFT JOIN ke users
+    // dan filter pada users.id, sehingga index (user_id, ...) tidak terpakai.
+    @Query("select t from Transaction t where t.user.id = :userId")
+    List<Transaction> findAllByUserId(@Param("userId") Long userId);
 
-    Page<Transaction> findByUserIdAndCategory(Long userId, String category, Pageable pageable);
+    // Kosong jika transaksi tidak ada atau milik user lain
+    @Query("select t from Transaction t where t.id = :id and t.user.id = :userId")
+    Optional<Transaction> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    Page<Transaction> findByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate,
-            Pageable pageable);
+    @Query("select t from Transaction t where t.user.id = :userId and t.transactionDate between :startDate and :endDate")
+    List<Transaction> findAllByUserIdAndTransactionDateBetween(@Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    Page<Transaction> findByUserIdAndCategoryAndTransactionDateBetween(Long userId, String category,
-            LocalDate startDate, LocalDate endDate, Pageable pageable);
+    /**
+     * Baris laporan dibaca maju satu arah dengan fetch size terbatas, tanpa memuat entity ke persistence context.
+     * Harus dipanggil di dalam transaksi dan stream wajib ditutup.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select t.transactionDate as transactionDate, t.category as category, t.type as type, t.amount as amount "
+            + "from Transaction t where t.user.id = :userId and t.transactionDate between :startDate and :endDate "
+            + "order by t.transactionDate, t.id")
+    Stream<ReportRow> streamReportRows(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 
-    List<Transaction> findAllByUserId(Long userId);
+    @Query("select t.category as category, t.type as type, sum(t.amount) as total, count(t) as count "
+            + "from Transaction t where t.user.id = :userId and t.type = :type "
+            + "group by t.category, t.type")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId, @Param("type") TransactionType type);
 
-    List<Transaction> findAllByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    @Query("select t.category as category, t.type as type, sum(t.amount) as total, count(t) as count "
+            + "from Transaction t where t.user.id = :userId and t.type = :type "
+            + "and t.transactionDate between :startDate and :endDate "
+            + "group by t.category, t.type")
+    List<CategoryTotal> sumByCategoryBetween(@Param("userId") Long userId, @Param("type") TransactionType type,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
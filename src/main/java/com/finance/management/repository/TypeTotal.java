@@ -0,0 +1,11 @@
+package com.finance.management.repository;
+
+import java.math.BigDecimal;
+
+import com.finance.management.model.TransactionType;
+
+public interface TypeTotal {
+    TransactionType getType();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,50 @@
+package com.finance.management.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.UserCategory;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UserCategoryRepository extends JpaRepository<UserCategory, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO user_categories (user_id, name, usage_count) VALUES (:userId, :name, :delta) "
+            + "ON DUPLICATE KEY UPDATE usage_count = usage_count + :delta", nativeQuery = true)
+    int applyUsage(@Param("userId") Long userId, @Param("name") String name, @Param("delta") long delta);
+
+    // Baris kategori yang akan diubah, dikunci sampai transaksi selesai supaya proyeksi yang berjalan
+    // bersamaan untuk user yang sama membaca jumlah pemakaian yang sudah diperbarui
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from UserCategory c where c.user.id = :userId and c.name in :names order by c.name")
+    List<UserCategory> findForUpdate(@Param("userId") Long userId, @Param("names") Collection<String> names);
+
+    @Modifying
+    @Query("delete from UserCategory c where c.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Sama dengan pengisian awal di migrasi V4, untuk satu user
+    @Modifying
+    @Query(value = "INSERT INTO user_categories (user_id, name, usage_count) "
+            + "SELECT user_id, category, COUNT(*) FROM transactions WHERE user_id = :userId GROUP BY user_id, category",
+            nativeQuery = true)
+    int rebuildFromTransactions(@Param("userId") Long userId);
+
+    // Kategori yang sudah tidak dipakai transaksi mana pun tetap disimpan dengan usage_count 0
+    @Query("select c.name from UserCategory c where c.user.id = :userId and c.usageCount > 0 order by c.name")
+    List<String> findNamesByUserId(@Param("userId") Long userId);
+
+    @Query("select c.name from UserCategory c where c.user.id = :userId and c.usageCount > 0 "
+            + "order by c.usageCount desc, c.name")
+    List<String> findNamesByUsage(@Param("userId") Long userId, Pageable pageable);
+}
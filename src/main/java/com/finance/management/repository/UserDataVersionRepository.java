@@ -0,0 +1,32 @@
+package com.finance.management.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.finance.management.model.UserDataVersion;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO user_data_versions (user_id, version) VALUES (:userId, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int bump(@Param("userId") Long userId);
+
+    @Query("select v.version from UserDataVersion v where v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+
+    // Keyset pagination (scan primary key) atas user yang datanya berubah sejak snapshot kekayaan bersih terakhir
+    @Query("select v from UserDataVersion v where v.userId > :afterUserId and v.netWorthVersion < v.version "
+            + "order by v.userId")
+    List<UserDataVersion> findChangedSinceNetWorthSnapshot(@Param("afterUserId") Long afterUserId,
+            Pageable pageable);
+}
@@ -0,0 +1,71 @@
+package com.finance.management.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.finance.management.model.User;
+
+/**
+ * Principal yang disimpan di sesi login. Membawa id user dan nama tampilan
+ * sehingga controller dan service tidak perlu mencari ulang user berdasarkan username.
+ */
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long id;
+    private final String username;
+    private final String name;
+    private String password;
+
+    public UserPrincipal(Long id, String username, String name, String password) {
+        this.id = id;
+        this.username = username;
+        this.name = name;
+        this.password = password;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getName(), user.getPassword());
+    }
+
+    /**
+     * Salinan principal dengan nama tampilan baru, dipakai setelah profil diperbarui.
+     */
+    public UserPrincipal withName(String newName) {
+        return new UserPrincipal(id, username, newName, null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
@@ -1,21 +1,23 @@
 package com.finance.management.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.finance.management.dto.AssetDto;
+import com.finance.management.dto.CursorPage;
+import com.finance.management.dto.KeysetCursor;
+import com.finance.management.event.AssetRevalued;
+import com.finance.management.event.LedgerEntry;
 import com.finance.management.model.Asset;
 import com.finance.management.model.AssetType;
 import com.finance.management.model.Transaction;
 import com.finance.management.model.TransactionType;
-import com.finance.management.model.User;
 import com.finance.management.repository.AssetRepository;
 import com.finance.management.repository.UserRepository;
 
@@ -29,7 +31,9 @@ import java.util.stream.Collectors;
 @Service
 public class AssetService {
 
-    private static final String DEFAULT_CASH_ASSET_NAME = "Cash";
+    static final String DEFAULT_CASH_ASSET_NAME = "Cash";
+
+    static final String DUPLICATE_NAME_MESSAGE = "Aset dengan nama ini sudah ada.";
 
     @Autowired
     private AssetRepository assetRepository;
@@ -41,61 +45,64 @@ public class AssetService {
     @Lazy
     private TransactionService transactionService;
 
-    public List<Asset> getAssetsForUser(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-        return assetRepository.findByUserId(user.getId());
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public List<Asset> getAssetsForUser(Long userId) {
+        return assetRepository.findByUserId(userId);
     }
 
-    public List<Asset> getAssetsByType(String username, AssetType type) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return assetRepository.findByUserId(user.getId()).stream()
+    public List<Asset> getAssetsByType(Long userId, AssetType type) {
+        return assetRepository.findByUserId(userId).stream()
                 .filter(asset -> asset.getType() == type)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public Asset getAssetByIdAndUsername(Long id, String username) {
-        Asset asset = assetRepository.findById(id)
+    public Asset getAssetByIdAndUserId(Long id, Long userId) {
+        // Aset milik user lain diperlakukan sama dengan yang tidak ada
+        return assetRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Aset tidak ditemukan dengan ID: " + id));
-        if (!asset.getUser().getUsername().equals(username)) {
-            throw new AccessDeniedException("Anda tidak memiliki izin untuk mengakses aset ini.");
-        }
-        return asset;
     }
 
-    public BigDecimal getTotalAssetValue(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return assetRepository.findByUserId(user.getId()).stream()
-                .map(Asset::getCurrentValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getTotalAssetValue(Long userId) {
+        return assetRepository.sumCurrentValueByUserId(userId);
     }
 
+    /**
+     * Nama aset unik per user (uk_assets_user_name): nama yang sudah dipakai ditolak dengan
+     * IllegalArgumentException.
+     */
     @Transactional
-    public Asset createAsset(AssetDto assetDto, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-
+    public Asset createAsset(AssetDto assetDto, Long userId) {
+        if (assetRepository.findByNameAndUserId(assetDto.getName(), userId).isPresent()) {
+            throw new IllegalArgumentException(DUPLICATE_NAME_MESSAGE);
+        }
         Asset asset = new Asset();
-        asset.setUser(user);
+        asset.setUser(userRepository.getReferenceById(userId));
         asset.setType(assetDto.getType());
         asset.setName(assetDto.getName());
         asset.setCurrentValue(assetDto.getCurrentValue());
         asset.setAcquisitionDate(assetDto.getAcquisitionDate());
 
-        return assetRepository.save(asset);
+        Asset savedAsset = saveWithUniqueName(asset);
+        userDataVersionService.bump(userId);
+        return savedAsset;
     }
 
     @Transactional
-    public Asset addOrUpdateAsset(Asset assetData, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-
-        Optional<Asset> existingAssetOpt = assetRepository.findByNameAndUser(assetData.getName(), user);
+    public Asset addOrUpdateAsset(Asset assetData, Long userId) {
+        Optional<Asset> existingAssetOpt = assetRepository.findByNameAndUserId(assetData.getName(), userId);
 
         BigDecimal amountSpent = assetData.getCurrentValue();
+        BigDecimal previousValue = null;
 
         if (existingAssetOpt.isPresent()) {
             Asset existingAsset = existingAssetOpt.get();
+            previousValue = existingAsset.getCurrentValue();
             BigDecimal difference = assetData.getCurrentValue().subtract(existingAsset.getCurrentValue());
 
             if (difference.compareTo(BigDecimal.ZERO) > 0) {
@@ -107,10 +114,11 @@ public class AssetService {
             }
 
         } else {
-            assetData.setUser(user);
-            assetRepository.save(assetData);
+            assetData.setUser(userRepository.getReferenceById(userId));
+            saveWithUniqueName(assetData);
         }
 
+        LedgerEntry purchase = null;
         if (amountSpent.compareTo(BigDecimal.ZERO) > 0) {
             Transaction expense = new Transaction();
             expense.setAmount(amountSpent);
@@ -118,81 +126,86 @@ public class AssetService {
             expense.setDescription("Investasi/pembelian untuk: " + assetData.getName());
             expense.setType(TransactionType.EXPENSE);
             expense.setTransactionDate(LocalDate.now());
-            transactionService.createTransaction(expense, username);
+            purchase = LedgerEntry.of(transactionService.recordTransaction(expense, userId));
         }
+        userDataVersionService.bump(userId);
+        eventPublisher.publishEvent(new AssetRevalued(userId, assetData.getName(), previousValue,
+                previousValue == null ? assetData.getCurrentValue() : previousValue.max(assetData.getCurrentValue()),
+                purchase));
 
         return assetData;
     }
 
+    /**
+     * Mengganti nama ke nama aset lain milik user yang sama (misalnya "Cash") ditolak dengan
+     * IllegalArgumentException.
+     */
     @Transactional
-    public void updateAsset(Long id, Asset updatedAssetData, String username) {
-        Asset existingAsset = getAssetByIdAndUsername(id, username);
+    public void updateAsset(Long id, Asset updatedAssetData, Long userId) {
+        Asset existingAsset = getAssetByIdAndUserId(id, userId);
+        // Aset ini sendiri tidak dihitung: MySQL membandingkan nama tanpa membedakan huruf besar/kecil
+        if (!existingAsset.getName().equals(updatedAssetData.getName()) && assetRepository
+                .findByNameAndUserId(updatedAssetData.getName(), userId).filter(other -> !other.getId().equals(id))
+                .isPresent()) {
+            throw new IllegalArgumentException(DUPLICATE_NAME_MESSAGE);
+        }
 
         existingAsset.setName(updatedAssetData.getName());
         existingAsset.setType(updatedAssetData.getType());
         existingAsset.setCurrentValue(updatedAssetData.getCurrentValue());
         existingAsset.setAcquisitionDate(updatedAssetData.getAcquisitionDate());
 
-        assetRepository.save(existingAsset);
+        saveWithUniqueName(existingAsset);
+        userDataVersionService.bump(userId);
     }
 
-    @Transactional
-    public void depositToCash(BigDecimal amount, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-
-        Asset cashAsset = assetRepository.findByNameAndUser(DEFAULT_CASH_ASSET_NAME, user)
-                .orElseGet(() -> {
-                    Asset newCashAsset = new Asset();
-                    newCashAsset.setName(DEFAULT_CASH_ASSET_NAME);
-                    newCashAsset.setType(AssetType.CASH);
-                    newCashAsset.setUser(user);
-                    newCashAsset.setCurrentValue(BigDecimal.ZERO);
-                    return newCashAsset;
-                });
-
-        cashAsset.setCurrentValue(cashAsset.getCurrentValue().add(amount));
-        cashAsset.setAcquisitionDate(LocalDate.now());
-        assetRepository.save(cashAsset);
+    // Request lain yang menyimpan nama yang sama di antara cek dan insert baru terdeteksi oleh
+    // uk_assets_user_name; flush di sini supaya pelanggarannya muncul sebagai pesan yang sama, bukan saat commit
+    private Asset saveWithUniqueName(Asset asset) {
+        try {
+            return assetRepository.saveAndFlush(asset);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException(DUPLICATE_NAME_MESSAGE, e);
+        }
     }
 
     @Transactional
-    public void withdrawFromCash(BigDecimal amount, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-
-        Asset cashAsset = assetRepository.findByNameAndUser(DEFAULT_CASH_ASSET_NAME, user)
-                .orElseGet(() -> {
-                    // Jika belum ada, buat baru (meskipun aneh jika pengeluaran terjadi tanpa kas)
-                    Asset newCashAsset = new Asset();
-                    newCashAsset.setName(DEFAULT_CASH_ASSET_NAME);
-                    newCashAsset.setType(AssetType.CASH);
-                    newCashAsset.setUser(user);
-                    newCashAsset.setCurrentValue(BigDecimal.ZERO);
-                    return newCashAsset;
-                });
-
-        cashAsset.setCurrentValue(cashAsset.getCurrentValue().subtract(amount));
-        cashAsset.setAcquisitionDate(LocalDate.now());
-        assetRepository.save(cashAsset);
+    public void depositToCash(BigDecimal amount, Long userId) {
+        adjustCash(amount, userId);
     }
 
-    public void deleteAsset(Long id, String username) {
-        Asset asset = assetRepository.findById(id).orElseThrow();
-        if (!asset.getUser().getUsername().equals(username))
-            throw new AccessDeniedException("Access denied");
-        assetRepository.delete(asset);
+    @Transactional
+    public void withdrawFromCash(BigDecimal amount, Long userId) {
+        adjustCash(amount.negate(), userId);
     }
 
-        public Page<Asset> findPaginatedByMonth(String username, int year, int month, AssetType type, int pageNo, int pageSize) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize, Sort.by("acquisitionDate").descending());
+    /**
+     * Mengubah saldo aset Cash dengan satu UPDATE atomik (current_value = current_value + delta),
+     * sehingga transaksi yang berjalan bersamaan tidak saling menimpa. Baris Cash dibuat lewat upsert
+     * jika belum ada (meskipun aneh jika pengeluaran terjadi tanpa kas).
+     */
+    @Transactional
+    public void adjustCash(BigDecimal delta, Long userId) {
+        LocalDate today = LocalDate.now();
+        if (assetRepository.addToCurrentValue(userId, DEFAULT_CASH_ASSET_NAME, delta, today) == 0) {
+            assetRepository.upsertCurrentValue(userId, AssetType.CASH.name(), DEFAULT_CASH_ASSET_NAME, delta, today);
+        }
+    }
 
-        if (type != null) {
-            return assetRepository.findByUserIdAndTypeAndAcquisitionDateBetween(user.getId(), type, startDate, endDate, pageable);
-        } else {
-            return assetRepository.findByUserIdAndAcquisitionDateBetween(user.getId(), startDate, endDate, pageable);
+    @Transactional
+    public void deleteAsset(Long id, Long userId) {
+        if (assetRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new RuntimeException("Aset tidak ditemukan dengan ID: " + id);
         }
+        userDataVersionService.bump(userId);
+    }
+
+    public CursorPage<Asset> findSliceByMonth(Long userId, int year, int month, AssetType type, String cursor,
+            int pageSize) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<Asset> slice = assetRepository.findSliceByMonth(userId, yearMonth.atDay(1), yearMonth.atEndOfMonth(),
+                type, after.getDate(), after.getId(), PageRequest.ofSize(pageSize));
+        return CursorPage.of(slice, asset -> new KeysetCursor(asset.getAcquisitionDate(), asset.getId()));
     }
 }
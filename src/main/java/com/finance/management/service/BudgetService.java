@@ -1,7 +1,9 @@
 package com.finance.management.service;
 
+import com.finance.management.dto.BudgetMatrix;
 import com.finance.management.model.Budget;
-import com.finance.management.model.User;
+import com.finance.management.model.Money;
+import com.finance.management.repository.BudgetActualCell;
 import com.finance.management.repository.BudgetRepository;
 import com.finance.management.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,37 +28,43 @@ public class BudgetService {
   @Autowired
   private TransactionService transactionService;
 
+  @Autowired
+  private UserDataVersionService userDataVersionService;
+
   /**
    * Membuat atau memperbarui anggaran untuk kategori tertentu.
    */
   @Transactional
-  public Budget createOrUpdateBudget(Budget budget, String username) {
-    User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-    budget.setUser(user);
+  public Budget createOrUpdateBudget(Budget budget, Long userId) {
+    budget.setUser(userRepository.getReferenceById(userId));
 
     // Cek apakah sudah ada budget untuk kategori, bulan, dan tahun yang sama
     budgetRepository.findByCategoryAndUser_IdAndBudgetYearAndBudgetMonth(
-        budget.getCategory(), user.getId(), budget.getBudgetYear(), budget.getBudgetMonth())
+        budget.getCategory(), userId, budget.getBudgetYear(), budget.getBudgetMonth())
         .ifPresent(existingBudget -> budget.setId(existingBudget.getId())); // Jika ada, set ID agar menjadi update
 
-    return budgetRepository.save(budget);
+    Budget savedBudget = budgetRepository.save(budget);
+    userDataVersionService.bump(userId);
+    return savedBudget;
   }
 
   /**
    * Mengambil semua anggaran untuk pengguna pada bulan dan tahun tertentu.
    */
-  public List<Budget> getBudgetsForMonth(String username, int year, int month) {
-    User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-    return budgetRepository.findByUser_IdAndBudgetYearAndBudgetMonth(user.getId(), year, month);
+  public List<Budget> getBudgetsForMonth(Long userId, int year, int month) {
+    return budgetRepository.findByUser_IdAndBudgetYearAndBudgetMonth(userId, year, month);
   }
 
   /**
    * Mengambil data anggaran beserta total pengeluaran aktualnya.
    * Ini akan digunakan di dashboard.
    */
-  public List<BudgetTrackingInfo> getBudgetTrackingInfo(String username, int year, int month) {
-    List<Budget> budgets = getBudgetsForMonth(username, year, month);
-    Map<String, BigDecimal> expenseSummary = transactionService.getExpenseSummaryForMonth(username, year, month);
+  public List<BudgetTrackingInfo> getBudgetTrackingInfo(Long userId, int year, int month) {
+    List<Budget> budgets = getBudgetsForMonth(userId, year, month);
+    if (budgets.isEmpty()) {
+      return List.of();
+    }
+    Map<String, BigDecimal> expenseSummary = transactionService.getExpenseSummaryForMonth(userId, year, month);
 
     return budgets.stream().map(budget -> {
       BigDecimal spentAmount = expenseSummary.getOrDefault(budget.getCategory(), BigDecimal.ZERO);
@@ -63,6 +72,29 @@ public class BudgetService {
     }).collect(Collectors.toList());
   }
 
+  /**
+   * Matriks anggaran vs aktual untuk satu tahun, dari satu query gabungan budgets dan monthly_rollup.
+   */
+  public BudgetMatrix getBudgetMatrix(Long userId, int year) {
+    List<BudgetActualCell> cells = budgetRepository.findBudgetActualCells(userId, year);
+    // Hasil query sudah urut per kategori, jadi baris baru dimulai setiap kategori berganti
+    List<String> categories = new ArrayList<>();
+    List<long[]> budgets = new ArrayList<>();
+    List<long[]> actuals = new ArrayList<>();
+    for (BudgetActualCell cell : cells) {
+      if (categories.isEmpty() || !categories.get(categories.size() - 1).equals(cell.getCategory())) {
+        categories.add(cell.getCategory());
+        budgets.add(new long[12]);
+        actuals.add(new long[12]);
+      }
+      budgets.get(budgets.size() - 1)[cell.getPeriod() - 1] = Money.toMinorUnits(cell.getBudget());
+      actuals.get(actuals.size() - 1)[cell.getPeriod() - 1] = Money.toMinorUnits(cell.getActual());
+    }
+    return new BudgetMatrix(year, List.copyOf(categories), budgets.toArray(long[][]::new),
+        actuals.toArray(long[][]::new));
+  }
+
+
   // Inner class/DTO untuk membawa data tracking ke view
   public static class BudgetTrackingInfo {
     private Budget budget;
@@ -0,0 +1,80 @@
+package com.finance.management.service;
+
+import com.finance.management.dto.DashboardSnapshot;
+import com.finance.management.dto.HealthSnapshot;
+import com.finance.management.metrics.RequestStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Menyusun seluruh data dashboard: angka kesehatan keuangan diambil dari HealthSnapshot (di-cache per
+ * versi data user), sisanya dari query anggaran bulan berjalan.
+ * Jika app.dashboard.parallel-queries aktif, keduanya dijalankan bersamaan di virtual thread.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private FinancialHealthService financialHealthService;
+
+    @Value("${app.dashboard.parallel-queries:true}")
+    private boolean parallelQueries;
+
+    public DashboardSnapshot getSnapshot(Long userId, YearMonth yearMonth) {
+        if (!parallelQueries) {
+            return assemble(userId, financialHealthService.getHealthSnapshot(userId, yearMonth),
+                    budgetService.getBudgetTrackingInfo(userId, yearMonth.getYear(), yearMonth.getMonthValue()));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<HealthSnapshot> health = submit(executor,
+                    () -> financialHealthService.getHealthSnapshot(userId, yearMonth));
+            CompletableFuture<List<BudgetService.BudgetTrackingInfo>> budgetInfos = submit(executor,
+                    () -> budgetService.getBudgetTrackingInfo(userId, yearMonth.getYear(), yearMonth.getMonthValue()));
+
+            return assemble(userId, join(health), join(budgetInfos));
+        }
+    }
+
+    private DashboardSnapshot assemble(Long userId, HealthSnapshot health,
+            List<BudgetService.BudgetTrackingInfo> budgetInfos) {
+        return DashboardSnapshot.builder()
+                .totalAssets(health.getTotalAssets())
+                .totalDebt(health.getTotalDebt())
+                .incomeThisMonth(health.getIncomeThisMonth())
+                .expenseThisMonth(health.getExpenseThisMonth())
+                .totalMonthlyInstallment(health.getTotalMonthlyInstallment())
+                .debtToAssetMetric(health.getDebtToAssetRatio())
+                .savingsRateMetric(health.getSavingsRate())
+                .budgetInfos(List.copyOf(budgetInfos))
+                .recommendations(financialHealthService.generateDynamicRecommendations(userId, health))
+                .build();
+    }
+
+    private static <T> CompletableFuture<T> submit(ExecutorService executor, Supplier<T> query) {
+        return CompletableFuture.supplyAsync(RequestStatistics.propagate(query), executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
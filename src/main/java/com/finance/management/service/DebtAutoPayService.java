@@ -0,0 +1,179 @@
+package com.finance.management.service;
+
+import com.finance.management.dto.AutoPayResult;
+import com.finance.management.model.DebtStatus;
+import com.finance.management.repository.DebtAutoPayRepository.PaidInstallment;
+import com.finance.management.repository.DebtRepository;
+import com.finance.management.repository.DueDebt;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Job terjadwal yang membayar cicilan bulanan utang auto-pay semua user pada tanggal jatuh temponya
+ * (dueDayOfMonth; tanggal 29-31 dibayar di hari terakhir bulan yang lebih pendek). Cicilan bulan berjalan
+ * yang terlewat (aplikasi mati atau chunk gagal) dibayar di run berikutnya; cicilan bulan sebelumnya
+ * tidak dikejar. Utang yang dibuat atau dicentang auto-pay setelah jatuh tempo, dan utang yang sudah
+ * dibayar manual sebesar cicilan setelah jatuh tempo bulan ini, sudah dicap last_auto_paid_on oleh
+ * DebtService; pembayaran manual sebagian atau sebelum jatuh tempo tidak menggantikan cicilan otomatis.
+ * Opt-in dua kali: job hanya berjalan dengan app.debt.auto-pay.enabled=true, dan hanya untuk utang yang
+ * dicentang "Bayar cicilan otomatis".
+ *
+ * Utang jatuh tempo dibaca dengan satu query ber-index, lalu dipartisi per user_id ke sejumlah worker:
+ * semua utang satu user ada di worker yang sama, sehingga worker tidak berebut baris Cash yang sama.
+ * Setiap worker membayar partisinya per chunk lewat DebtService.payDueInstallments (satu transaksi
+ * database dan batch write per chunk). Chunk yang gagal di-rollback utuh dan dicoba lagi di run berikutnya;
+ * last_auto_paid_on mencegah cicilan terbayar dua kali dalam satu bulan.
+ *
+ * Metrik: app.debt.auto-pay.paid, app.debt.auto-pay.paid-off, app.debt.auto-pay.failed-chunks (counter),
+ * app.debt.auto-pay.run (timer), dan app.debt.auto-pay.throughput (utang per detik pada run terakhir).
+ */
+@Service
+public class DebtAutoPayService {
+
+    private static final Logger log = LoggerFactory.getLogger(DebtAutoPayService.class);
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private DebtService debtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.debt.auto-pay.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.debt.auto-pay.workers:4}")
+    private int workers;
+
+    @Value("${app.debt.auto-pay.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private Counter paidCounter;
+    private Counter paidOffCounter;
+    private Counter failedChunkCounter;
+    private Timer runTimer;
+
+    private volatile double lastDebtsPerSecond;
+
+    @PostConstruct
+    void registerMetrics() {
+        paidCounter = meterRegistry.counter("app.debt.auto-pay.paid");
+        paidOffCounter = meterRegistry.counter("app.debt.auto-pay.paid-off");
+        failedChunkCounter = meterRegistry.counter("app.debt.auto-pay.failed-chunks");
+        runTimer = meterRegistry.timer("app.debt.auto-pay.run");
+        Gauge.builder("app.debt.auto-pay.throughput", this, service -> service.lastDebtsPerSecond)
+                .description("Utang yang dibayar per detik pada run terakhir")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.debt.auto-pay.cron:0 15 0 * * *}")
+    public void payScheduled() {
+        if (enabled) {
+            payDue(LocalDate.now());
+        }
+    }
+
+    public AutoPayResult payDue(LocalDate today) {
+        long started = System.nanoTime();
+        int lastDay = today.getDayOfMonth() == today.lengthOfMonth() ? 31 : today.getDayOfMonth();
+        List<DueDebt> dueDebts = debtRepository.findDueForAutoPay(DebtStatus.ACTIVE, lastDay, today.withDayOfMonth(1));
+
+        // Partisi per user: user_id mod jumlah worker, urut user_id di dalam partisi
+        List<SortedMap<Long, List<Long>>> partitions = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new TreeMap<>());
+        }
+        for (DueDebt due : dueDebts) {
+            partitions.get(Math.floorMod(due.getUserId(), workers))
+                    .computeIfAbsent(due.getUserId(), key -> new ArrayList<>()).add(due.getId());
+        }
+        partitions.removeIf(SortedMap::isEmpty);
+        int users = partitions.stream().mapToInt(SortedMap::size).sum();
+
+        Tally tally = new Tally();
+        if (!partitions.isEmpty()) {
+            // Jumlah thread tetap jumlah partisi juga di mode virtual thread, sama seperti worker laporan
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadFactory threadFactory = virtualThreads ? Thread.ofVirtual().name("auto-pay-", 1).factory()
+                    : task -> new Thread(task, "auto-pay-" + threadCount.incrementAndGet());
+            try (ExecutorService executor = Executors.newFixedThreadPool(partitions.size(), threadFactory)) {
+                for (SortedMap<Long, List<Long>> partition : partitions) {
+                    executor.execute(() -> payPartition(partition, today, tally));
+                }
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        AutoPayResult result = new AutoPayResult(today, dueDebts.size(), users, partitions.size(), tally.paid.get(),
+                tally.paidOff.get(), tally.failedChunks.get(), Duration.ofNanos(elapsedNanos).toMillis());
+        runTimer.record(Duration.ofNanos(elapsedNanos));
+        paidCounter.increment(result.getPaidDebts());
+        paidOffCounter.increment(result.getPaidOffDebts());
+        failedChunkCounter.increment(result.getFailedChunks());
+        lastDebtsPerSecond = result.getDebtsPerSecond();
+        if (!dueDebts.isEmpty()) {
+            log.info("Auto-pay {}: {} dari {} utang dibayar ({} lunas, {} user, {} worker, {} chunk gagal) "
+                    + "dalam {} ms, {} utang/detik", today, result.getPaidDebts(), result.getDueDebts(),
+                    result.getPaidOffDebts(), users, partitions.size(), result.getFailedChunks(),
+                    result.getDurationMillis(), Math.round(result.getDebtsPerSecond()));
+        }
+        return result;
+    }
+
+    // Chunk dipotong di batas user, supaya satu user tetap mendapat satu penyesuaian Cash per run
+    private void payPartition(SortedMap<Long, List<Long>> debtsByUser, LocalDate today, Tally tally) {
+        List<Long> chunk = new ArrayList<>(chunkSize);
+        for (List<Long> debtIds : debtsByUser.values()) {
+            chunk.addAll(debtIds);
+            if (chunk.size() >= chunkSize) {
+                payChunk(chunk, today, tally);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            payChunk(chunk, today, tally);
+        }
+    }
+
+    private void payChunk(List<Long> debtIds, LocalDate today, Tally tally) {
+        try {
+            List<PaidInstallment> paid = debtService.payDueInstallments(debtIds, today);
+            tally.paid.addAndGet(paid.size());
+            tally.paidOff.addAndGet((int) paid.stream().filter(p -> p.status() == DebtStatus.PAID).count());
+        } catch (RuntimeException e) {
+            tally.failedChunks.incrementAndGet();
+            log.warn("Auto-pay untuk {} utang gagal dan di-rollback", debtIds.size(), e);
+        }
+    }
+
+    private static final class Tally {
+        private final AtomicInteger paid = new AtomicInteger();
+        private final AtomicInteger paidOff = new AtomicInteger();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+    }
+}
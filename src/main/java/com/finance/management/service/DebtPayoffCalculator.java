@@ -0,0 +1,148 @@
+package com.finance.management.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import com.finance.management.dto.AmortizationSchedule;
+import com.finance.management.dto.DebtTerms;
+import com.finance.management.model.PayoffStrategy;
+
+/**
+ * Simulasi pelunasan utang bulan per bulan dengan aritmetika long dalam sen. Setiap bulan bunga
+ * (bunga tahunan / 12, dibulatkan ke sen terdekat) ditambahkan ke sisa utang, lalu cicilan dibayar.
+ * Semua penjumlahan memakai Math.*Exact supaya overflow gagal keras, bukan menghasilkan angka salah.
+ */
+final class DebtPayoffCalculator {
+
+    // Batas simulasi: 50 tahun
+    static final int MAX_MONTHS = 600;
+
+    // Utang yang terus membengkak berhenti disimulasikan di sini (100x batas DECIMAL(15,2)), jauh sebelum
+    // bunga 600 bulan bisa membuat long overflow
+    static final long BALANCE_LIMIT = 100_000_000_000_000_000L;
+
+    private static final long MONTHLY_RATE_DIVISOR = 12 * 10_000L;
+
+    private DebtPayoffCalculator() {
+    }
+
+    /**
+     * Bunga satu bulan: balance * bp / 120000, dibulatkan ke atas dari setengah. Dihitung terpisah
+     * untuk hasil bagi dan sisa bagi supaya tidak overflow pada saldo DECIMAL(15,2) dengan bunga 99,99%.
+     */
+    static long monthlyInterest(long balance, int annualRateBasisPoints) {
+        long quotient = balance / MONTHLY_RATE_DIVISOR;
+        long remainder = balance % MONTHLY_RATE_DIVISOR;
+        return Math.addExact(Math.multiplyExact(quotient, annualRateBasisPoints),
+                (remainder * annualRateBasisPoints + MONTHLY_RATE_DIVISOR / 2) / MONTHLY_RATE_DIVISOR);
+    }
+
+    static AmortizationSchedule schedule(DebtTerms terms) {
+        long[] balances = new long[16];
+        int months = 0;
+        long balance = terms.getBalance();
+        long totalInterest = 0;
+        while (balance > 0 && months < MAX_MONTHS) {
+            long interest = monthlyInterest(balance, terms.getAnnualRateBasisPoints());
+            // Cicilan yang tidak melebihi bunga tidak akan pernah melunasi utang
+            if (terms.getInstallment() <= interest) {
+                break;
+            }
+            totalInterest = Math.addExact(totalInterest, interest);
+            balance = Math.max(0, Math.addExact(balance, interest) - terms.getInstallment());
+            if (months == balances.length) {
+                balances = Arrays.copyOf(balances, months * 2);
+            }
+            balances[months++] = balance;
+        }
+        return new AmortizationSchedule(Arrays.copyOf(balances, months), totalInterest, balance == 0);
+    }
+
+    /**
+     * Simulasi semua utang sekaligus. Hasil: payoffMonths[i] (1-based, -1 jika tidak lunas) dan
+     * interestPaid[i] untuk utang ke-i, dengan urutan sama seperti masukan.
+     */
+    static Result simulate(DebtTerms[] debts, PayoffStrategy strategy, long extraPayment) {
+        int count = debts.length;
+        long[] balances = new long[count];
+        int[] payoffMonths = new int[count];
+        long[] interestPaid = new long[count];
+        long totalInstallments = 0;
+        int open = 0;
+        for (int i = 0; i < count; i++) {
+            balances[i] = debts[i].getBalance();
+            totalInstallments = Math.addExact(totalInstallments, debts[i].getInstallment());
+            if (balances[i] > 0) {
+                payoffMonths[i] = -1;
+                open++;
+            }
+        }
+        int[] priority = priority(debts, strategy);
+        boolean rollover = strategy != PayoffStrategy.MINIMUM;
+
+        long[] previous = new long[count];
+        for (int month = 1; open > 0 && month <= MAX_MONTHS; month++) {
+            System.arraycopy(balances, 0, previous, 0, count);
+            for (int i = 0; i < count; i++) {
+                if (balances[i] > 0) {
+                    long interest = monthlyInterest(balances[i], debts[i].getAnnualRateBasisPoints());
+                    balances[i] = Math.addExact(balances[i], interest);
+                    interestPaid[i] = Math.addExact(interestPaid[i], interest);
+                }
+            }
+
+            // Cicilan utang yang sudah lunas ikut dialihkan pada strategi rollover
+            long available = rollover ? Math.addExact(totalInstallments, extraPayment) : extraPayment;
+            for (int i = 0; i < count; i++) {
+                if (balances[i] > 0) {
+                    long payment = Math.min(debts[i].getInstallment(), balances[i]);
+                    balances[i] -= payment;
+                    if (rollover) {
+                        available -= payment;
+                    }
+                }
+            }
+            for (int i : priority) {
+                if (available == 0) {
+                    break;
+                }
+                long payment = Math.min(available, balances[i]);
+                balances[i] -= payment;
+                available -= payment;
+            }
+
+            // Pembayaran per bulan tetap sementara bunga ikut sisa utang: jika tidak ada utang yang
+            // berkurang bulan ini, bulan berikutnya juga tidak
+            boolean progress = false;
+            boolean runaway = false;
+            for (int i = 0; i < count; i++) {
+                if (balances[i] == 0 && payoffMonths[i] < 0) {
+                    payoffMonths[i] = month;
+                    open--;
+                }
+                progress |= balances[i] < previous[i];
+                runaway |= balances[i] > BALANCE_LIMIT;
+            }
+            if (!progress || runaway) {
+                break;
+            }
+        }
+        return new Result(payoffMonths, interestPaid);
+    }
+
+    // AVALANCHE: bunga tertinggi dulu; SNOWBALL: sisa terkecil dulu; MINIMUM: urutan masukan (utang tertua)
+    private static int[] priority(DebtTerms[] debts, PayoffStrategy strategy) {
+        Comparator<Integer> order = switch (strategy) {
+            case AVALANCHE -> Comparator.<Integer>comparingInt(i -> -debts[i].getAnnualRateBasisPoints())
+                    .thenComparingLong(i -> debts[i].getBalance());
+            case SNOWBALL -> Comparator.<Integer>comparingLong(i -> debts[i].getBalance())
+                    .thenComparingInt(i -> -debts[i].getAnnualRateBasisPoints());
+            case MINIMUM -> Comparator.naturalOrder();
+        };
+        return IntStream.range(0, debts.length).boxed().sorted(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    record Result(int[] payoffMonths, long[] interestPaid) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.finance.management.service;
+
+import com.finance.management.config.CacheConfig;
+import com.finance.management.dto.AmortizationSchedule;
+import com.finance.management.dto.DebtPayoffPlan;
+import com.finance.management.dto.DebtTerms;
+import com.finance.management.model.Debt;
+import com.finance.management.model.DebtStatus;
+import com.finance.management.model.Money;
+import com.finance.management.model.PayoffStrategy;
+import com.finance.management.repository.DebtRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Proyeksi pelunasan utang. Jadwal per utang di-cache dengan kunci DebtTerms (sisa, cicilan, bunga),
+ * sehingga pembayaran atau perubahan utang otomatis memakai kunci baru. Proyeksi gabungan per strategi
+ * di-cache per user dan dipakai ulang selama versi data user dan bulan berjalannya sama.
+ */
+@Service
+public class DebtPayoffService {
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public AmortizationSchedule getSchedule(Debt debt) {
+        DebtTerms terms = termsOf(debt);
+        return cacheManager.getCache(CacheConfig.DEBT_SCHEDULES)
+                .get(terms, () -> DebtPayoffCalculator.schedule(terms));
+    }
+
+    /**
+     * Perkiraan bulan lunas untuk utang ACTIVE jika hanya dibayar cicilannya. Utang yang tidak akan
+     * lunas (cicilan kosong atau tidak menutup bunga) tidak ada di map.
+     */
+    public Map<Long, YearMonth> getPayoffMonths(Collection<Debt> debts) {
+        YearMonth firstMonth = YearMonth.now().plusMonths(1);
+        Map<Long, YearMonth> payoffMonths = new HashMap<>();
+        for (Debt debt : debts) {
+            if (debt.getStatus() == DebtStatus.ACTIVE) {
+                AmortizationSchedule schedule = getSchedule(debt);
+                if (schedule.isPaidOff()) {
+                    payoffMonths.put(debt.getId(), firstMonth.plusMonths(schedule.getMonths() - 1L));
+                }
+            }
+        }
+        return payoffMonths;
+    }
+
+    /**
+     * Proyeksi untuk setiap strategi dengan pembayaran tambahan yang sama. Versi dibaca sekali dan
+     * daftar utang hanya dimuat jika ada strategi yang belum ada di cache.
+     */
+    public List<DebtPayoffPlan> comparePlans(Long userId, BigDecimal extraPayment) {
+        long version = userDataVersionService.getVersion(userId);
+        List<List<Debt>> debts = new ArrayList<>(1);
+        return Arrays.stream(PayoffStrategy.values())
+                .map(strategy -> getPlan(userId, strategy, extraPayment, version, () -> {
+                    if (debts.isEmpty()) {
+                        debts.add(loadActiveDebts(userId));
+                    }
+                    return debts.get(0);
+                }))
+                .toList();
+    }
+
+    /**
+     * Proyeksi pelunasan semua utang ACTIVE user dengan strategi dan pembayaran tambahan per bulan.
+     * Versi dibaca sebelum daftar utang, sama seperti snapshot kesehatan, sehingga hasil yang dihitung
+     * bersamaan dengan penulisan tidak pernah tersimpan dengan versi yang lebih baru.
+     */
+    public DebtPayoffPlan getPlan(Long userId, PayoffStrategy strategy, BigDecimal extraPayment) {
+        long version = userDataVersionService.getVersion(userId);
+        return getPlan(userId, strategy, extraPayment, version, () -> loadActiveDebts(userId));
+    }
+
+    private DebtPayoffPlan getPlan(Long userId, PayoffStrategy strategy, BigDecimal extraPayment, long version,
+            Supplier<List<Debt>> debts) {
+        YearMonth firstMonth = YearMonth.now().plusMonths(1);
+        long extra = minorUnits(extraPayment);
+        if (extra < 0) {
+            throw new IllegalArgumentException("Pembayaran tambahan tidak boleh negatif.");
+        }
+
+        PlanKey key = new PlanKey(userId, strategy, extra);
+        Cache cache = cacheManager.getCache(CacheConfig.DEBT_PAYOFF_PLANS);
+        DebtPayoffPlan cached = cache.get(key, DebtPayoffPlan.class);
+        if (cached != null && cached.getVersion() == version && cached.getFirstMonth().equals(firstMonth)) {
+            return cached;
+        }
+
+        DebtPayoffPlan plan = computePlan(debts.get(), strategy, extra, version, firstMonth);
+        cache.put(key, plan);
+        return plan;
+    }
+
+    private List<Debt> loadActiveDebts(Long userId) {
+        return debtRepository.findByUserId(userId).stream()
+                .filter(debt -> debt.getStatus() == DebtStatus.ACTIVE && minorUnits(debt.getRemainingAmount()) > 0)
+                .sorted(Comparator.comparing(Debt::getId))
+                .toList();
+    }
+
+    private DebtPayoffPlan computePlan(List<Debt> debts, PayoffStrategy strategy, long extra, long version,
+            YearMonth firstMonth) {
+        int[] payoffMonths = new int[debts.size()];
+        long[] interestPaid = new long[debts.size()];
+        if (strategy == PayoffStrategy.MINIMUM && extra == 0) {
+            // Tanpa pengalihan cicilan, setiap utang berdiri sendiri: pakai jadwal per utang dari cache
+            for (int i = 0; i < debts.size(); i++) {
+                AmortizationSchedule schedule = getSchedule(debts.get(i));
+                payoffMonths[i] = schedule.getMonths();
+                interestPaid[i] = schedule.getTotalInterest();
+            }
+        } else {
+            DebtPayoffCalculator.Result result = DebtPayoffCalculator.simulate(
+                    debts.stream().map(DebtPayoffService::termsOf).toArray(DebtTerms[]::new), strategy, extra);
+            payoffMonths = result.payoffMonths();
+            interestPaid = result.interestPaid();
+        }
+
+        List<DebtPayoffPlan.DebtPayoff> payoffs = new ArrayList<>(debts.size());
+        int months = 0;
+        for (int i = 0; i < debts.size(); i++) {
+            Debt debt = debts.get(i);
+            int debtMonths = payoffMonths[i];
+            months = months < 0 || debtMonths < 0 ? -1 : Math.max(months, debtMonths);
+            payoffs.add(new DebtPayoffPlan.DebtPayoff(debt.getId(), debt.getLenderName(), debtMonths,
+                    debtMonths < 0 ? null : firstMonth.plusMonths(debtMonths - 1L),
+                    Money.ofMinor(interestPaid[i]).toBigDecimal()));
+        }
+        Money totalInterest = Money.sumMinor(payoffs, payoff -> Money.toMinorUnits(payoff.getInterestPaid()));
+        return new DebtPayoffPlan(version, strategy, Money.ofMinor(extra).toBigDecimal(), firstMonth, months,
+                totalInterest.toBigDecimal(), payoffs);
+    }
+
+    static DebtTerms termsOf(Debt debt) {
+        BigDecimal rate = debt.getAnnualInterestRate();
+        int basisPoints = rate == null ? 0 : rate.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+        return new DebtTerms(minorUnits(debt.getRemainingAmount()), minorUnits(debt.getMonthlyInstallment()),
+                basisPoints);
+    }
+
+    private static long minorUnits(BigDecimal amount) {
+        return amount == null ? 0 : Money.toMinorUnits(amount);
+    }
+
+    private record PlanKey(Long userId, PayoffStrategy strategy, long extraPayment) {
+    }
+}
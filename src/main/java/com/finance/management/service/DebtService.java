@@ -1,28 +1,38 @@
 package com.finance.management.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finance.management.dto.CursorPage;
 import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.KeysetCursor;
+import com.finance.management.event.DebtPaymentMade;
+import com.finance.management.event.LedgerEntry;
 import com.finance.management.model.Debt;
 import com.finance.management.model.DebtStatus;
+import com.finance.management.model.Money;
 import com.finance.management.model.Transaction;
 import com.finance.management.model.TransactionType;
-import com.finance.management.model.User;
+import com.finance.management.repository.DebtAutoPayRepository;
+import com.finance.management.repository.DebtAutoPayRepository.DueInstallment;
+import com.finance.management.repository.DebtAutoPayRepository.PaidInstallment;
 import com.finance.management.repository.DebtRepository;
+import com.finance.management.repository.DebtTotals;
 import com.finance.management.repository.UserRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,19 +40,41 @@ public class DebtService {
     @Autowired
     private DebtRepository debtRepository;
 
+    @Autowired
+    private DebtAutoPayRepository debtAutoPayRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
-    public void makePayment(Long debtId, BigDecimal paymentAmount, String username) {
+    public void makePayment(Long debtId, BigDecimal paymentAmount, Long userId) {
+        makePayment(debtId, paymentAmount, userId, LocalDate.now());
+    }
+
+    /**
+     * Pembayaran manual sebesar minimal satu cicilan pada atau setelah tanggal jatuh tempo bulan ini
+     * dihitung sebagai cicilan bulan ini: last_auto_paid_on ikut dicap, sehingga auto-pay tidak menagih
+     * lagi di bulan yang sama. Pembayaran sebagian atau sebelum jatuh tempo tidak membatalkan cicilan
+     * otomatis. Baris utang dikunci selama transaksi, sehingga
+     * pembayaran ini dan payDueInstallments yang berjalan bersamaan tidak saling menimpa sisa utang.
+     */
+    @Transactional
+    public void makePayment(Long debtId, BigDecimal paymentAmount, Long userId, LocalDate today) {
         if (paymentAmount == null || paymentAmount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Jumlah pembayaran harus lebih dari nol.");
         }
 
-        Debt debt = getDebtByIdAndUsername(debtId, username);
+        Debt debt = debtRepository.findByIdAndUserIdForUpdate(debtId, userId)
+                .orElseThrow(() -> new RuntimeException("Utang tidak ditemukan dengan ID: " + debtId));
 
         BigDecimal newRemainingAmount = debt.getRemainingAmount().subtract(paymentAmount);
         debt.setRemainingAmount(newRemainingAmount);
@@ -51,70 +83,154 @@ public class DebtService {
             debt.setRemainingAmount(BigDecimal.ZERO);
             debt.setStatus(DebtStatus.PAID);
         }
+        if (coversInstallment(debt, paymentAmount) && isDueDayReached(debt, today)) {
+            debt.setLastAutoPaidOn(today);
+        }
 
         debtRepository.save(debt);
 
+        Transaction paymentTransaction = paymentTransaction(paymentAmount,
+                "Pembayaran untuk utang kepada: " + debt.getLenderName(), today);
+
+        transactionService.recordTransaction(paymentTransaction, userId);
+        userDataVersionService.bump(userId);
+        eventPublisher.publishEvent(new DebtPaymentMade(userId, debtId, paymentAmount, debt.getRemainingAmount(),
+                LedgerEntry.of(paymentTransaction)));
+    }
+
+    /**
+     * Membayar cicilan bulanan sekumpulan utang auto-pay (boleh milik banyak user) dalam satu transaksi
+     * database: baris utang dikunci, sisa utang dan status PAID ditulis dengan satu batch UPDATE, transaksi
+     * "Pembayaran Utang" dengan satu batch INSERT, lalu per user satu penyesuaian Cash dan satu kenaikan
+     * versi, dan per utang satu event DebtPaymentMade seperti makePayment.
+     *
+     * Utang yang belum jatuh tempo, sudah dibayar bulan ini (otomatis, atau lewat makePayment sebesar
+     * cicilan setelah jatuh tempo), tidak lagi ACTIVE, atau tanpa cicilan dilewati.
+     */
+    @Transactional
+    public List<PaidInstallment> payDueInstallments(Collection<Long> debtIds, LocalDate today) {
+        List<DueInstallment> dueInstallments = debtAutoPayRepository.lockDue(debtIds, today);
+        List<PaidInstallment> paid = new ArrayList<>(dueInstallments.size());
+        Map<Long, List<Transaction>> paymentsByUser = new LinkedHashMap<>();
+        List<DebtPaymentMade> events = new ArrayList<>(dueInstallments.size());
+        for (DueInstallment due : dueInstallments) {
+            long remaining = Money.toMinorUnits(due.remainingAmount());
+            long installment = due.monthlyInstallment() == null ? 0 : Money.toMinorUnits(due.monthlyInstallment());
+            // Sisa yang lebih kecil dari cicilan dibayar sebesar sisanya
+            long amount = Math.min(remaining, installment);
+            if (amount <= 0) {
+                continue;
+            }
+            long left = Math.subtractExact(remaining, amount);
+            BigDecimal paymentAmount = Money.ofMinor(amount).toBigDecimal();
+            BigDecimal remainingAmount = Money.ofMinor(left).toBigDecimal();
+            paid.add(new PaidInstallment(due.debtId(), remainingAmount,
+                    left == 0 ? DebtStatus.PAID : DebtStatus.ACTIVE));
+
+            Transaction paymentTransaction = paymentTransaction(paymentAmount,
+                    "Pembayaran otomatis untuk utang kepada: " + due.lenderName(), today);
+            paymentsByUser.computeIfAbsent(due.userId(), key -> new ArrayList<>()).add(paymentTransaction);
+            events.add(new DebtPaymentMade(due.userId(), due.debtId(), paymentAmount, remainingAmount,
+                    LedgerEntry.of(paymentTransaction)));
+        }
+        if (paid.isEmpty()) {
+            return paid;
+        }
+
+        debtAutoPayRepository.updatePaid(paid, today);
+        transactionService.recordTransactions(paymentsByUser);
+        paymentsByUser.keySet().forEach(userDataVersionService::bump);
+        events.forEach(eventPublisher::publishEvent);
+        return paid;
+    }
+
+    // Tanggal 29-31 jatuh tempo di hari terakhir bulan yang lebih pendek, sama seperti DebtAutoPayService
+    private static boolean isDueDayReached(Debt debt, LocalDate today) {
+        Integer dueDay = debt.getDueDayOfMonth();
+        return dueDay != null && Math.min(dueDay, today.lengthOfMonth()) <= today.getDayOfMonth();
+    }
+
+    private static boolean coversInstallment(Debt debt, BigDecimal paymentAmount) {
+        BigDecimal installment = debt.getMonthlyInstallment();
+        return installment != null && paymentAmount.compareTo(installment) >= 0;
+    }
+
+    private static Transaction paymentTransaction(BigDecimal amount, String description, LocalDate date) {
         Transaction paymentTransaction = new Transaction();
-        paymentTransaction.setAmount(paymentAmount);
+        paymentTransaction.setAmount(amount);
         paymentTransaction.setCategory("Pembayaran Utang");
-        paymentTransaction.setDescription("Pembayaran untuk utang kepada: " + debt.getLenderName());
+        paymentTransaction.setDescription(description);
         paymentTransaction.setType(TransactionType.EXPENSE);
-        paymentTransaction.setTransactionDate(LocalDate.now());
-
-        transactionService.createTransaction(paymentTransaction, username);
+        paymentTransaction.setTransactionDate(date);
+        return paymentTransaction;
     }
 
     @Transactional
-    public Debt createDebt(DebtDto debtDto, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
+    public Debt createDebt(DebtDto debtDto, Long userId) {
+        return createDebt(debtDto, userId, LocalDate.now());
+    }
 
+    /**
+     * Utang auto-pay yang dibuat pada atau setelah tanggal jatuh tempo bulan ini baru ditagih bulan depan.
+     */
+    @Transactional
+    public Debt createDebt(DebtDto debtDto, Long userId, LocalDate today) {
         // 1. Buat objek Debt (entity) yang baru dan kosong
         Debt newDebt = new Debt();
 
         // 2. Pindahkan semua data dari DTO ke Entity
-        newDebt.setUser(user);
+        newDebt.setUser(userRepository.getReferenceById(userId));
         newDebt.setLenderName(debtDto.getLenderName());
         newDebt.setInitialAmount(debtDto.getInitialAmount());
         newDebt.setDueDate(debtDto.getDueDate());
         // ===== MEMINDAHKAN DATA BARU =====
         newDebt.setMonthlyInstallment(debtDto.getMonthlyInstallment());
         newDebt.setDueDayOfMonth(debtDto.getDueDayOfMonth());
+        newDebt.setAnnualInterestRate(debtDto.getAnnualInterestRate());
+        newDebt.setAutoPay(debtDto.isAutoPay());
 
         // 3. Terapkan logika bisnis
         newDebt.setRemainingAmount(debtDto.getInitialAmount());
         newDebt.setStatus(DebtStatus.ACTIVE);
+        if (newDebt.isAutoPay() && isDueDayReached(newDebt, today)) {
+            newDebt.setLastAutoPaidOn(today);
+        }
 
         // 4. Simpan objek ENTITY (Debt) yang sudah lengkap ke database
-        return debtRepository.save(newDebt);
+        Debt savedDebt = debtRepository.save(newDebt);
+        userDataVersionService.bump(userId);
+        return savedDebt;
     }
 
-    public List<Debt> getDebtsForUser(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-        return debtRepository.findByUserId(user.getId());
+    public List<Debt> getDebtsForUser(Long userId) {
+        return debtRepository.findByUserId(userId);
     }
 
-    public List<Debt> getDebtsByStatus(String username, DebtStatus status) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return debtRepository.findByUserId(user.getId()).stream()
+    public List<Debt> getDebtsByStatus(Long userId, DebtStatus status) {
+        return debtRepository.findByUserId(userId).stream()
                 .filter(debt -> debt.getStatus() == status)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public Debt getDebtByIdAndUsername(Long id, String username) {
-        Debt debt = debtRepository.findById(id)
+    public Debt getDebtByIdAndUserId(Long id, Long userId) {
+        // Utang milik user lain diperlakukan sama dengan yang tidak ada
+        return debtRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Utang tidak ditemukan dengan ID: " + id));
-        if (!debt.getUser().getUsername().equals(username)) {
-            throw new AccessDeniedException("Anda tidak memiliki izin untuk mengakses utang ini.");
-        }
-        return debt;
     }
 
     @Transactional
-    public void updateDebt(Long id, Debt updatedDebtData, String username) {
-        Debt existingDebt = getDebtByIdAndUsername(id, username);
+    public void updateDebt(Long id, Debt updatedDebtData, Long userId) {
+        updateDebt(id, updatedDebtData, userId, LocalDate.now());
+    }
+
+    /**
+     * Auto-pay yang baru dicentang pada atau setelah tanggal jatuh tempo bulan ini mulai menagih bulan depan.
+     */
+    @Transactional
+    public void updateDebt(Long id, Debt updatedDebtData, Long userId, LocalDate today) {
+        Debt existingDebt = getDebtByIdAndUserId(id, userId);
+        boolean autoPayEnabled = !existingDebt.isAutoPay() && updatedDebtData.isAutoPay();
 
         existingDebt.setLenderName(updatedDebtData.getLenderName());
         existingDebt.setInitialAmount(updatedDebtData.getInitialAmount());
@@ -123,67 +239,61 @@ public class DebtService {
         existingDebt.setStatus(updatedDebtData.getStatus());
         existingDebt.setMonthlyInstallment(updatedDebtData.getMonthlyInstallment());
         existingDebt.setDueDayOfMonth(updatedDebtData.getDueDayOfMonth());
+        existingDebt.setAnnualInterestRate(updatedDebtData.getAnnualInterestRate());
+        existingDebt.setAutoPay(updatedDebtData.isAutoPay());
+        if (autoPayEnabled && isDueDayReached(existingDebt, today)) {
+            existingDebt.setLastAutoPaidOn(today);
+        }
 
         debtRepository.save(existingDebt);
+        userDataVersionService.bump(userId);
     }
 
-    public BigDecimal getTotalRemainingDebt(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-
-        return debtRepository.findByUserId(user.getId()).stream()
-                .map(Debt::getRemainingAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getTotalRemainingDebt(Long userId) {
+        return getDebtTotals(userId).getTotalRemaining();
     }
 
-    public void deleteDebt(Long id, String username) {
-        Debt debt = debtRepository.findById(id).orElseThrow();
-        if (!debt.getUser().getUsername().equals(username))
-            throw new AccessDeniedException("Access denied");
-        debtRepository.delete(debt);
+    public BigDecimal getTotalMonthlyInstallment(Long userId) {
+        // Hanya utang ACTIVE yang dihitung, cicilan null diabaikan oleh SUM
+        return getDebtTotals(userId).getTotalMonthlyInstallment();
     }
 
-    public Page<Debt> findPaginatedByFilter(String username, int year, int month, DebtStatus status, int pageNo,
-            int pageSize) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize, Sort.by("dueDate").descending());
-
-        boolean isMonthFilterActive = (month != 0);
-        boolean isYearFilterActive = (year != 0);
-        boolean isStatusFilterActive = (status != null);
+    /**
+     * Sisa utang dan total cicilan bulanan (utang ACTIVE) dalam satu query.
+     */
+    public DebtTotals getDebtTotals(Long userId) {
+        return debtRepository.sumTotalsByUserId(userId, DebtStatus.ACTIVE);
+    }
 
-        // Logika untuk menangani filter "Semua"
-        if (isMonthFilterActive && isYearFilterActive) {
-            YearMonth yearMonth = YearMonth.of(year, month);
-            LocalDate startDate = yearMonth.atDay(1);
-            LocalDate endDate = yearMonth.atEndOfMonth();
-            if (isStatusFilterActive) {
-                return debtRepository.findByUserIdAndStatusAndDueDateBetween(user.getId(), status, startDate, endDate,
-                        pageable);
-            } else {
-                return debtRepository.findByUserIdAndDueDateBetween(user.getId(), startDate, endDate, pageable);
-            }
-        } else { // Jika bulan atau tahun adalah "Semua"
-            if (isStatusFilterActive) {
-                return debtRepository.findByUserIdAndStatus(user.getId(), status, pageable);
-            } else {
-                return debtRepository.findByUserId(user.getId(), pageable);
-            }
+    @Transactional
+    public void deleteDebt(Long id, Long userId) {
+        if (debtRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new RuntimeException("Utang tidak ditemukan dengan ID: " + id);
         }
+        userDataVersionService.bump(userId);
     }
 
-        public BigDecimal getTotalMonthlyInstallment(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
+    /**
+     * Daftar utang dengan keyset pagination pada (due_date, id). Bulan atau tahun 0 berarti "Semua",
+     * dan hanya pada mode itu utang tanpa jatuh tempo ikut tampil (di akhir daftar).
+     */
+    public CursorPage<Debt> findSliceByFilter(Long userId, int year, int month, DebtStatus status, String cursor,
+            int pageSize) {
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        if (month != 0 && year != 0) {
+            YearMonth yearMonth = YearMonth.of(year, month);
+            startDate = yearMonth.atDay(1);
+            endDate = yearMonth.atEndOfMonth();
+        }
 
-        return debtRepository.findByUserId(user.getId()).stream()
-                // Filter hanya utang yang statusnya ACTIVE
-                .filter(debt -> debt.getStatus() == DebtStatus.ACTIVE)
-                // Ambil nilai cicilan bulanannya
-                .map(Debt::getMonthlyInstallment)
-                // Saring jika ada nilai yang null
-                .filter(Objects::nonNull)
-                // Jumlahkan semuanya
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Utang tanpa jatuh tempo hanya tampil di mode "Semua", jadi hanya di sana cursor boleh tanpa tanggal
+        KeysetCursor after = KeysetCursor.decode(cursor, startDate == null);
+        Pageable pageable = PageRequest.ofSize(pageSize);
+        Slice<Debt> slice = after.getDate() == null
+                ? debtRepository.findSliceWithoutDueDate(userId, status, after.getId(), pageable)
+                : debtRepository.findSliceAfterDueDate(userId, status, startDate, endDate, after.getDate(),
+                        after.getId(), pageable);
+        return CursorPage.of(slice, debt -> new KeysetCursor(debt.getDueDate(), debt.getId()));
     }
 }
@@ -1,26 +1,41 @@
 package com.finance.management.service;
 
+import com.finance.management.config.CacheConfig;
 import com.finance.management.dto.HealthMetric;
+import com.finance.management.dto.HealthSnapshot;
 import com.finance.management.dto.RecommendationDto;
+import com.finance.management.dto.UserSnapshot;
 import com.finance.management.model.RiskProfile;
-import com.finance.management.model.User;
-import com.finance.management.repository.UserRepository;
+import com.finance.management.model.TransactionType;
+import com.finance.management.repository.CategoryTotal;
+import com.finance.management.repository.DebtTotals;
+import com.finance.management.repository.RollupTypeTotal;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class FinancialHealthService {
 
+    // Ambang batas rasio, dibuat sekali
+    private static final BigDecimal HEALTHY_DEBT_RATIO = new BigDecimal("0.4");
+    private static final BigDecimal RISKY_DEBT_RATIO = new BigDecimal("0.6");
+    private static final BigDecimal GOOD_SAVINGS_RATE = new BigDecimal("0.2");
+    private static final BigDecimal MINIMUM_SAVINGS_RATE = new BigDecimal("0.1");
+    private static final BigDecimal DOMINANT_CATEGORY_PERCENT = BigDecimal.valueOf(35);
+
     @Autowired
-    private TransactionService transactionService;
+    private MonthlyRollupService monthlyRollupService;
 
     @Autowired
     private AssetService assetService;
@@ -29,13 +44,80 @@ public class FinancialHealthService {
     private DebtService debtService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public HealthSnapshot getHealthSnapshot(Long userId) {
+        return getHealthSnapshot(userId, YearMonth.now());
+    }
+
+    /**
+     * Snapshot kesehatan keuangan user untuk bulan tertentu. Hasilnya di-cache per user dan dipakai
+     * ulang selama versi data user (lihat UserDataVersionService) dan bulannya sama; cek versinya
+     * hanya satu lookup primary key. Versi dibaca sebelum query lain, sehingga snapshot yang ikut
+     * membaca data dari penulisan yang bersamaan hanya akan dihitung ulang, tidak pernah basi.
+     */
+    public HealthSnapshot getHealthSnapshot(Long userId, YearMonth yearMonth) {
+        long version = userDataVersionService.getVersion(userId);
+        Cache cache = cacheManager.getCache(CacheConfig.HEALTH_SNAPSHOTS);
+        HealthSnapshot cached = cache.get(userId, HealthSnapshot.class);
+        if (cached != null && cached.getVersion() == version && cached.getYearMonth().equals(yearMonth)) {
+            return cached;
+        }
+
+        HealthSnapshot snapshot = computeHealthSnapshot(userId, yearMonth, version);
+        cache.put(userId, snapshot);
+        return snapshot;
+    }
+
+    private HealthSnapshot computeHealthSnapshot(Long userId, YearMonth yearMonth, long version) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        BigDecimal incomeThisMonth = BigDecimal.ZERO;
+        BigDecimal expenseThisMonth = BigDecimal.ZERO;
+        for (RollupTypeTotal row : monthlyRollupService.getTotalsByType(userId, yearMonth)) {
+            if (row.getType() == TransactionType.INCOME) {
+                totalIncome = row.getTotal();
+                incomeThisMonth = row.getMonthTotal();
+            } else if (row.getType() == TransactionType.EXPENSE) {
+                totalExpense = row.getTotal();
+                expenseThisMonth = row.getMonthTotal();
+            }
+        }
+        BigDecimal totalAssets = Objects.requireNonNullElse(assetService.getTotalAssetValue(userId), BigDecimal.ZERO);
+        DebtTotals debtTotals = debtService.getDebtTotals(userId);
+        BigDecimal totalDebt = Objects.requireNonNullElse(debtTotals.getTotalRemaining(), BigDecimal.ZERO);
+        Optional<CategoryTotal> topExpense = monthlyRollupService.getTopCategory(userId, yearMonth,
+                TransactionType.EXPENSE);
+
+        return HealthSnapshot.builder()
+                .version(version)
+                .yearMonth(yearMonth)
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .incomeThisMonth(incomeThisMonth)
+                .expenseThisMonth(expenseThisMonth)
+                .totalAssets(totalAssets)
+                .totalDebt(totalDebt)
+                .totalMonthlyInstallment(
+                        Objects.requireNonNullElse(debtTotals.getTotalMonthlyInstallment(), BigDecimal.ZERO))
+                .savingsRate(evaluateSavingsRate(totalIncome, totalExpense))
+                .debtToAssetRatio(evaluateDebtToAssetRatio(totalAssets, totalDebt))
+                .topExpenseCategory(topExpense.map(CategoryTotal::getCategory).orElse(null))
+                .topExpenseAmount(topExpense.map(CategoryTotal::getTotal).orElse(BigDecimal.ZERO))
+                .build();
+    }
 
-    public HealthMetric calculateDebtToAssetRatio(String username) {
-        BigDecimal totalAssets = Objects.requireNonNullElse(assetService.getTotalAssetValue(username), BigDecimal.ZERO);
-        BigDecimal totalDebts = Objects.requireNonNullElse(debtService.getTotalRemainingDebt(username),
-                BigDecimal.ZERO);
+    public HealthMetric calculateDebtToAssetRatio(Long userId) {
+        return getHealthSnapshot(userId).getDebtToAssetRatio();
+    }
 
+    public HealthMetric evaluateDebtToAssetRatio(BigDecimal totalAssets, BigDecimal totalDebts) {
         if (totalAssets.compareTo(BigDecimal.ZERO) == 0) {
             return totalDebts.compareTo(BigDecimal.ZERO) == 0 ? new HealthMetric(BigDecimal.ZERO, "Sehat", "bg-success")
                     : new HealthMetric(BigDecimal.ONE, "Berisiko", "bg-danger");
@@ -43,21 +125,20 @@ public class FinancialHealthService {
 
         BigDecimal ratio = totalDebts.divide(totalAssets, 4, RoundingMode.HALF_UP);
 
-        if (ratio.compareTo(new BigDecimal("0.4")) < 0) {
+        if (ratio.compareTo(HEALTHY_DEBT_RATIO) < 0) {
             return new HealthMetric(ratio, "Sehat", "bg-success");
-        } else if (ratio.compareTo(new BigDecimal("0.6")) <= 0) {
+        } else if (ratio.compareTo(RISKY_DEBT_RATIO) <= 0) {
             return new HealthMetric(ratio, "Perlu Perhatian", "bg-warning");
         } else {
             return new HealthMetric(ratio, "Berisiko", "bg-danger");
         }
     }
 
-    public HealthMetric calculateSavingsRate(String username) {
-        BigDecimal totalIncome = Objects.requireNonNullElse(transactionService.getTotalIncome(username),
-                BigDecimal.ZERO);
-        BigDecimal totalExpense = Objects.requireNonNullElse(transactionService.getTotalExpense(username),
-                BigDecimal.ZERO);
+    public HealthMetric calculateSavingsRate(Long userId) {
+        return getHealthSnapshot(userId).getSavingsRate();
+    }
 
+    public HealthMetric evaluateSavingsRate(BigDecimal totalIncome, BigDecimal totalExpense) {
         if (totalIncome.compareTo(BigDecimal.ZERO) == 0) {
             return new HealthMetric(BigDecimal.ZERO, "N/A", "bg-secondary");
         }
@@ -65,9 +146,9 @@ public class FinancialHealthService {
         BigDecimal savings = totalIncome.subtract(totalExpense);
         BigDecimal ratio = savings.divide(totalIncome, 4, RoundingMode.HALF_UP);
 
-        if (ratio.compareTo(new BigDecimal("0.2")) > 0) {
+        if (ratio.compareTo(GOOD_SAVINGS_RATE) > 0) {
             return new HealthMetric(ratio, "Sangat Baik", "bg-success");
-        } else if (ratio.compareTo(new BigDecimal("0.1")) >= 0) {
+        } else if (ratio.compareTo(MINIMUM_SAVINGS_RATE) >= 0) {
             return new HealthMetric(ratio, "Cukup", "bg-warning");
         } else {
             if (ratio.compareTo(BigDecimal.ZERO) < 0) {
@@ -77,14 +158,17 @@ public class FinancialHealthService {
         }
     }
 
-     public List<RecommendationDto> generateDynamicRecommendations(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
+     public List<RecommendationDto> generateDynamicRecommendations(Long userId) {
+        return generateDynamicRecommendations(userId, getHealthSnapshot(userId));
+    }
+
+     public List<RecommendationDto> generateDynamicRecommendations(Long userId, HealthSnapshot snapshot) {
         List<RecommendationDto> recommendations = new ArrayList<>();
 
         // 1. Dapatkan metrik kesehatan dasar
-        HealthMetric savingsRate = calculateSavingsRate(username);
-        HealthMetric debtRatio = calculateDebtToAssetRatio(username);
-        BigDecimal totalExpense = transactionService.getExpenseForCurrentMonth(username);
+        HealthMetric savingsRate = snapshot.getSavingsRate();
+        HealthMetric debtRatio = snapshot.getDebtToAssetRatio();
+        BigDecimal totalExpense = snapshot.getExpenseThisMonth();
 
         // ATURAN 1: Peringatan Pengeluaran Berlebih (Boros)
         if ("Boros".equals(savingsRate.getStatus())) {
@@ -105,27 +189,20 @@ public class FinancialHealthService {
         }
         
         // ATURAN 3: Analisis Kategori Pengeluaran Terbesar
-        if (totalExpense.compareTo(BigDecimal.ZERO) > 0) {
-            Map<String, BigDecimal> expenseSummary = transactionService.getExpenseSummaryForMonth(username, 
-                                                                    java.time.LocalDate.now().getYear(), 
-                                                                    java.time.LocalDate.now().getMonthValue());
-            
-            expenseSummary.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .ifPresent(entry -> {
-                    BigDecimal percentage = entry.getValue().divide(totalExpense, 2, RoundingMode.HALF_UP).multiply(new BigDecimal(100));
-                    if (percentage.compareTo(new BigDecimal(35)) > 0) {
-                        recommendations.add(new RecommendationDto(
-                            "Fokus Penghematan",
-                            "Pengeluaran terbesar Anda bulan ini (" + percentage.intValue() + "%) ada di kategori '" + entry.getKey() + "'. Coba lihat detailnya, mungkin ada yang bisa dihemat.",
-                            "MEDIUM"
-                        ));
-                    }
-                });
+        if (totalExpense.compareTo(BigDecimal.ZERO) > 0 && snapshot.getTopExpenseCategory() != null) {
+            BigDecimal percentage = snapshot.getTopExpenseAmount().divide(totalExpense, 2, RoundingMode.HALF_UP).movePointRight(2);
+            if (percentage.compareTo(DOMINANT_CATEGORY_PERCENT) > 0) {
+                recommendations.add(new RecommendationDto(
+                    "Fokus Penghematan",
+                    "Pengeluaran terbesar Anda bulan ini (" + percentage.intValue() + "%) ada di kategori '" + snapshot.getTopExpenseCategory() + "'. Coba lihat detailnya, mungkin ada yang bisa dihemat.",
+                    "MEDIUM"
+                ));
+            }
         }
 
         // ATURAN 4: Rekomendasi Investasi (jika kondisi keuangan sehat)
         if ("Sangat Baik".equals(savingsRate.getStatus()) && "Sehat".equals(debtRatio.getStatus())) {
+            UserSnapshot user = userService.getById(userId);
             String investmentAdvice = getInvestmentAdvice(user.getRiskProfile());
             recommendations.add(new RecommendationDto(
                 "Peluang Investasi",
@@ -0,0 +1,60 @@
+package com.finance.management.service;
+
+import com.finance.management.event.LedgerEntry;
+import com.finance.management.event.LedgerEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Memproyeksikan event buku besar ke read model monthly_rollup dan user_categories.
+ *
+ * monthly_rollup diperbarui langsung saat event diterbitkan, di transaksi database penulisnya: total
+ * dashboard, laporan dan matriks anggaran selalu sama dengan tabel transactions, dan jika upsert rollup
+ * gagal seluruh penulisan ikut rollback. user_categories hanya dipakai untuk saran kategori, jadi
+ * diperbarui setelah commit di thread executor @Async dengan transaksi database sendiri; event yang
+ * transaksinya rollback tidak pernah sampai ke sana. Hanya jika daftar kategori yang dipakai berubah
+ * (kategori baru, atau pemakaian terakhirnya hilang) versi data user dinaikkan lagi, sehingga halaman yang
+ * sempat di-cache sebelum kategori diperbarui tidak dipakai ulang; penulisan lain tidak membatalkan cache
+ * untuk kedua kalinya.
+ *
+ * Jika proyeksi kategori gagal atau aplikasi berhenti sebelum event diproses, read model dibangun ulang
+ * dari tabel transactions dengan perintah --replay-projections (lihat ProjectionReplayService).
+ */
+@Service
+public class LedgerProjector {
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private UserCategoryService userCategoryService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @EventListener
+    public void projectRollup(LedgerEvent event) {
+        Long userId = event.userId();
+        for (LedgerEntry entry : event.removed()) {
+            monthlyRollupService.subtract(userId, entry);
+        }
+        if (!event.recorded().isEmpty()) {
+            monthlyRollupService.addAll(userId, event.recorded());
+        }
+    }
+
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void projectCategories(LedgerEvent event) {
+        // Penulisnya sudah menaikkan versi data; kenaikan kedua hanya jika saran kategori ikut berubah
+        if (userCategoryService.apply(event.userId(), event.removed(), event.recorded())) {
+            userDataVersionService.bump(event.userId());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.finance.management.service;
+
+import com.finance.management.event.LedgerEntry;
+import com.finance.management.model.Money;
+import com.finance.management.model.TransactionType;
+import com.finance.management.repository.CategoryTotal;
+import com.finance.management.repository.MonthlyRollupRepository;
+import com.finance.management.repository.RollupTypeTotal;
+import com.finance.management.repository.TypeTotal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Read model monthly_rollup: total dan jumlah transaksi per (bulan, tipe, kategori).
+ * Diperbarui oleh LedgerProjector di transaksi database penulis, dan dapat dibangun ulang
+ * dari tabel transactions dengan rebuild (perintah --replay-projections).
+ */
+@Service
+public class MonthlyRollupService {
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Transactional
+    public void add(Long userId, LedgerEntry entry) {
+        applyDelta(userId, entry.type(), entry.category(), entry.transactionDate(), entry.amount(), 1);
+    }
+
+    /**
+     * Versi batch dari add: delta digabung dulu per (bulan, tipe, kategori), sehingga satu upsert
+     * mewakili banyak transaksi sekaligus.
+     */
+    @Transactional
+    public void addAll(Long userId, Collection<LedgerEntry> entries) {
+        // Per kunci: [total dalam sen, jumlah transaksi]; dijumlah di tempat tanpa objek baru per transaksi.
+        // TreeMap: upsert selalu berurutan (seperti UserCategoryService.addAll), supaya dua impor atau chunk
+        // materializer bersamaan untuk user yang sama tidak saling menunggu lock baris rollup (deadlock)
+        Map<RollupKey, long[]> deltas = new TreeMap<>(RollupKey.ORDER);
+        for (LedgerEntry entry : entries) {
+            LocalDate date = entry.transactionDate();
+            RollupKey key = new RollupKey(date.getYear(), date.getMonthValue(), entry.type(), entry.category());
+            long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+            delta[0] = Math.addExact(delta[0], entry.amount().getMinorUnits());
+            delta[1]++;
+        }
+        deltas.forEach((key, delta) -> monthlyRollupRepository.applyDelta(userId, key.year(), key.month(),
+                key.type().name(), key.category(), Money.ofMinor(delta[0]).toBigDecimal(), delta[1]));
+    }
+
+    @Transactional
+    public void subtract(Long userId, LedgerEntry entry) {
+        applyDelta(userId, entry.type(), entry.category(), entry.transactionDate(), entry.amount().negate(), -1);
+    }
+
+    /**
+     * Menghapus rollup user lalu menghitungnya ulang dari tabel transactions.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        monthlyRollupRepository.deleteByUserId(userId);
+        monthlyRollupRepository.rebuildFromTransactions(userId);
+    }
+
+    public BigDecimal getTotal(Long userId, TransactionType type) {
+        return monthlyRollupRepository.sumTotal(userId, type);
+    }
+
+    public BigDecimal getMonthlyTotal(Long userId, YearMonth yearMonth, TransactionType type) {
+        return monthlyRollupRepository.sumMonthlyTotal(userId, type, yearMonth.getYear(), yearMonth.getMonthValue());
+    }
+
+    /**
+     * Total keseluruhan dan total bulan tertentu per tipe transaksi, dalam satu query.
+     */
+    public List<RollupTypeTotal> getTotalsByType(Long userId, YearMonth yearMonth) {
+        return monthlyRollupRepository.sumTotalsByType(userId, yearMonth.getYear(), yearMonth.getMonthValue());
+    }
+
+    /**
+     * Total per tipe transaksi untuk rentang bulan (inklusif).
+     */
+    public List<TypeTotal> getTotalsByType(Long userId, YearMonth from, YearMonth to) {
+        return monthlyRollupRepository.sumByTypeBetween(userId, toPeriod(from), toPeriod(to));
+    }
+
+    /**
+     * Kategori dengan total terbesar untuk tipe dan bulan tertentu.
+     */
+    public Optional<CategoryTotal> getTopCategory(Long userId, YearMonth yearMonth, TransactionType type) {
+        return monthlyRollupRepository.findTopCategories(userId, type, yearMonth.getYear(), yearMonth.getMonthValue(),
+                PageRequest.ofSize(1)).stream().findFirst();
+    }
+
+    private static int toPeriod(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+
+    private record RollupKey(int year, int month, TransactionType type, String category) {
+
+        static final Comparator<RollupKey> ORDER = Comparator.comparingInt(RollupKey::year)
+                .thenComparingInt(RollupKey::month)
+                .thenComparing(RollupKey::type)
+                .thenComparing(RollupKey::category);
+    }
+
+    private void applyDelta(Long userId, TransactionType type, String category, LocalDate date, Money amount,
+            long count) {
+        monthlyRollupRepository.applyDelta(userId, date.getYear(), date.getMonthValue(), type.name(), category,
+                amount.toBigDecimal(), count);
+    }
+}
@@ -0,0 +1,124 @@
+package com.finance.management.service;
+
+import com.finance.management.dto.NetWorthPoint;
+import com.finance.management.dto.NetWorthSeries;
+import com.finance.management.model.DebtStatus;
+import com.finance.management.model.Money;
+import com.finance.management.model.NetWorthSnapshot;
+import com.finance.management.model.UserDataVersion;
+import com.finance.management.repository.AssetRepository;
+import com.finance.management.repository.DebtRepository;
+import com.finance.management.repository.NetWorthSnapshotRepository;
+import com.finance.management.repository.NetWorthSnapshotWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Riwayat kekayaan bersih (total aset dikurangi total sisa utang) per hari. Snapshot ditulis oleh
+ * NetWorthSnapshotJob; seri untuk grafik diturunkan resolusinya di server supaya rentang panjang
+ * tetap berisi sedikit titik.
+ */
+@Service
+public class NetWorthService {
+
+    public static final int DEFAULT_MAX_POINTS = 200;
+    static final int MAX_POINTS_LIMIT = 1000;
+
+    @Autowired
+    private NetWorthSnapshotRepository netWorthSnapshotRepository;
+
+    @Autowired
+    private NetWorthSnapshotWriter netWorthSnapshotWriter;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    /**
+     * Menulis snapshot tanggal date untuk satu chunk user yang datanya berubah, dalam satu transaksi
+     * database. Snapshot hanya ditulis jika totalnya berbeda dari snapshot terakhir user (perubahan
+     * anggaran, misalnya, ikut menaikkan versi tanpa mengubah kekayaan bersih). Mengembalikan jumlah
+     * snapshot yang ditulis.
+     */
+    @Transactional
+    public int snapshotChanged(List<UserDataVersion> changed, LocalDate date) {
+        List<Long> userIds = changed.stream().map(UserDataVersion::getUserId).toList();
+        Map<Long, Money> assets = netWorthSnapshotWriter.sumAssets(userIds);
+        Map<Long, Money> debts = netWorthSnapshotWriter.sumDebts(userIds);
+        Map<Long, NetWorthSnapshot> latest = netWorthSnapshotWriter.findLatest(userIds, date);
+
+        List<NetWorthSnapshot> snapshots = new ArrayList<>();
+        for (Long userId : userIds) {
+            NetWorthSnapshot snapshot = new NetWorthSnapshot(null, userId, date,
+                    assets.getOrDefault(userId, Money.ZERO), debts.getOrDefault(userId, Money.ZERO));
+            if (!snapshot.hasSameTotals(latest.get(userId))) {
+                snapshots.add(snapshot);
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            netWorthSnapshotWriter.upsertAll(snapshots);
+        }
+        netWorthSnapshotWriter.markCaptured(changed);
+        return snapshots.size();
+    }
+
+    /**
+     * Seri from..to dengan paling banyak maxPoints titik. Setiap titik berisi nilai di akhir periodenya:
+     * snapshot terakhir sampai hari itu. Rentang dipotong sampai hari ini; nilai hari ini dihitung langsung
+     * dari aset dan utang karena snapshotnya baru ditulis di akhir hari.
+     */
+    @Transactional(readOnly = true)
+    public NetWorthSeries getSeries(Long userId, LocalDate from, LocalDate to, int maxPoints) {
+        LocalDate today = LocalDate.now();
+        LocalDate end = to.isAfter(today) ? today : to;
+        if (from.isAfter(end)) {
+            throw new IllegalArgumentException("Tanggal awal tidak boleh setelah tanggal akhir atau hari ini.");
+        }
+        NetWorthSeries.Resolution resolution = NetWorthSeries.Resolution.forRange(from, end,
+                Math.max(1, Math.min(maxPoints, MAX_POINTS_LIMIT)));
+        if (resolution.bucketCount(from, end) > MAX_POINTS_LIMIT) {
+            throw new IllegalArgumentException("Rentang terlalu panjang: paling banyak " + MAX_POINTS_LIMIT + " tahun.");
+        }
+
+        List<NetWorthSnapshot> snapshots = new ArrayList<>(
+                netWorthSnapshotRepository.findLatestBefore(userId, from, PageRequest.ofSize(1)));
+        snapshots.addAll(netWorthSnapshotRepository.findRange(userId, from, end));
+        if (end.equals(today)) {
+            snapshots.removeIf(snapshot -> !snapshot.getSnapshotDate().isBefore(today));
+            snapshots.add(currentSnapshot(userId, today));
+        }
+
+        List<NetWorthPoint> points = new ArrayList<>();
+        NetWorthSnapshot current = null;
+        int next = 0;
+        LocalDate bucketStart = from;
+        while (!bucketStart.isAfter(end)) {
+            LocalDate bucketEnd = resolution.bucketEnd(bucketStart);
+            if (bucketEnd.isAfter(end)) {
+                bucketEnd = end;
+            }
+            while (next < snapshots.size() && !snapshots.get(next).getSnapshotDate().isAfter(bucketEnd)) {
+                current = snapshots.get(next++);
+            }
+            if (current != null) {
+                points.add(new NetWorthPoint(bucketEnd, current.getTotalAssets(), current.getTotalDebts()));
+            }
+            bucketStart = bucketEnd.plusDays(1);
+        }
+        return new NetWorthSeries(from, end, resolution, points);
+    }
+
+    private NetWorthSnapshot currentSnapshot(Long userId, LocalDate today) {
+        return new NetWorthSnapshot(null, userId, today, Money.of(assetRepository.sumCurrentValueByUserId(userId)),
+                Money.of(debtRepository.sumTotalsByUserId(userId, DebtStatus.ACTIVE).getTotalRemaining()));
+    }
+}
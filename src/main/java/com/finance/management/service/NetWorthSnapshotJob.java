@@ -0,0 +1,69 @@
+package com.finance.management.service;
+
+import com.finance.management.model.UserDataVersion;
+import com.finance.management.repository.UserDataVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Job akhir hari yang mencatat kekayaan bersih setiap user. Inkremental: hanya user yang versi datanya
+ * naik sejak snapshot terakhir (user_data_versions.version > net_worth_version) yang dihitung, dibaca
+ * per chunk dengan keyset pada primary key. User tanpa perubahan tidak menyentuh tabel aset dan utang.
+ */
+@Service
+public class NetWorthSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NetWorthSnapshotJob.class);
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Autowired
+    private NetWorthService netWorthService;
+
+    @Value("${app.net-worth.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.net-worth.cron:0 55 23 * * *}")
+    public void snapshotScheduled() {
+        snapshot(LocalDate.now());
+    }
+
+    /**
+     * Mengembalikan jumlah snapshot yang ditulis untuk tanggal date.
+     */
+    public int snapshot(LocalDate date) {
+        long started = System.nanoTime();
+        int users = 0;
+        int written = 0;
+        int failedChunks = 0;
+        Long afterUserId = 0L;
+        while (true) {
+            List<UserDataVersion> changed = userDataVersionRepository.findChangedSinceNetWorthSnapshot(afterUserId,
+                    PageRequest.ofSize(chunkSize));
+            if (changed.isEmpty()) {
+                break;
+            }
+            users += changed.size();
+            try {
+                written += netWorthService.snapshotChanged(changed, date);
+            } catch (DataAccessException e) {
+                failedChunks++;
+                log.warn("Snapshot kekayaan bersih untuk {} user gagal dan di-rollback", changed.size(), e);
+            }
+            afterUserId = changed.get(changed.size() - 1).getUserId();
+        }
+        log.info("Snapshot kekayaan bersih {}: {} user berubah, {} snapshot ditulis ({} chunk gagal) dalam {} ms",
+                date, users, written, failedChunks, (System.nanoTime() - started) / 1_000_000);
+        return written;
+    }
+}
@@ -0,0 +1,43 @@
+package com.finance.management.service;
+
+import com.finance.management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Membangun ulang read model milik LedgerProjector (monthly_rollup, user_categories) dari tabel
+ * transactions. Dipakai setelah proyeksi kategori gagal atau event hilang karena aplikasi berhenti,
+ * dan setelah rollup diubah manual di database.
+ * Event yang sedang diproses bersamaan dengan replay user yang sama bisa terhitung dua kali,
+ * jadi jalankan saat tidak ada penulisan (lihat ProjectionReplayRunner).
+ */
+@Service
+public class ProjectionReplayService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private UserCategoryService userCategoryService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    public List<Long> getUserIds() {
+        return userRepository.findAllIds();
+    }
+
+    // Satu transaksi per user: pembaca tidak pernah melihat read model yang setengah terisi
+    @Transactional
+    public void replay(Long userId) {
+        monthlyRollupService.rebuild(userId);
+        userCategoryService.rebuild(userId);
+        userDataVersionService.bump(userId);
+    }
+}
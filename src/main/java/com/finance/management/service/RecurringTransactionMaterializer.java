@@ -0,0 +1,82 @@
+package com.finance.management.service;
+
+import com.finance.management.repository.RecurringTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Job terjadwal yang memposting transaksi berulang milik semua user. User dengan template jatuh tempo
+ * dibaca per chunk berukuran tetap (keyset pada user_id), dan setiap chunk diposting dalam satu transaksi
+ * database sendiri, sehingga setiap user mendapat tepat satu penyesuaian Cash per run.
+ *
+ * Chunk yang gagal (misalnya bentrok kunci kemunculan dengan instance lain yang sedang menjalankan job
+ * yang sama, atau satu template dengan data yang tidak valid) di-rollback utuh dan dilewati; chunk
+ * berikutnya tetap diproses, dan run berikutnya mengulanginya dengan aman.
+ */
+@Service
+public class RecurringTransactionMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTransactionMaterializer.class);
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Value("${app.recurring.chunk-size:200}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.recurring.cron:0 5 0 * * *}")
+    public void materializeScheduled() {
+        materialize(LocalDate.now());
+    }
+
+    /**
+     * Mengembalikan jumlah transaksi yang diposting di run ini.
+     */
+    public int materialize(LocalDate today) {
+        long started = System.nanoTime();
+        int posted = 0;
+        int chunks = 0;
+        int failedChunks = 0;
+        Long afterUserId = 0L;
+        while (true) {
+            List<Long> userIds = recurringTransactionRepository.findDueUserIds(today, afterUserId,
+                    PageRequest.ofSize(chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            chunks++;
+            try {
+                posted += recurringTransactionService.materializeDue(userIds, today);
+            } catch (RuntimeException e) {
+                failedChunks++;
+                log.warn("Chunk transaksi berulang user {}..{} (template {}) gagal dan di-rollback", userIds.get(0),
+                        userIds.get(userIds.size() - 1), dueTemplateIds(userIds, today), e);
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+        if (chunks > 0) {
+            log.info("Transaksi berulang {}: {} transaksi dari {} chunk ({} gagal) dalam {} ms", today, posted,
+                    chunks, failedChunks, (System.nanoTime() - started) / 1_000_000);
+        }
+        return posted;
+    }
+
+    private Object dueTemplateIds(List<Long> userIds, LocalDate today) {
+        try {
+            return recurringTransactionRepository.findDueIdsByUserIds(today, userIds);
+        } catch (RuntimeException e) {
+            return "tidak diketahui";
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.finance.management.service;
+
+import com.finance.management.model.RecurringTransaction;
+import com.finance.management.model.Transaction;
+import com.finance.management.repository.RecurringOccurrenceRepository;
+import com.finance.management.repository.RecurringOccurrenceRepository.Occurrence;
+import com.finance.management.repository.RecurringTransactionRepository;
+import com.finance.management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class RecurringTransactionService {
+
+    // Batas kemunculan yang dikejar per template dalam satu run; sisanya diposting di run berikutnya
+    static final int MAX_OCCURRENCES_PER_RUN = 366;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private RecurringOccurrenceRepository recurringOccurrenceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    public List<RecurringTransaction> getRecurringTransactions(Long userId) {
+        return recurringTransactionRepository.findByUserId(userId);
+    }
+
+    /**
+     * Template baru mulai dari kemunculan pertama di tanggal mulai. Tanggal mulai yang sudah lewat
+     * ikut dikejar pada run materializer berikutnya.
+     */
+    @Transactional
+    public RecurringTransaction createRecurringTransaction(RecurringTransaction template, Long userId) {
+        if (template.getEndDate() != null && template.getEndDate().isBefore(template.getStartDate())) {
+            throw new IllegalArgumentException("Tanggal akhir tidak boleh sebelum tanggal mulai.");
+        }
+        template.setId(null);
+        template.setUser(userRepository.getReferenceById(userId));
+        template.setNextOccurrence(0);
+        template.setNextRunDate(template.getStartDate());
+        template.setActive(true);
+        return recurringTransactionRepository.save(template);
+    }
+
+    /**
+     * Menghentikan atau melanjutkan template. Saat dilanjutkan, kemunculan yang terlewat selama jeda
+     * tidak diposting: template maju ke kemunculan pertama mulai hari ini.
+     */
+    @Transactional
+    public void setActive(Long id, boolean active, Long userId) {
+        RecurringTransaction template = recurringTransactionRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Transaksi berulang tidak ditemukan dengan ID: " + id));
+        if (active && !template.isActive()) {
+            LocalDate today = LocalDate.now();
+            template.setActive(true);
+            while (template.isActive() && template.getNextRunDate().isBefore(today)) {
+                template.advance();
+            }
+        } else if (!active) {
+            template.setActive(false);
+        }
+    }
+
+    @Transactional
+    public void deleteRecurringTransaction(Long id, Long userId) {
+        if (recurringTransactionRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new RuntimeException("Transaksi berulang tidak ditemukan dengan ID: " + id);
+        }
+    }
+
+    /**
+     * Memposting semua kemunculan jatuh tempo (sampai hari ini) dari template aktif milik satu chunk user,
+     * dalam satu transaksi database: kunci kemunculan dan transaksinya masing-masing satu JDBC batch,
+     * lalu per user satu penyesuaian Cash, satu kenaikan versi, dan satu event.
+     *
+     * Kemunculan yang kuncinya sudah ada dilewati, sehingga run ulang setelah crash di antara commit dan
+     * pembaruan next_run_date tidak memposting dua kali. Mengembalikan jumlah transaksi yang diposting.
+     */
+    @Transactional
+    public int materializeDue(Collection<Long> userIds, LocalDate today) {
+        List<RecurringTransaction> templates = recurringTransactionRepository.findDueByUserIds(today, userIds);
+        if (templates.isEmpty()) {
+            return 0;
+        }
+
+        LocalDate earliest = templates.stream().map(RecurringTransaction::getNextRunDate)
+                .min(LocalDate::compareTo).orElseThrow();
+        Set<Occurrence> posted = recurringOccurrenceRepository.findExisting(
+                templates.stream().map(RecurringTransaction::getId).toList(), earliest, today);
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        Map<Long, List<Transaction>> transactionsByUser = new LinkedHashMap<>();
+        for (RecurringTransaction template : templates) {
+            Long userId = template.getUser().getId();
+            for (int i = 0; i < MAX_OCCURRENCES_PER_RUN && template.isActive()
+                    && !template.getNextRunDate().isAfter(today); i++) {
+                Occurrence occurrence = new Occurrence(template.getId(), template.getNextRunDate());
+                if (!posted.contains(occurrence)) {
+                    occurrences.add(occurrence);
+                    transactionsByUser.computeIfAbsent(userId, key -> new ArrayList<>())
+                            .add(toTransaction(template));
+                }
+                template.advance();
+            }
+        }
+
+        if (!occurrences.isEmpty()) {
+            recurringOccurrenceRepository.insertAll(occurrences);
+            transactionService.createTransactions(transactionsByUser);
+        }
+        return occurrences.size();
+    }
+
+    private static Transaction toTransaction(RecurringTransaction template) {
+        Transaction transaction = new Transaction();
+        transaction.setType(template.getType());
+        transaction.setAmount(template.getAmount());
+        transaction.setCategory(template.getCategory());
+        transaction.setDescription(template.getDescription());
+        transaction.setTransactionDate(template.getNextRunDate());
+        return transaction;
+    }
+}
@@ -0,0 +1,328 @@
+package com.finance.management.service;
+
+import com.finance.management.dto.ReportJob;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Antrian pembuatan laporan PDF. Job dikerjakan oleh thread pool dengan jumlah worker dan panjang
+ * antrian terbatas, bukan di thread request. Hasilnya disimpan di disk dengan nama file yang memuat
+ * (user, periode, versi data), sehingga permintaan ulang untuk data yang belum berubah langsung
+ * selesai tanpa merender ulang.
+ *
+ * File yang sudah lama tidak dipakai dihapus oleh sweepCache: file yang terakhir dibuat atau dipakai
+ * ulang lebih dari app.report.cache-max-age yang lalu, lalu file terlama sampai total ukuran folder
+ * cache di bawah app.report.cache-max-size.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private static final DateTimeFormatter FILE_MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM");
+
+    private static final int TEMP_FILE_ATTEMPTS = 3;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Value("${app.report.workers:2}")
+    private int workers;
+
+    @Value("${app.report.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${app.report.cache-dir:${java.io.tmpdir}/keuanganku-reports}")
+    private Path cacheDir;
+
+    @Value("${app.report.job-ttl:1h}")
+    private Duration jobTtl;
+
+    @Value("${app.report.cache-max-age:7d}")
+    private Duration cacheMaxAge;
+
+    @Value("${app.report.cache-max-size:1GB}")
+    private DataSize cacheMaxSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor executor;
+
+    private Cache<String, ReportJob> jobs;
+
+    // Job yang sedang antre/berjalan per file tujuan, supaya permintaan yang sama tidak dirender dua kali
+    private final ConcurrentMap<Path, String> activeJobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        // Mode virtual thread tetap memakai pool berukuran tetap: workers membatasi jumlah PDF yang
+        // dirender bersamaan, bukan jumlah thread yang tersedia
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads ? Thread.ofVirtual().name("report-", 1).factory()
+                : task -> new Thread(task, "report-" + threadCount.incrementAndGet());
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+        jobs = Caffeine.newBuilder().expireAfterWrite(jobTtl).build();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Mendaftarkan job laporan untuk rentang bulan (inklusif).
+     *
+     * @throws IllegalStateException jika antrian penuh
+     */
+    public ReportJob submit(Long userId, YearMonth from, YearMonth to) {
+        long version = userDataVersionService.getVersion(userId);
+        Path file = reportFile(userId, from, to, version);
+        String fileName = "Laporan_" + from.format(FILE_MONTH_FORMAT) + "_" + from.getYear()
+                + (from.equals(to) ? "" : "_" + (from.until(to, ChronoUnit.MONTHS) + 1) + "_bulan")
+                + ".pdf";
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), userId, from, to, version,
+                ReportJob.Status.QUEUED, null, file, fileName);
+
+        if (Files.exists(file)) {
+            // Waktu modifikasi dipakai sweepCache sebagai waktu terakhir dipakai
+            touchQuietly(file);
+            job = job.withStatus(ReportJob.Status.DONE);
+            jobs.put(job.getId(), job);
+            return job;
+        }
+
+        String activeJobId = activeJobs.putIfAbsent(file, job.getId());
+        if (activeJobId != null) {
+            ReportJob active = jobs.getIfPresent(activeJobId);
+            if (active != null) {
+                return active;
+            }
+            activeJobs.put(file, job.getId());
+        }
+
+        jobs.put(job.getId(), job);
+        ReportJob queued = job;
+        try {
+            executor.execute(() -> run(queued));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            activeJobs.remove(file, job.getId());
+            throw new IllegalStateException("Antrian laporan sedang penuh, silakan coba lagi nanti.");
+        }
+        return job;
+    }
+
+    /**
+     * Job milik user; job milik user lain dianggap tidak ada.
+     */
+    public Optional<ReportJob> findJob(String jobId, Long userId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    private void run(ReportJob job) {
+        jobs.put(job.getId(), job.withStatus(ReportJob.Status.RUNNING));
+        Path file = job.getFile();
+        Path tempFile = null;
+        try {
+            tempFile = createTempFile(file.getParent());
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                reportService.generatePdfReport(job.getUserId(), job.getFrom(), job.getTo(), out);
+            }
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteOlderVersions(job);
+            jobs.put(job.getId(), job.withStatus(ReportJob.Status.DONE));
+        } catch (Exception e) {
+            log.error("Gagal membuat laporan PDF untuk user {} periode {} s.d. {}", job.getUserId(), job.getFrom(),
+                    job.getTo(), e);
+            deleteQuietly(tempFile);
+            jobs.put(job.getId(), job.withStatus(ReportJob.Status.FAILED)
+                    .withError("Gagal membuat laporan PDF, silakan coba lagi."));
+        } finally {
+            activeJobs.remove(file, job.getId());
+        }
+    }
+
+    // sweepCache bisa menghapus folder user yang kosong di antara createDirectories dan createTempFile;
+    // folder dibuat ulang dan pembuatan file dicoba lagi
+    private static Path createTempFile(Path dir) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            Files.createDirectories(dir);
+            try {
+                return Files.createTempFile(dir, "report-", ".tmp");
+            } catch (NoSuchFileException e) {
+                if (attempt == TEMP_FILE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Menghapus file laporan yang kedaluwarsa atau melebihi batas ukuran cache, termasuk file .tmp
+     * sisa render yang terputus, lalu folder user yang kosong. Job yang sudah DONE untuk file yang
+     * terhapus dijawab 410 saat diunduh, sehingga halaman laporan mencetak ulang.
+     *
+     * @return jumlah file yang dihapus
+     */
+    @Scheduled(cron = "${app.report.cache-sweep-cron:0 30 * * * *}")
+    public int sweepCache() {
+        if (!Files.isDirectory(cacheDir)) {
+            return 0;
+        }
+        Instant expiredBefore = Instant.now().minus(cacheMaxAge);
+        List<CachedFile> reports = new ArrayList<>();
+        long totalBytes = 0;
+        int deleted = 0;
+        try {
+            for (CachedFile cached : listCacheFiles()) {
+                if (cached.lastModified().toInstant().isBefore(expiredBefore)) {
+                    deleted += deleteQuietly(cached.file()) ? 1 : 0;
+                } else if (cached.file().getFileName().toString().endsWith(".pdf")) {
+                    reports.add(cached);
+                    totalBytes += cached.size();
+                }
+            }
+
+            reports.sort(Comparator.comparing(CachedFile::lastModified));
+            for (int i = 0; i < reports.size() && totalBytes > cacheMaxSize.toBytes(); i++) {
+                if (deleteQuietly(reports.get(i).file())) {
+                    totalBytes -= reports.get(i).size();
+                    deleted++;
+                }
+            }
+
+            try (DirectoryStream<Path> userDirs = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+                for (Path userDir : userDirs) {
+                    if (activeJobs.keySet().stream().anyMatch(file -> file.getParent().equals(userDir))) {
+                        continue;
+                    }
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(userDir)) {
+                        if (!files.iterator().hasNext()) {
+                            deleteQuietly(userDir);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Gagal membersihkan cache laporan di {}", cacheDir, e);
+        }
+        if (deleted > 0) {
+            log.info("Cache laporan: {} file dihapus, {} KB tersisa", deleted, totalBytes / 1024);
+        }
+        return deleted;
+    }
+
+    // Semua file di cacheDir/{userId}; file yang terhapus di tengah jalan (deleteOlderVersions) dilewati
+    private List<CachedFile> listCacheFiles() throws IOException {
+        List<CachedFile> cached = new ArrayList<>();
+        try (DirectoryStream<Path> userDirs = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+            for (Path userDir : userDirs) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(userDir)) {
+                    for (Path file : files) {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                            cached.add(new CachedFile(file, attributes.lastModifiedTime(), attributes.size()));
+                        } catch (NoSuchFileException e) {
+                            // sudah dihapus
+                        }
+                    }
+                }
+            }
+        }
+        return cached;
+    }
+
+    private record CachedFile(Path file, FileTime lastModified, long size) {
+    }
+
+    private Path reportFile(Long userId, YearMonth from, YearMonth to, long version) {
+        return cacheDir.resolve(String.valueOf(userId)).resolve(periodKey(from, to) + "_v" + version + ".pdf");
+    }
+
+    private static String periodKey(YearMonth from, YearMonth to) {
+        return from + "_" + to;
+    }
+
+    // File untuk periode yang sama dengan versi data lebih lama tidak akan dipakai lagi. File versi lebih baru
+    // (job yang lebih lambat untuk versi lama selesai belakangan) tetap disimpan.
+    private void deleteOlderVersions(ReportJob job) throws IOException {
+        String prefix = periodKey(job.getFrom(), job.getTo()) + "_v";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(job.getFile().getParent(), prefix + "*.pdf")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long version;
+                try {
+                    version = Long.parseLong(name.substring(prefix.length(), name.length() - ".pdf".length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (version < job.getDataVersion()) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        if (file == null) {
+            return false;
+        }
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Tidak dapat menghapus file laporan {}", file, e);
+            return false;
+        }
+    }
+
+    private static void touchQuietly(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.warn("Tidak dapat memperbarui waktu file laporan {}", file, e);
+        }
+    }
+}
@@ -1,77 +1,120 @@
 package com.finance.management.service;
 
-import com.finance.management.model.Transaction;
 import com.finance.management.model.TransactionType;
+import com.finance.management.repository.ReportRow;
+import com.finance.management.repository.TransactionRepository;
+import com.finance.management.repository.TypeTotal;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
-import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Locale;
+import java.util.stream.Stream;
 
 @Service
 public class ReportService {
 
+    // Jumlah baris yang ditampung tabel sebelum di-flush ke PdfWriter
+    private static final int TABLE_FLUSH_ROWS = 200;
+
+    private static final Locale LOCALE_ID = new Locale("id", "ID");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy", LOCALE_ID);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
     @Autowired
-    private TransactionService transactionService;
-
-    public void generatePdfReport(String username, int year, int month, HttpServletResponse response)
-            throws IOException, DocumentException {
-        List<Transaction> transactions = transactionService.getTransactionsForMonth(username, year, month);
-
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME).map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalExpense = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE).map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private MonthlyRollupService monthlyRollupService;
+
+    // Harus @Transactional sendiri: pemanggilan ke overload di bawah tidak melewati proxy Spring
+    @Transactional(readOnly = true)
+    public void generatePdfReport(Long userId, int year, int month, OutputStream out) throws DocumentException {
+        YearMonth period = YearMonth.of(year, month);
+        generatePdfReport(userId, period, period, out);
+    }
+
+    /**
+     * Menulis laporan untuk rentang bulan (inklusif) secara streaming: total dihitung lebih dulu
+     * dari monthly_rollup, lalu baris transaksi dibaca maju satu arah dan tabel di-flush per
+     * TABLE_FLUSH_ROWS baris, sehingga memori yang dipakai tidak bergantung pada jumlah transaksi.
+     * monthly_rollup diperbarui di transaksi database penulisnya (LedgerProjector.projectRollup), dan
+     * keduanya dibaca dalam satu transaksi, jadi total selalu cocok dengan isi tabel.
+     */
+    @Transactional(readOnly = true)
+    public void generatePdfReport(Long userId, YearMonth from, YearMonth to, OutputStream out)
+            throws DocumentException {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        for (TypeTotal total : monthlyRollupService.getTotalsByType(userId, from, to)) {
+            if (total.getType() == TransactionType.INCOME) {
+                totalIncome = total.getTotal();
+            } else if (total.getType() == TransactionType.EXPENSE) {
+                totalExpense = total.getTotal();
+            }
+        }
         BigDecimal netResult = totalIncome.subtract(totalExpense);
+        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(LOCALE_ID);
 
         Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, response.getOutputStream());
+        PdfWriter.getInstance(document, out);
         document.open();
 
         Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLUE);
-        String monthName = YearMonth.of(year, month)
-                .format(DateTimeFormatter.ofPattern("MMMM yyyy", new Locale("id", "ID")));
-        Paragraph title = new Paragraph("Laporan Keuangan - " + monthName, titleFont);
+        String periodName = from.equals(to) ? from.format(MONTH_FORMAT)
+                : from.format(MONTH_FORMAT) + " s.d. " + to.format(MONTH_FORMAT);
+        Paragraph title = new Paragraph("Laporan Keuangan - " + periodName, titleFont);
         title.setAlignment(Element.ALIGN_CENTER);
         title.setSpacingAfter(20);
         document.add(title);
 
-        document.add(new Paragraph("Ringkasan Bulan Ini:"));
-        document.add(new Paragraph("  - Total Pemasukan: " + formatCurrency(totalIncome)));
-        document.add(new Paragraph("  - Total Pengeluaran: " + formatCurrency(totalExpense)));
+        document.add(new Paragraph(from.equals(to) ? "Ringkasan Bulan Ini:" : "Ringkasan Periode Ini:"));
+        document.add(new Paragraph("  - Total Pemasukan: " + currencyFormat.format(totalIncome)));
+        document.add(new Paragraph("  - Total Pengeluaran: " + currencyFormat.format(totalExpense)));
         Font netFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12,
                 netResult.compareTo(BigDecimal.ZERO) >= 0 ? BaseColor.GREEN.darker() : BaseColor.RED);
-        Paragraph netParagraph = new Paragraph("  - Hasil Bersih: " + formatCurrency(netResult), netFont);
+        Paragraph netParagraph = new Paragraph("  - Hasil Bersih: " + currencyFormat.format(netResult), netFont);
         netParagraph.setSpacingAfter(25);
         document.add(netParagraph);
 
         PdfPTable table = new PdfPTable(4);
         table.setWidthPercentage(100);
         table.setWidths(new float[] { 2f, 3f, 3f, 4f });
+        table.setHeaderRows(1);
+        table.setComplete(false);
 
         addTableHeader(table);
 
-        for (Transaction tx : transactions) {
-            table.addCell(formatDate(tx.getTransactionDate()));
-            table.addCell(tx.getCategory());
-            table.addCell(tx.getType().name());
-            PdfPCell amountCell = new PdfPCell(new Phrase(formatCurrency(tx.getAmount())));
-            amountCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            table.addCell(amountCell);
+        try (Stream<ReportRow> rows = transactionRepository.streamReportRows(userId, from.atDay(1),
+                to.atEndOfMonth())) {
+            int rowsInChunk = 0;
+            Iterator<ReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ReportRow row = iterator.next();
+                table.addCell(row.getTransactionDate().format(DATE_FORMAT));
+                table.addCell(row.getCategory());
+                table.addCell(row.getType().name());
+                PdfPCell amountCell = new PdfPCell(new Phrase(currencyFormat.format(row.getAmount())));
+                amountCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+                table.addCell(amountCell);
+
+                if (++rowsInChunk == TABLE_FLUSH_ROWS) {
+                    document.add(table);
+                    rowsInChunk = 0;
+                }
+            }
         }
+        table.setComplete(true);
         document.add(table);
 
         document.close();
@@ -92,13 +135,4 @@ public class ReportService {
             table.addCell(header);
         }
     }
-
-    private String formatCurrency(BigDecimal value) {
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("id", "ID"));
-        return currencyFormat.format(value);
-    }
-
-    private String formatDate(LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-    }
 }
@@ -0,0 +1,91 @@
+package com.finance.management.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.finance.management.dto.ImportResult;
+import com.finance.management.importer.ImportFormat;
+import com.finance.management.importer.ParsedRow;
+import com.finance.management.importer.TransactionRowReader;
+import com.finance.management.model.Transaction;
+
+/**
+ * Impor transaksi dari file CSV/OFX. File dibaca satu arah dan ditulis per batch, masing-masing
+ * dalam transaksi database sendiri, sehingga memori tidak bergantung pada ukuran file dan baris
+ * yang rusak hanya dicatat sebagai error tanpa membatalkan baris lainnya.
+ */
+@Service
+public class TransactionImportService {
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    public ImportResult importTransactions(Long userId, InputStream in, ImportFormat format) throws IOException {
+        long started = System.nanoTime();
+        ImportResult result = new ImportResult(format);
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+
+        try (TransactionRowReader reader = format.open(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            ParsedRow row;
+            while ((row = reader.next()) != null) {
+                result.setTotalRows(result.getTotalRows() + 1);
+                if (!row.isValid()) {
+                    result.addError(row.getLine(), row.getError());
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(userId, batch, result);
+                }
+            }
+            flush(userId, batch, result);
+        }
+
+        result.finish(System.nanoTime() - started);
+        return result;
+    }
+
+    private void flush(Long userId, List<ParsedRow> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionService.createTransactions(toTransactions(batch), userId);
+            result.setImportedRows(result.getImportedRows() + batch.size());
+            result.setBatches(result.getBatches() + 1);
+        } catch (DataAccessException e) {
+            // Batch ditolak database: ulangi per baris supaya hanya baris yang bermasalah yang gagal
+            for (ParsedRow row : batch) {
+                try {
+                    transactionService.createTransactions(List.of(row.getTransaction()), userId);
+                    result.setImportedRows(result.getImportedRows() + 1);
+                } catch (DataAccessException rowError) {
+                    result.addError(row.getLine(), "Gagal disimpan: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private static List<Transaction> toTransactions(List<ParsedRow> rows) {
+        List<Transaction> transactions = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            transactions.add(row.getTransaction());
+        }
+        return transactions;
+    }
+}
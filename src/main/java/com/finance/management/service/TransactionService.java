@@ -1,27 +1,31 @@
 package com.finance.management.service;
 
+import com.finance.management.dto.CursorPage;
+import com.finance.management.dto.KeysetCursor;
+import com.finance.management.event.LedgerEntry;
+import com.finance.management.event.TransactionRecorded;
+import com.finance.management.event.TransactionRemoved;
+import com.finance.management.event.TransactionRevised;
+import com.finance.management.model.Money;
 import com.finance.management.model.Transaction;
 import com.finance.management.model.TransactionType;
-import com.finance.management.model.User;
+import com.finance.management.repository.CategoryTotal;
+import com.finance.management.repository.TransactionBatchWriter;
 import com.finance.management.repository.TransactionRepository;
 import com.finance.management.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,175 +35,196 @@ public class TransactionService {
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private TransactionBatchWriter transactionBatchWriter;
 
     @Autowired
-    @Lazy
-    private AssetService assetService;
+    private UserRepository userRepository;
 
-    public Page<Transaction> findPaginated(String username, int pageNo, int pageSize) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize, Sort.by("transactionDate").descending());
-        return transactionRepository.findByUserId(user.getId(), pageable);
-    }
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
 
-    public Page<Transaction> findPaginatedByCategory(String username, String category, int pageNo, int pageSize) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize, Sort.by("transactionDate").descending());
-        return transactionRepository.findByUserIdAndCategory(user.getId(), category, pageable);
-    }
+    @Autowired
+    private UserCategoryService userCategoryService;
 
-    public Page<Transaction> findPaginatedByMonth(String username, int year, int month, String category, int pageNo,
-            int pageSize) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
+    @Autowired
+    private UserDataVersionService userDataVersionService;
 
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        Pageable pageable = PageRequest.of(pageNo - 1, pageSize, Sort.by("transactionDate").descending());
+    @Autowired
+    @Lazy
+    private AssetService assetService;
 
-        if (category != null && !category.isEmpty()) {
-            return transactionRepository.findByUserIdAndCategoryAndTransactionDateBetween(user.getId(), category,
-                    startDate, endDate, pageable);
-        } else {
-            return transactionRepository.findByUserIdAndTransactionDateBetween(user.getId(), startDate, endDate,
-                    pageable);
-        }
+    /**
+     * Daftar transaksi satu bulan dengan keyset pagination; cursor null atau kosong berarti halaman pertama.
+     */
+    public CursorPage<Transaction> findSliceByMonth(Long userId, int year, int month, String category,
+            String cursor, int pageSize) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<Transaction> slice = transactionRepository.findSliceByMonth(userId, yearMonth.atDay(1),
+                yearMonth.atEndOfMonth(), (category == null || category.isEmpty()) ? null : category,
+                after.getDate(), after.getId(), PageRequest.ofSize(pageSize));
+        return CursorPage.of(slice, transaction -> new KeysetCursor(transaction.getTransactionDate(),
+                transaction.getId()));
     }
 
-    public BigDecimal getIncomeForCurrentMonth(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now().with(TemporalAdjusters.lastDayOfMonth());
-
-        return transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), startOfMonth, endOfMonth)
-                .stream()
-                .filter(tx -> tx.getType() == TransactionType.INCOME && tx.getAmount() != null)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getIncomeForCurrentMonth(Long userId) {
+        return monthlyRollupService.getMonthlyTotal(userId, YearMonth.now(), TransactionType.INCOME);
     }
 
-    public BigDecimal getExpenseForCurrentMonth(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now().with(TemporalAdjusters.lastDayOfMonth());
+    public BigDecimal getExpenseForCurrentMonth(Long userId) {
+        return monthlyRollupService.getMonthlyTotal(userId, YearMonth.now(), TransactionType.EXPENSE);
+    }
 
-        return transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), startOfMonth, endOfMonth)
-                .stream()
-                .filter(tx -> tx.getType() == TransactionType.EXPENSE && tx.getAmount() != null)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getTotalIncome(Long userId) {
+        return monthlyRollupService.getTotal(userId, TransactionType.INCOME);
     }
 
-    public BigDecimal getTotalIncome(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return transactionRepository.findAllByUserId(user.getId())
-                .stream()
-                .filter(tx -> tx.getType() == TransactionType.INCOME && tx.getAmount() != null)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getTotalExpense(Long userId) {
+        return monthlyRollupService.getTotal(userId, TransactionType.EXPENSE);
     }
 
-    public BigDecimal getTotalExpense(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return transactionRepository.findAllByUserId(user.getId())
-                .stream()
-                .filter(tx -> tx.getType() == TransactionType.EXPENSE && tx.getAmount() != null)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Map<String, BigDecimal> getExpenseSummaryByCategory(Long userId) {
+        return toCategoryMap(transactionRepository.sumByCategory(userId, TransactionType.EXPENSE));
     }
 
-    public Map<String, BigDecimal> getExpenseSummaryByCategory(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return transactionRepository.findAllByUserId(user.getId())
-                .stream()
-                .filter(tx -> tx.getType() == TransactionType.EXPENSE && tx.getAmount() != null)
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    @Transactional
+    public Transaction createTransaction(Transaction transaction, Long userId) {
+        Transaction savedTransaction = recordTransaction(transaction, userId);
+        userDataVersionService.bump(userId);
+        eventPublisher.publishEvent(new TransactionRecorded(userId, List.of(LedgerEntry.of(savedTransaction))));
+
+        return savedTransaction;
     }
 
+    /**
+     * Menulis transaksi ke buku besar dan menyesuaikan saldo Cash, tanpa menerbitkan event.
+     * Hanya untuk penulis lain yang menerbitkan event sendiri dengan transaksi ini di dalamnya
+     * (DebtPaymentMade, AssetRevalued); tanpa event, read model tidak ikut diperbarui.
+     */
     @Transactional
-    public Transaction createTransaction(Transaction transaction, String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        transaction.setUser(user);
+    public Transaction recordTransaction(Transaction transaction, Long userId) {
+        transaction.setUser(userRepository.getReferenceById(userId));
 
         Transaction savedTransaction = transactionRepository.save(transaction);
-
         if (savedTransaction.getType() == TransactionType.INCOME) {
-            assetService.depositToCash(savedTransaction.getAmount(), username);
+            assetService.depositToCash(savedTransaction.getAmount(), userId);
         } else if (savedTransaction.getType() == TransactionType.EXPENSE) {
-            assetService.withdrawFromCash(savedTransaction.getAmount(), username);
+            assetService.withdrawFromCash(savedTransaction.getAmount(), userId);
         }
-
         return savedTransaction;
     }
 
-    @Transactional(readOnly = true)
-    public Transaction getTransactionByIdAndUsername(Long id, String username) {
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transaksi tidak ditemukan dengan ID: " + id));
-        if (!transaction.getUser().getUsername().equals(username)) {
-            throw new AccessDeniedException("Anda tidak memiliki izin untuk mengakses transaksi ini.");
+    /**
+     * Menyimpan banyak transaksi sekaligus (dipakai impor file): satu batch insert, satu penyesuaian
+     * saldo Cash untuk selisih bersihnya, dan satu event untuk semua transaksi.
+     */
+    @Transactional
+    public void createTransactions(List<Transaction> transactions, Long userId) {
+        if (transactions.isEmpty()) {
+            return;
         }
-        return transaction;
+        createTransactions(Map.of(userId, transactions));
+    }
+
+    /**
+     * Seperti createTransactions untuk banyak user sekaligus (dipakai materializer transaksi berulang):
+     * satu batch insert untuk semua user, lalu per user satu penyesuaian Cash, satu kenaikan versi,
+     * dan satu event.
+     */
+    @Transactional
+    public void createTransactions(Map<Long, List<Transaction>> transactionsByUser) {
+        recordTransactions(transactionsByUser);
+        transactionsByUser.forEach((userId, transactions) -> {
+            userDataVersionService.bump(userId);
+            eventPublisher.publishEvent(new TransactionRecorded(userId,
+                    transactions.stream().map(LedgerEntry::of).toList()));
+        });
     }
 
-    public List<Transaction> getTransactionsForMonth(String username, int year, int month) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
+    /**
+     * Versi batch dari recordTransaction: satu batch insert untuk semua user dan satu penyesuaian Cash
+     * per user, tanpa menaikkan versi dan tanpa event (lihat DebtService.payDueInstallments).
+     */
+    @Transactional
+    public void recordTransactions(Map<Long, List<Transaction>> transactionsByUser) {
+        transactionBatchWriter.insertAll(transactionsByUser);
+
+        transactionsByUser.forEach((userId, transactions) -> {
+            // Selisih bersih seluruh batch; dijumlah dalam sen ke satu long, tanpa objek baru per baris
+            Money netCash = Money.sumMinor(transactions, TransactionService::cashEffect);
+            if (!netCash.isZero()) {
+                assetService.adjustCash(netCash.toBigDecimal(), userId);
+            }
+        });
+    }
 
+    @Transactional(readOnly = true)
+    public Transaction getTransactionByIdAndUserId(Long id, Long userId) {
+        // Transaksi milik user lain diperlakukan sama dengan yang tidak ada
+        return transactionRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Transaksi tidak ditemukan dengan ID: " + id));
+    }
+
+    public List<Transaction> getTransactionsForMonth(Long userId, int year, int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        return transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), startDate, endDate);
+        return transactionRepository.findAllByUserIdAndTransactionDateBetween(userId, startDate, endDate);
     }
 
     @Transactional
-    public void updateTransaction(Long id, Transaction updatedTransactionData, String username) {
-        Transaction existingTransaction = getTransactionByIdAndUsername(id, username);
+    public void updateTransaction(Long id, Transaction updatedTransactionData, Long userId) {
+        Transaction existingTransaction = getTransactionByIdAndUserId(id, userId);
+        LedgerEntry before = LedgerEntry.of(existingTransaction);
+
         existingTransaction.setType(updatedTransactionData.getType());
         existingTransaction.setAmount(updatedTransactionData.getAmount());
         existingTransaction.setCategory(updatedTransactionData.getCategory());
         existingTransaction.setDescription(updatedTransactionData.getDescription());
         existingTransaction.setTransactionDate(updatedTransactionData.getTransactionDate());
         transactionRepository.save(existingTransaction);
+        userDataVersionService.bump(userId);
+        eventPublisher.publishEvent(new TransactionRevised(userId, id, before, LedgerEntry.of(existingTransaction)));
     }
 
-    public List<String> getUniqueCategories(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-        return transactionRepository.findAllByUserId(user.getId())
-                .stream()
-                .map(Transaction::getCategory)
-                .filter(Objects::nonNull)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+    public List<String> getUniqueCategories(Long userId) {
+        return userCategoryService.getCategoryNames(userId);
+    }
+
+    // Saran kategori pada form tambah transaksi
+    public List<String> getFrequentCategories(Long userId) {
+        return userCategoryService.getMostUsedCategoryNames(userId, 10);
     }
 
     @Transactional
-    public void deleteTransaction(Long id, String username) {
-        Transaction transaction = getTransactionByIdAndUsername(id, username);
+    public void deleteTransaction(Long id, Long userId) {
+        Transaction transaction = getTransactionByIdAndUserId(id, userId);
         transactionRepository.delete(transaction);
+        userDataVersionService.bump(userId);
+        eventPublisher.publishEvent(new TransactionRemoved(userId, id, LedgerEntry.of(transaction)));
     }
 
-        public Map<String, BigDecimal> getExpenseSummaryForMonth(String username, int year, int month) {
-        User user = userRepository.findByUsername(username).orElseThrow();
+    public Map<String, BigDecimal> getExpenseSummaryForMonth(Long userId, int year, int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
-        
-        return transactionRepository.findAllByUserIdAndTransactionDateBetween(user.getId(), startDate, endDate)
-                .stream()
-                .filter(tx -> tx.getType() == TransactionType.EXPENSE && tx.getAmount() != null)
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-    }
-}
\ No newline at end of file
+
+        return toCategoryMap(transactionRepository.sumByCategoryBetween(userId, TransactionType.EXPENSE,
+                startDate, endDate));
+    }
+
+    // Pemasukan menambah Cash, pengeluaran menguranginya (dalam sen)
+    private static long cashEffect(Transaction transaction) {
+        long amount = Money.toMinorUnits(transaction.getAmount());
+        return transaction.getType() == TransactionType.INCOME ? amount : Math.negateExact(amount);
+    }
+
+    private Map<String, BigDecimal> toCategoryMap(List<CategoryTotal> totals) {
+        return totals.stream()
+                .collect(Collectors.toMap(CategoryTotal::getCategory, CategoryTotal::getTotal));
+    }
+}
@@ -0,0 +1,81 @@
+package com.finance.management.service;
+
+import com.finance.management.event.LedgerEntry;
+import com.finance.management.model.UserCategory;
+import com.finance.management.repository.UserCategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read model user_categories: kategori transaksi per user beserta jumlah pemakaiannya.
+ * Diperbarui oleh LedgerProjector setelah transaksi penulis commit, dan dapat dibangun ulang
+ * dari tabel transactions dengan rebuild (perintah --replay-projections).
+ */
+@Service
+public class UserCategoryService {
+
+    @Autowired
+    private UserCategoryRepository userCategoryRepository;
+
+    /**
+     * Menerapkan pemakaian yang hilang (removed) dan bertambah (recorded) sekaligus. Perubahan digabung dulu
+     * per kategori, sehingga satu upsert mewakili banyak transaksi dan transaksi yang kategorinya tidak berubah
+     * tidak menulis apa pun. Mengembalikan true jika daftar kategori yang sedang dipakai berubah: kategori baru
+     * muncul atau pemakaian terakhir suatu kategori hilang.
+     */
+    @Transactional
+    public boolean apply(Long userId, Collection<LedgerEntry> removed, Collection<LedgerEntry> recorded) {
+        // TreeMap: urutan upsert tetap, supaya dua impor bersamaan tidak saling menunggu lock (deadlock)
+        Map<String, Long> deltas = new TreeMap<>();
+        for (LedgerEntry entry : removed) {
+            deltas.merge(entry.category(), -1L, Long::sum);
+        }
+        for (LedgerEntry entry : recorded) {
+            deltas.merge(entry.category(), 1L, Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Long> usage = new HashMap<>();
+        for (UserCategory category : userCategoryRepository.findForUpdate(userId, deltas.keySet())) {
+            usage.put(category.getName(), category.getUsageCount());
+        }
+        boolean changed = false;
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            long before = usage.getOrDefault(delta.getKey(), 0L);
+            userCategoryRepository.applyUsage(userId, delta.getKey(), delta.getValue());
+            changed |= (before > 0) != (before + delta.getValue() > 0);
+        }
+        return changed;
+    }
+
+    @Transactional
+    public void rebuild(Long userId) {
+        userCategoryRepository.deleteByUserId(userId);
+        userCategoryRepository.rebuildFromTransactions(userId);
+    }
+
+    /**
+     * Kategori yang sedang dipakai, urut abjad.
+     */
+    public List<String> getCategoryNames(Long userId) {
+        return userCategoryRepository.findNamesByUserId(userId);
+    }
+
+    /**
+     * Kategori yang paling sering dipakai lebih dulu, dibatasi sebanyak limit.
+     */
+    public List<String> getMostUsedCategoryNames(Long userId, int limit) {
+        return userCategoryRepository.findNamesByUsage(userId, PageRequest.ofSize(limit));
+    }
+}
@@ -0,0 +1,27 @@
+package com.finance.management.service;
+
+import com.finance.management.repository.UserDataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Versi data keuangan per user. bump dipanggil di akhir setiap method tulis transaksi, aset, utang,
+ * dan anggaran, di dalam transaksi database yang sama, sehingga versi baru terlihat bersamaan dengan
+ * datanya. Dipakai sebagai kunci cache snapshot kesehatan, file laporan, dan ETag endpoint JSON.
+ */
+@Service
+public class UserDataVersionService {
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Transactional
+    public void bump(Long userId) {
+        userDataVersionRepository.bump(userId);
+    }
+
+    public long getVersion(Long userId) {
+        return userDataVersionRepository.findVersion(userId).orElse(0L);
+    }
+}
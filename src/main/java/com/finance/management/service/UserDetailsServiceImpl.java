@@ -8,8 +8,7 @@ import org.springframework.stereotype.Service;
 
 import com.finance.management.model.User;
 import com.finance.management.repository.UserRepository;
-
-import java.util.Collections;
+import com.finance.management.security.UserPrincipal;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -22,9 +21,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User tidak ditemukan dengan username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singletonList(() -> "ROLE_USER"));
+        return UserPrincipal.from(user);
     }
 }
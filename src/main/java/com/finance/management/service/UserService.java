@@ -1,13 +1,17 @@
 package com.finance.management.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finance.management.config.CacheConfig;
 import com.finance.management.dto.PasswordChangeDto;
 import com.finance.management.dto.ProfileUpdateDto;
 import com.finance.management.dto.UserRegistrationDto;
+import com.finance.management.dto.UserSnapshot;
 import com.finance.management.model.User;
 import com.finance.management.repository.UserRepository;
 
@@ -42,9 +46,21 @@ public class UserService {
         return userRepository.findByUsername(username).orElse(null);
     }
 
+    /**
+     * Mengambil profil user berdasarkan id melalui cache "users", sebagai snapshot immutable.
+     * Entry dihapus oleh updateProfile dan changePassword setelah transaksinya commit (lihat CacheConfig).
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
+    public UserSnapshot getById(Long id) {
+        return userRepository.findById(id)
+                .map(UserSnapshot::from)
+                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
+    }
+
     @Transactional
-    public void changePassword(String username, PasswordChangeDto dto) {
-        User user = userRepository.findByUsername(username)
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void changePassword(Long userId, PasswordChangeDto dto) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
 
         if (!passwordEncoder.matches(dto.getOldPassword(), user.getPassword())) {
@@ -59,9 +75,10 @@ public class UserService {
         userRepository.save(user);
     }
 
-        @Transactional
-    public void updateProfile(String username, ProfileUpdateDto dto) {
-        User user = userRepository.findByUsername(username)
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void updateProfile(Long userId, ProfileUpdateDto dto) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
         
         user.setName(dto.getName());
@@ -0,0 +1,90 @@
+package db.migration;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Unique key (user_id, name) untuk assets, tempat AssetRepository.upsertCurrentValue bertabrakan saat
+ * dua penulisan pertama ke saldo Cash berjalan bersamaan. Tidak ada di V1, jadi database yang di-baseline
+ * juga mendapatkannya di sini.
+ *
+ * Aset dengan nama yang sama milik satu user lebih dulu digabung ke baris dengan id terkecil: nilainya
+ * dijumlah (setiap baris Cash ganda memegang sebagian saldo) dan tanggalnya diambil yang terakhir.
+ * Dilewati jika unique key sudah ada, misalnya dibuat oleh ddl-auto=update dari entity Asset.
+ */
+public class V1_2__Assets_unique_user_name extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (hasUniqueUserName(connection)) {
+            return;
+        }
+
+        mergeDuplicates(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE assets ADD CONSTRAINT uk_assets_user_name UNIQUE (user_id, name)");
+        }
+    }
+
+    private boolean hasUniqueUserName(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, Set<String>> uniqueIndexes = new HashMap<>();
+        for (String table : new String[] { "assets", "ASSETS" }) {
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true,
+                    false)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        uniqueIndexes.computeIfAbsent(index, key -> new HashSet<>()).add(column.toLowerCase());
+                    }
+                }
+            }
+        }
+        return uniqueIndexes.containsValue(Set.of("user_id", "name"));
+    }
+
+    private void mergeDuplicates(Connection connection) throws SQLException {
+        try (Statement select = connection.createStatement();
+                ResultSet rs = select.executeQuery("SELECT user_id, name, MIN(id), SUM(current_value), "
+                        + "MAX(acquisition_date) FROM assets GROUP BY user_id, name HAVING COUNT(*) > 1");
+                PreparedStatement keep = connection.prepareStatement(
+                        "UPDATE assets SET current_value = ?, acquisition_date = ? WHERE id = ?");
+                PreparedStatement drop = connection.prepareStatement(
+                        "DELETE FROM assets WHERE user_id = ? AND name = ? AND id <> ?")) {
+            while (rs.next()) {
+                long userId = rs.getLong(1);
+                String name = rs.getString(2);
+                long keptId = rs.getLong(3);
+                BigDecimal total = rs.getBigDecimal(4);
+                Date acquired = rs.getDate(5);
+
+                keep.setBigDecimal(1, total);
+                keep.setDate(2, acquired);
+                keep.setLong(3, keptId);
+                keep.addBatch();
+
+                drop.setLong(1, userId);
+                drop.setString(2, name);
+                drop.setLong(3, keptId);
+                drop.addBatch();
+            }
+            keep.executeBatch();
+            drop.executeBatch();
+        }
+    }
+}
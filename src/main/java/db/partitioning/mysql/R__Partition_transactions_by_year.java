@@ -0,0 +1,105 @@
+package db.partitioning.mysql;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Partisi RANGE per tahun untuk tabel transactions (khusus MySQL, opsional).
+ * Aktif hanya jika lokasi classpath:db/partitioning/mysql ditambahkan ke spring.flyway.locations.
+ *
+ * MySQL mensyaratkan kolom partisi ada di setiap unique key dan tidak mendukung foreign key pada
+ * tabel berpartisi, jadi pertama kali dijalankan migrasi ini menghapus FK transactions -> users
+ * (transaksi tidak lagi ikut terhapus otomatis bersama user) dan mengganti primary key menjadi
+ * (id, transaction_date). Checksum berganti setiap tahun, sehingga Flyway menjalankannya lagi
+ * sekali setahun untuk memecah partisi pmax menjadi partisi tahun-tahun berikutnya.
+ */
+public class R__Partition_transactions_by_year extends BaseJavaMigration {
+
+    // Jumlah tahun ke depan yang partisinya disiapkan lebih dulu
+    private static final int YEARS_AHEAD = 1;
+
+    @Override
+    public Integer getChecksum() {
+        return Year.now().getValue();
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        int lastYear = Year.now().getValue() + YEARS_AHEAD;
+
+        try (Statement statement = connection.createStatement()) {
+            TreeSet<Integer> existing = existingPartitionYears(statement);
+            if (existing == null) {
+                partitionTable(statement, lastYear);
+            } else {
+                int nextYear = existing.isEmpty() ? lastYear : existing.last() + 1;
+                for (int year = nextYear; year <= lastYear; year++) {
+                    statement.execute("ALTER TABLE transactions REORGANIZE PARTITION pmax INTO ("
+                            + partition(year) + ", PARTITION pmax VALUES LESS THAN MAXVALUE)");
+                }
+            }
+        }
+    }
+
+    private void partitionTable(Statement statement, int lastYear) throws SQLException {
+        List<String> foreignKeys = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery("SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' "
+                + "AND CONSTRAINT_TYPE = 'FOREIGN KEY'")) {
+            while (rs.next()) {
+                foreignKeys.add(rs.getString(1));
+            }
+        }
+        for (String foreignKey : foreignKeys) {
+            statement.execute("ALTER TABLE transactions DROP FOREIGN KEY `" + foreignKey + "`");
+        }
+        statement.execute("ALTER TABLE transactions DROP PRIMARY KEY, ADD PRIMARY KEY (id, transaction_date)");
+
+        int firstYear = lastYear;
+        try (ResultSet rs = statement.executeQuery("SELECT MIN(YEAR(transaction_date)) FROM transactions")) {
+            if (rs.next() && rs.getObject(1) != null) {
+                firstYear = Math.min(rs.getInt(1), lastYear);
+            }
+        }
+
+        StringBuilder ddl = new StringBuilder("ALTER TABLE transactions PARTITION BY RANGE (YEAR(transaction_date)) (");
+        for (int year = firstYear; year <= lastYear; year++) {
+            ddl.append(partition(year)).append(", ");
+        }
+        ddl.append("PARTITION pmax VALUES LESS THAN MAXVALUE)");
+        statement.execute(ddl.toString());
+    }
+
+    /**
+     * @return tahun dari partisi pYYYY yang sudah ada, atau null jika tabel belum berpartisi
+     */
+    private TreeSet<Integer> existingPartitionYears(Statement statement) throws SQLException {
+        TreeSet<Integer> years = new TreeSet<>();
+        boolean partitioned = false;
+        try (ResultSet rs = statement.executeQuery("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL")) {
+            while (rs.next()) {
+                partitioned = true;
+                String name = rs.getString(1);
+                if (name.matches("p\\d{4}")) {
+                    years.add(Integer.valueOf(name.substring(1)));
+                }
+            }
+        }
+        return partitioned ? years : null;
+    }
+
+    private static String partition(int year) {
+        return "PARTITION p" + year + " VALUES LESS THAN (" + (year + 1) + ")";
+    }
+}
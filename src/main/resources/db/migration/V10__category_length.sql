@@ -0,0 +1,5 @@
+-- Kategori 100 karakter di semua tabel. Database yang di-baseline dari ddl-auto=update masih punya
+-- VARCHAR(50) (panjang lama di entity) untuk transactions dan monthly_rollup; upsert rollup untuk
+-- kategori yang lebih panjang gagal dan read model tertinggal.
+ALTER TABLE transactions MODIFY category VARCHAR(100) NOT NULL;
+ALTER TABLE monthly_rollup MODIFY category VARCHAR(100) NOT NULL;
@@ -0,0 +1,6 @@
+-- DebtRepository.findDueForAutoPay melewati utang tanpa cicilan (monthly_installment NULL atau 0), yang
+-- tidak pernah dicap last_auto_paid_on dan sebelumnya terbaca lagi di setiap run. Kolom cicilan
+-- ditambahkan di akhir index supaya query tetap covering.
+DROP INDEX idx_debts_auto_pay_due ON debts;
+CREATE INDEX idx_debts_auto_pay_due ON debts (auto_pay, status, due_day_of_month, last_auto_paid_on, user_id, id,
+    monthly_installment);
@@ -0,0 +1,14 @@
+-- Read model total per (bulan, tipe, kategori). Tidak ada di V1, jadi database yang di-baseline juga
+-- mendapatkannya di sini; IF NOT EXISTS untuk database yang tabelnya sudah dibuat oleh ddl-auto=update.
+CREATE TABLE IF NOT EXISTS monthly_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    rollup_year INT NOT NULL,
+    rollup_month INT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    CONSTRAINT fk_monthly_rollup_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT uk_monthly_rollup_key UNIQUE (user_id, rollup_year, rollup_month, type, category)
+);
@@ -0,0 +1,58 @@
+-- Skema awal, sama dengan script SQL di README sebelum migrasi dikelola Flyway.
+-- Database lama yang dibuat dari script tersebut di-baseline pada versi ini (spring.flyway.baseline-on-migrate),
+-- jadi semua perubahan setelahnya harus ada di migrasi berikutnya, bukan di file ini.
+
+CREATE TABLE users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    name VARCHAR(100),
+    risk_profile VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    transaction_date DATE NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE assets (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    current_value DECIMAL(15, 2) NOT NULL,
+    acquisition_date DATE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE debts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    lender_name VARCHAR(100) NOT NULL,
+    initial_amount DECIMAL(15, 2) NOT NULL,
+    remaining_amount DECIMAL(15, 2) NOT NULL,
+    monthly_installment DECIMAL(15, 2),
+    due_day_of_month INT,
+    due_date DATE,
+    status VARCHAR(50) DEFAULT 'ACTIVE',
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE budgets (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    budget_year INT NOT NULL,
+    budget_month INT NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_budget (user_id, category, budget_year, budget_month)
+);
@@ -0,0 +1,25 @@
+-- Index komposit untuk setiap bentuk query di repository. user_id selalu di depan karena
+-- semua query dibatasi per user; kolom urutan/rentang menyusul, lalu kolom yang hanya dibaca
+-- (covering) supaya agregasi tidak perlu kembali ke baris tabel.
+
+-- TransactionRepository.findSliceByMonth (tanpa kategori) dan streamReportRows: rentang tanggal, urut (tanggal, id)
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, transaction_date, id);
+
+-- TransactionRepository.findSliceByMonth dengan filter kategori
+CREATE INDEX idx_transactions_user_category_date ON transactions (user_id, category, transaction_date, id);
+
+-- TransactionRepository.sumByCategory / sumByCategoryBetween (covering)
+CREATE INDEX idx_transactions_user_type_date ON transactions (user_id, type, transaction_date, category, amount);
+
+-- AssetRepository.findSliceByMonth; findByNameAndUserId memakai uk_assets_user_name
+CREATE INDEX idx_assets_user_acquired ON assets (user_id, acquisition_date, id);
+
+-- DebtRepository.findSliceAfterDueDate / findSliceWithoutDueDate, dengan dan tanpa filter status
+CREATE INDEX idx_debts_user_due ON debts (user_id, due_date, id);
+CREATE INDEX idx_debts_user_status_due ON debts (user_id, status, due_date, id);
+
+-- BudgetRepository.findByUser_IdAndBudgetYearAndBudgetMonth (unique_budget diawali kategori setelah user_id)
+CREATE INDEX idx_budgets_user_period ON budgets (user_id, budget_year, budget_month, category);
+
+-- MonthlyRollupRepository.sumTotal / sumMonthlyTotal / sumTotalsByType / sumByTypeBetween (covering)
+CREATE INDEX idx_monthly_rollup_user_type ON monthly_rollup (user_id, type, rollup_year, rollup_month, total_amount);
@@ -0,0 +1,8 @@
+-- Mengisi monthly_rollup dari transaksi yang sudah ada. Sebelumnya dilakukan saat aplikasi start;
+-- tidak melakukan apa pun jika tabel sudah terisi (misalnya oleh versi aplikasi sebelumnya).
+-- MySQL tidak mengizinkan tabel tujuan INSERT dibaca di subquery, kecuali sebagai derived table.
+INSERT INTO monthly_rollup (user_id, rollup_year, rollup_month, type, category, total_amount, transaction_count)
+SELECT user_id, YEAR(transaction_date), MONTH(transaction_date), type, category, SUM(amount), COUNT(*)
+FROM transactions
+WHERE NOT EXISTS (SELECT 1 FROM (SELECT id FROM monthly_rollup LIMIT 1) existing_rollup)
+GROUP BY user_id, YEAR(transaction_date), MONTH(transaction_date), type, category;
@@ -0,0 +1,14 @@
+-- Kamus kategori per user beserta jumlah pemakaiannya, dipelihara oleh aplikasi di setiap penulisan transaksi.
+CREATE TABLE user_categories (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    usage_count BIGINT NOT NULL,
+    CONSTRAINT fk_user_categories_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT uk_user_categories_user_name UNIQUE (user_id, name)
+);
+
+INSERT INTO user_categories (user_id, name, usage_count)
+SELECT user_id, category, COUNT(*)
+FROM transactions
+GROUP BY user_id, category;
@@ -0,0 +1,7 @@
+-- Versi data keuangan per user, dinaikkan di setiap penulisan transaksi, aset, atau utang.
+-- User tanpa baris dianggap berada di versi 0.
+CREATE TABLE user_data_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    CONSTRAINT fk_user_data_versions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
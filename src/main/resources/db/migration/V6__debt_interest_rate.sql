@@ -0,0 +1,2 @@
+-- Bunga tahunan utang dalam persen (contoh 12.50), dipakai proyeksi pelunasan. NULL berarti tanpa bunga.
+ALTER TABLE debts ADD COLUMN annual_interest_rate DECIMAL(5, 2);
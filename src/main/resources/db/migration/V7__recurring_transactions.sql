@@ -0,0 +1,31 @@
+-- Template transaksi berulang. next_run_date adalah tanggal kemunculan ke-next_occurrence yang belum
+-- diposting; dihitung dari start_date (bukan dari kemunculan sebelumnya) supaya tanggal 31 tidak bergeser.
+CREATE TABLE recurring_transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    frequency VARCHAR(20) NOT NULL,
+    interval_count INT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_occurrence INT NOT NULL,
+    next_run_date DATE NOT NULL,
+    active BOOLEAN NOT NULL,
+    CONSTRAINT fk_recurring_transactions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- RecurringTransactionRepository.findDueUserIds / findDueByUserIds: template aktif yang jatuh tempo
+CREATE INDEX idx_recurring_transactions_due ON recurring_transactions (active, next_run_date, user_id);
+
+-- Kunci per kemunculan yang sudah diposting. Ditulis di transaksi database yang sama dengan transaksinya,
+-- sehingga materializer yang diulang (setelah crash atau dari instance lain) tidak pernah memposting dua kali.
+CREATE TABLE recurring_transaction_occurrences (
+    recurring_transaction_id BIGINT NOT NULL,
+    occurrence_date DATE NOT NULL,
+    PRIMARY KEY (recurring_transaction_id, occurrence_date),
+    CONSTRAINT fk_recurring_occurrences_template FOREIGN KEY (recurring_transaction_id)
+        REFERENCES recurring_transactions (id) ON DELETE CASCADE
+);
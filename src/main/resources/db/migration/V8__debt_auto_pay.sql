@@ -0,0 +1,7 @@
+-- Bayar cicilan otomatis (opt-in per utang). last_auto_paid_on mencatat tanggal cicilan otomatis terakhir
+-- sehingga job yang diulang di bulan yang sama tidak membayar dua kali.
+ALTER TABLE debts ADD COLUMN auto_pay BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE debts ADD COLUMN last_auto_paid_on DATE;
+
+-- DebtRepository.findDueForAutoPay (covering): utang auto-pay ACTIVE yang jatuh tempo hari ini
+CREATE INDEX idx_debts_auto_pay_due ON debts (auto_pay, status, due_day_of_month, last_auto_paid_on, user_id, id);
@@ -0,0 +1,20 @@
+-- Seri kekayaan bersih harian per user (aset dan utang di akhir hari). Baris hanya ditulis pada hari
+-- nilainya berubah; hari tanpa baris bernilai sama dengan baris sebelumnya.
+CREATE TABLE net_worth_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    total_assets DECIMAL(17, 2) NOT NULL,
+    total_debts DECIMAL(17, 2) NOT NULL,
+    CONSTRAINT fk_net_worth_snapshots_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT uk_net_worth_snapshots_user_date UNIQUE (user_id, snapshot_date)
+);
+
+-- Versi data user yang terakhir tercatat di net_worth_snapshots; user dengan version > net_worth_version
+-- diproses job snapshot berikutnya
+ALTER TABLE user_data_versions ADD COLUMN net_worth_version BIGINT NOT NULL DEFAULT 0;
+
+-- User lama yang belum pernah menulis sejak user_data_versions ada juga perlu snapshot pertama
+INSERT INTO user_data_versions (user_id, version, net_worth_version)
+SELECT u.id, 1, 0 FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM user_data_versions v WHERE v.user_id = u.id);
@@ -48,4 +48,40 @@ document.addEventListener("DOMContentLoaded", function () {
       ctx.textAlign = "center";
       ctx.fillText("Gagal memuat data grafik.", ctx.canvas.width / 2, ctx.canvas.height / 2);
     });
+
+  fetch('/api/net-worth')
+    .then(response => response.json())
+    .then(series => {
+      const ctx = document.getElementById('netWorthChart').getContext('2d');
+      if (series.points.length === 0) {
+        ctx.font = "16px sans-serif";
+        ctx.textAlign = "center";
+        ctx.fillText("Belum ada riwayat kekayaan bersih.", ctx.canvas.width / 2, ctx.canvas.height / 2);
+        return;
+      }
+
+      new Chart(ctx, {
+        type: 'line',
+        data: {
+          labels: series.points.map(point => point.date),
+          datasets: [
+            { label: 'Kekayaan Bersih', data: series.points.map(point => point.netWorth), borderColor: '#4e73df', tension: 0.2 },
+            { label: 'Aset', data: series.points.map(point => point.totalAssets), borderColor: '#1cc88a', tension: 0.2 },
+            { label: 'Utang', data: series.points.map(point => point.totalDebts), borderColor: '#e74a3b', tension: 0.2 }
+          ]
+        },
+        options: {
+          responsive: true,
+          maintainAspectRatio: false,
+          plugins: {
+            legend: {
+              position: 'top',
+            }
+          }
+        }
+      });
+    })
+    .catch(error => {
+      console.error('Gagal mengambil riwayat kekayaan bersih:', error);
+    });
 });
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.finance.management;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+
+/**
+ * Transaksi baru (belum disimpan) untuk test, bertanggal hari ini kecuali disebutkan lain.
+ */
+public final class TestTransactions {
+
+	private TestTransactions() {
+	}
+
+	public static Transaction transaction(TransactionType type, String category, String amount) {
+		return transaction(type, category, amount, LocalDate.now());
+	}
+
+	public static Transaction transaction(TransactionType type, String category, String amount, LocalDate date) {
+		Transaction transaction = new Transaction();
+		transaction.setType(type);
+		transaction.setCategory(category);
+		transaction.setAmount(new BigDecimal(amount));
+		transaction.setTransactionDate(date);
+		return transaction;
+	}
+
+	public static Transaction expense(String category, String amount) {
+		return transaction(TransactionType.EXPENSE, category, amount);
+	}
+
+	public static Transaction expense(String category, String amount, LocalDate date) {
+		return transaction(TransactionType.EXPENSE, category, amount, date);
+	}
+}
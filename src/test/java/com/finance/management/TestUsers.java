@@ -0,0 +1,25 @@
+package com.finance.management;
+
+import com.finance.management.dto.UserRegistrationDto;
+import com.finance.management.model.User;
+import com.finance.management.service.UserService;
+
+/**
+ * Registrasi user untuk test lewat UserService, dengan email username@example.com dan password yang
+ * sama untuk semua user. Database test dipakai bersama, jadi username harus unik per test.
+ */
+public final class TestUsers {
+
+	public static final String PASSWORD = "secret123";
+
+	private TestUsers() {
+	}
+
+	public static User register(UserService userService, String username) {
+		UserRegistrationDto registration = new UserRegistrationDto();
+		registration.setUsername(username);
+		registration.setEmail(username + "@example.com");
+		registration.setPassword(PASSWORD);
+		return userService.registerNewUser(registration);
+	}
+}
@@ -0,0 +1,172 @@
+package com.finance.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.KeysetCursor;
+import com.finance.management.model.Budget;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.model.User;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.BudgetService;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApiControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Test
+	void unchangedDataIsAnsweredWithNotModified() throws Exception {
+		User user = TestUsers.register(userService, "etag-user");
+		UserPrincipal principal = UserPrincipal.from(user);
+
+		Transaction transaction = new Transaction();
+		transaction.setType(TransactionType.EXPENSE);
+		transaction.setCategory("Makan");
+		transaction.setAmount(new BigDecimal("25000"));
+		transaction.setTransactionDate(LocalDate.now());
+		transactionService.createTransaction(transaction, user.getId());
+
+		String etag = mockMvc.perform(get("/api/expense-summary").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/api/expense-summary").with(user(principal)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		// hanya versi data yang dibaca
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		// tag berbeda untuk URL lain milik user yang sama
+		mockMvc.perform(get("/api/transactions").with(user(principal)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+
+		Budget budget = new Budget();
+		budget.setCategory("Makan");
+		budget.setAmount(new BigDecimal("500000"));
+		budget.setBudgetYear(LocalDate.now().getYear());
+		budget.setBudgetMonth(LocalDate.now().getMonthValue());
+		budgetService.createOrUpdateBudget(budget, user.getId());
+
+		String newEtag = mockMvc.perform(get("/api/expense-summary").with(user(principal))
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(newEtag).isNotEqualTo(etag);
+	}
+
+	@Test
+	void budgetMatrixComesFromOneQuery() throws Exception {
+		User user = TestUsers.register(userService, "matrix-user");
+		UserPrincipal principal = UserPrincipal.from(user);
+
+		budgetService.createOrUpdateBudget(budget("Makan", "1000000", 1), user.getId());
+		budgetService.createOrUpdateBudget(budget("Makan", "1000000", 2), user.getId());
+		budgetService.createOrUpdateBudget(budget("Transport", "300000", 3), user.getId());
+		transactionService.createTransaction(expense("Makan", "250000.50", LocalDate.of(2024, 1, 5)), user.getId());
+		transactionService.createTransaction(expense("Makan", "1200000", LocalDate.of(2024, 2, 10)), user.getId());
+		transactionService.createTransaction(expense("Makan", "40000", LocalDate.of(2024, 4, 1)), user.getId());
+		transactionService.createTransaction(expense("Transport", "10000", LocalDate.of(2024, 3, 3)), user.getId());
+		// tanpa anggaran di tahun itu, atau di tahun lain: tidak masuk matriks
+		transactionService.createTransaction(expense("Hiburan", "5000", LocalDate.of(2024, 1, 7)), user.getId());
+		transactionService.createTransaction(expense("Makan", "99000", LocalDate.of(2023, 1, 7)), user.getId());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/api/budgets/matrix").param("year", "2024").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.year").value(2024))
+				.andExpect(jsonPath("$.categories[0]").value("Makan"))
+				.andExpect(jsonPath("$.categories[1]").value("Transport"))
+				.andExpect(jsonPath("$.categories.length()").value(2))
+				.andExpect(jsonPath("$.budgets[0][0]").value(100000000L))
+				.andExpect(jsonPath("$.budgets[0][3]").value(0))
+				.andExpect(jsonPath("$.actuals[0][0]").value(25000050L))
+				.andExpect(jsonPath("$.actuals[0][1]").value(120000000L))
+				.andExpect(jsonPath("$.actuals[0][3]").value(4000000L))
+				.andExpect(jsonPath("$.budgets[1][2]").value(30000000L))
+				.andExpect(jsonPath("$.actuals[1][2]").value(1000000L))
+				.andExpect(jsonPath("$.monthlyActualTotals[0]").value(25000050L))
+				.andExpect(jsonPath("$.monthlyBudgetTotals[2]").value(30000000L));
+		// versi data untuk ETag dan satu query matriks
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidPeriodOrCursorIsBadRequest() throws Exception {
+		UserPrincipal principal = UserPrincipal.from(TestUsers.register(userService, "bad-request-user"));
+
+		mockMvc.perform(get("/api/transactions").param("month", "13").with(user(principal)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").exists());
+		mockMvc.perform(get("/api/assets").param("cursor", "rusak").with(user(principal)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/transactions").param("cursor", "rusak").with(user(principal)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/assets").param("month", "13").with(user(principal)))
+				.andExpect(status().isBadRequest());
+		// cursor tanpa tanggal hanya sah di mode "Semua" (year/month 0)
+		String undated = new KeysetCursor(null, 5L).encode();
+		mockMvc.perform(get("/api/debts").param("year", "2026").param("month", "1").param("cursor", undated)
+				.with(user(principal)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/debts").param("cursor", undated).with(user(principal)))
+				.andExpect(status().isOk());
+	}
+
+	private static Budget budget(String category, String amount, int month) {
+		Budget budget = new Budget();
+		budget.setCategory(category);
+		budget.setAmount(new BigDecimal(amount));
+		budget.setBudgetYear(2024);
+		budget.setBudgetMonth(month);
+		return budget;
+	}
+
+	private static Transaction expense(String category, String amount, LocalDate date) {
+		Transaction transaction = new Transaction();
+		transaction.setType(TransactionType.EXPENSE);
+		transaction.setCategory(category);
+		transaction.setAmount(new BigDecimal(amount));
+		transaction.setTransactionDate(date);
+		return transaction;
+	}
+}
@@ -0,0 +1,94 @@
+package com.finance.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.AssetDto;
+import com.finance.management.model.Asset;
+import com.finance.management.model.AssetType;
+import com.finance.management.repository.AssetRepository;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.AssetService;
+import com.finance.management.service.UserService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AssetControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AssetService assetService;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Test
+	void renamingToAnExistingNameIsAFieldError() throws Exception {
+		UserPrincipal principal = UserPrincipal.from(TestUsers.register(userService, "asset-rename-user"));
+		assetService.depositToCash(new BigDecimal("100000"), principal.getId());
+		Long id = assetService.addOrUpdateAsset(asset("Emas", "2500000"), principal.getId()).getId();
+
+		mockMvc.perform(post("/assets/update/" + id).with(user(principal)).with(csrf())
+				.param("type", "INVESTMENT")
+				.param("name", "Cash")
+				.param("currentValue", "2500000"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("edit-asset"))
+				.andExpect(model().attributeHasFieldErrors("asset", "name"));
+		assertThat(assetRepository.findByIdAndUserId(id, principal.getId()).orElseThrow().getName())
+				.isEqualTo("Emas");
+
+		// Mengganti huruf besar/kecil nama sendiri tetap boleh
+		mockMvc.perform(post("/assets/update/" + id).with(user(principal)).with(csrf())
+				.param("type", "INVESTMENT")
+				.param("name", "EMAS")
+				.param("currentValue", "2500000"))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(flash().attributeExists("successMessage"));
+	}
+
+	@Test
+	void creatingAnExistingNameIsRejected() {
+		Long userId = TestUsers.register(userService, "asset-create-user").getId();
+		assetService.depositToCash(new BigDecimal("100000"), userId);
+
+		AssetDto cash = new AssetDto();
+		cash.setType(AssetType.CASH);
+		cash.setName("Cash");
+		cash.setCurrentValue(new BigDecimal("500000"));
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> assetService.createAsset(cash, userId));
+		assertThat(assetRepository.findByNameAndUserId("Cash", userId).orElseThrow().getCurrentValue())
+				.isEqualByComparingTo("100000");
+	}
+
+	private static Asset asset(String name, String value) {
+		Asset asset = new Asset();
+		asset.setType(AssetType.INVESTMENT);
+		asset.setName(name);
+		asset.setCurrentValue(new BigDecimal(value));
+		return asset;
+	}
+}
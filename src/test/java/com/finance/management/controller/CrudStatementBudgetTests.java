@@ -0,0 +1,260 @@
+package com.finance.management.controller;
+
+import static com.finance.management.TestTransactions.expense;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.model.Asset;
+import com.finance.management.model.AssetType;
+import com.finance.management.model.Debt;
+import com.finance.management.model.User;
+import com.finance.management.repository.AssetRepository;
+import com.finance.management.repository.DebtRepository;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.AssetService;
+import com.finance.management.service.DebtService;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Batas jumlah statement SQL per endpoint CRUD. Angka di sini sengaja tetap: kalau ada perubahan
+ * yang menambah query (misalnya lazy load user untuk cek kepemilikan), test ini yang pertama gagal.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CrudStatementBudgetTests {
+
+	// transaksi (id + pemilik)
+	private static final long EDIT_FORM_BUDGET = 1;
+
+	// Penulisan: baris buku besar, saldo Cash, versi data. Setelah commit, LedgerProjector (sinkron di test):
+	// upsert rollup, kunci pemakaian kategori yang berubah, upsert kategori, dan versi data hanya jika
+	// daftar kategori berubah (kategori baru atau pemakaian terakhirnya hilang)
+
+	// insert, saldo Cash, versi data | rollup, pemakaian, kategori, versi data (Transport baru)
+	private static final long ADD_TRANSACTION_BUDGET = 7;
+
+	// transaksi, update, versi data | rollup lama, rollup baru, pemakaian, kategori lama, kategori baru,
+	// versi data (Jajan baru)
+	private static final long UPDATE_TRANSACTION_BUDGET = 9;
+
+	// transaksi, delete, versi data | rollup, pemakaian, kategori, versi data (Jajan tidak dipakai lagi)
+	private static final long DELETE_TRANSACTION_BUDGET = 7;
+
+	// cari aset dengan nama sama, insert, transaksi pengeluaran, saldo Cash, versi data | rollup, pemakaian,
+	// kategori (Pembelian Aset sudah ada)
+	private static final long ADD_ASSET_BUDGET = 8;
+
+	// aset, cari aset lain dengan nama baru, update, versi data
+	private static final long UPDATE_ASSET_BUDGET = 4;
+
+	// delete berdasarkan id + pemilik, versi data
+	private static final long DELETE_BUDGET = 2;
+
+	// insert, versi data
+	private static final long ADD_DEBT_BUDGET = 2;
+
+	// utang, update, versi data
+	private static final long UPDATE_DEBT_BUDGET = 3;
+
+	// utang, transaksi pengeluaran, saldo Cash, update sisa utang, versi data | rollup, pemakaian, kategori,
+	// versi data (Pembayaran Utang baru)
+	private static final long PAY_DEBT_BUDGET = 9;
+
+	// halaman utang, versi data, semua utang untuk proyeksi pelunasan (jadwal dan proyeksi dari cache setelahnya)
+	private static final long DEBT_PAGE_BUDGET = 3;
+
+	// cari anggaran yang sama, insert atau update, versi data
+	private static final long ADD_BUDGET_BUDGET = 3;
+
+	// anggaran bulan ini, pengeluaran per kategori, matriks setahun, kamus kategori
+	private static final long BUDGET_PAGE_BUDGET = 4;
+
+	private static final String USERNAME = "crud-budget-user";
+
+	private static final String OTHER_USERNAME = "crud-budget-other";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private AssetService assetService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Autowired
+	private DebtRepository debtRepository;
+
+	private UserPrincipal principal;
+
+	private UserPrincipal otherPrincipal;
+
+	@BeforeEach
+	void seedUsers() {
+		principal = UserPrincipal.from(findOrRegister(USERNAME));
+		otherPrincipal = UserPrincipal.from(findOrRegister(OTHER_USERNAME));
+	}
+
+	@Test
+	void transactionEndpointsStayWithinStatementBudget() throws Exception {
+		Long id = transactionService.createTransaction(expense("Makan", "25000"), principal.getId()).getId();
+
+		assertStatements(EDIT_FORM_BUDGET, get("/transactions/edit/" + id), status().isOk());
+		assertStatements(ADD_TRANSACTION_BUDGET, post("/transactions/add")
+				.param("type", "EXPENSE")
+				.param("amount", "15000")
+				.param("category", "Transport")
+				.param("transactionDate", LocalDate.now().toString()), status().is3xxRedirection());
+		assertStatements(UPDATE_TRANSACTION_BUDGET, post("/transactions/update/" + id)
+				.param("type", "EXPENSE")
+				.param("amount", "30000")
+				.param("category", "Jajan")
+				.param("transactionDate", LocalDate.now().toString()), status().is3xxRedirection());
+		assertStatements(DELETE_TRANSACTION_BUDGET, post("/transactions/delete/" + id),
+				status().is3xxRedirection());
+	}
+
+	@Test
+	void assetEndpointsStayWithinStatementBudget() throws Exception {
+		Long id = assetService.addOrUpdateAsset(asset("Reksa Dana"), principal.getId()).getId();
+
+		assertStatements(EDIT_FORM_BUDGET, get("/assets/edit/" + id), status().isOk());
+		assertStatements(ADD_ASSET_BUDGET, post("/assets/add")
+				.param("type", "INVESTMENT")
+				.param("name", "Saham " + System.nanoTime())
+				.param("currentValue", "500000"), status().is3xxRedirection());
+		assertStatements(UPDATE_ASSET_BUDGET, post("/assets/update/" + id)
+				.param("type", "INVESTMENT")
+				.param("name", "Reksa Dana " + id)
+				.param("currentValue", "750000"), status().is3xxRedirection());
+		assertStatements(DELETE_BUDGET, post("/assets/delete/" + id), status().is3xxRedirection());
+		assertThat(assetRepository.existsById(id)).isFalse();
+	}
+
+	@Test
+	void debtEndpointsStayWithinStatementBudget() throws Exception {
+		Long id = debtService.createDebt(debt("Bank"), principal.getId()).getId();
+
+		assertStatements(EDIT_FORM_BUDGET, get("/debts/edit/" + id), status().isOk());
+		assertStatements(ADD_DEBT_BUDGET, post("/debts/add")
+				.param("lenderName", "Koperasi")
+				.param("initialAmount", "2000000")
+				.param("dueDayOfMonth", "10"), status().is3xxRedirection());
+		assertStatements(UPDATE_DEBT_BUDGET, post("/debts/update/" + id)
+				.param("lenderName", "Bank")
+				.param("initialAmount", "1000000")
+				.param("remainingAmount", "900000")
+				.param("status", "ACTIVE"), status().is3xxRedirection());
+		assertStatements(PAY_DEBT_BUDGET, post("/debts/pay")
+				.param("debtId", id.toString())
+				.param("amount", "100000"), flash().attributeExists("successMessage"));
+		assertStatements(DEBT_PAGE_BUDGET, get("/debts"), status().isOk());
+		assertStatements(DEBT_PAGE_BUDGET - 1, get("/debts"), status().isOk());
+		assertStatements(DELETE_BUDGET, post("/debts/delete/" + id), flash().attributeExists("successMessage"));
+		assertThat(debtRepository.existsById(id)).isFalse();
+	}
+
+	@Test
+	void budgetUpsertStaysWithinStatementBudget() throws Exception {
+		assertStatements(ADD_BUDGET_BUDGET, post("/budgets/add")
+				.param("category", "Makan")
+				.param("amount", "1500000")
+				.param("budgetYear", String.valueOf(LocalDate.now().getYear()))
+				.param("budgetMonth", String.valueOf(LocalDate.now().getMonthValue())),
+				status().is3xxRedirection());
+		assertStatements(BUDGET_PAGE_BUDGET, get("/budgets"), status().isOk());
+	}
+
+	@Test
+	void foreignRowsAreReportedAsMissing() throws Exception {
+		Long transactionId = transactionService.createTransaction(expense("Makan", "10000"),
+				otherPrincipal.getId()).getId();
+		Long assetId = assetService.addOrUpdateAsset(asset("Emas"), otherPrincipal.getId()).getId();
+		Long debtId = debtService.createDebt(debt("Teman"), otherPrincipal.getId()).getId();
+
+		assertThatThrownBy(() -> transactionService.getTransactionByIdAndUserId(transactionId, principal.getId()))
+				.hasMessageContaining("tidak ditemukan");
+		assertThatThrownBy(() -> assetService.getAssetByIdAndUserId(assetId, principal.getId()))
+				.hasMessageContaining("tidak ditemukan");
+		assertThatThrownBy(() -> debtService.getDebtByIdAndUserId(debtId, principal.getId()))
+				.hasMessageContaining("tidak ditemukan");
+
+		mockMvc.perform(post("/assets/delete/" + assetId).with(user(principal)).with(csrf()))
+				.andExpect(flash().attributeExists("errorMessage"));
+		mockMvc.perform(post("/debts/delete/" + debtId).with(user(principal)).with(csrf()))
+				.andExpect(flash().attributeExists("errorMessage"));
+		assertThat(assetRepository.existsById(assetId)).isTrue();
+		assertThat(debtRepository.existsById(debtId)).isTrue();
+	}
+
+	private void assertStatements(long budget, MockHttpServletRequestBuilder request, ResultMatcher expectation)
+			throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(request.with(user(principal)).with(csrf())).andExpect(expectation);
+		assertThat(statistics.getPrepareStatementCount()).as(request.buildRequest(null).getRequestURI())
+				.isEqualTo(budget);
+	}
+
+	private User findOrRegister(String username) {
+		User existing = userService.findByUsername(username);
+		if (existing != null) {
+			return existing;
+		}
+		return TestUsers.register(userService, username);
+	}
+
+
+	private static Asset asset(String name) {
+		Asset asset = new Asset();
+		asset.setType(AssetType.INVESTMENT);
+		asset.setName(name + " " + System.nanoTime());
+		asset.setCurrentValue(new BigDecimal("1000000"));
+		return asset;
+	}
+
+	private static DebtDto debt(String lenderName) {
+		DebtDto debt = new DebtDto();
+		debt.setLenderName(lenderName);
+		debt.setInitialAmount(new BigDecimal("1000000"));
+		debt.setDueDayOfMonth(5);
+		return debt;
+	}
+}
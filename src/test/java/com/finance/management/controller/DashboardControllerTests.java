@@ -0,0 +1,112 @@
+package com.finance.management.controller;
+
+import static com.finance.management.TestTransactions.transaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.finance.management.TestUsers;
+import com.finance.management.config.CacheConfig;
+import com.finance.management.model.Budget;
+import com.finance.management.model.TransactionType;
+import com.finance.management.model.User;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.BudgetService;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardControllerTests {
+
+	// versi data, rollup, aset, utang, kategori terbesar, user (profil risiko), anggaran, ringkasan pengeluaran
+	private static final long COLD_DASHBOARD_STATEMENT_BUDGET = 8;
+
+	// snapshot kesehatan dari cache: versi data, anggaran, ringkasan pengeluaran
+	private static final long WARM_DASHBOARD_STATEMENT_BUDGET = 3;
+
+	private static final String USERNAME = "dashboard-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private UserPrincipal principal;
+
+	@BeforeEach
+	void seedUser() {
+		User existing = userService.findByUsername(USERNAME);
+		if (existing != null) {
+			principal = UserPrincipal.from(existing);
+			return;
+		}
+		User user = TestUsers.register(userService, USERNAME);
+		principal = UserPrincipal.from(user);
+
+		for (int i = 0; i < 20; i++) {
+			transactionService.createTransaction(transaction(TransactionType.INCOME, "Gaji", "100000"), user.getId());
+			transactionService.createTransaction(transaction(TransactionType.EXPENSE, "Makan", "25000"), user.getId());
+		}
+
+		Budget budget = new Budget();
+		budget.setCategory("Makan");
+		budget.setAmount(new BigDecimal("1000000"));
+		budget.setBudgetYear(LocalDate.now().getYear());
+		budget.setBudgetMonth(LocalDate.now().getMonthValue());
+		budgetService.createOrUpdateBudget(budget, user.getId());
+	}
+
+	@Test
+	void dashboardRenderStaysWithinStatementBudget() throws Exception {
+		cacheManager.getCache(CacheConfig.HEALTH_SNAPSHOTS).clear();
+		cacheManager.getCache(CacheConfig.USERS).clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get("/dashboard").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(model().attribute("totalPemasukanBulanIni", new BigDecimal("2000000.00")))
+				.andExpect(model().attribute("totalPengeluaranBulanIni", new BigDecimal("500000.00")))
+				.andExpect(model().attributeExists("recommendations"));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(COLD_DASHBOARD_STATEMENT_BUDGET);
+
+		statistics.clear();
+		mockMvc.perform(get("/dashboard").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(model().attribute("totalPemasukanBulanIni", new BigDecimal("2000000.00")));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(WARM_DASHBOARD_STATEMENT_BUDGET);
+	}
+}
@@ -0,0 +1,142 @@
+package com.finance.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.management.TestUsers;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.model.User;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportControllerTests {
+
+	@TempDir
+	static Path reportCacheDir;
+
+	@DynamicPropertySource
+	static void reportCacheDir(DynamicPropertyRegistry registry) {
+		registry.add("app.report.cache-dir", () -> reportCacheDir.toString());
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Test
+	void reportIsRenderedInBackgroundAndReusedUntilDataChanges() throws Exception {
+		User user = TestUsers.register(userService, "report-user");
+		UserPrincipal principal = UserPrincipal.from(user);
+		transactionService.createTransaction(expense("Makan", "25000"), user.getId());
+
+		JsonNode first = waitUntilFinished(submit(principal), principal);
+		assertThat(first.get("status").asText()).isEqualTo("DONE");
+
+		MockHttpServletResponse download = mockMvc
+				.perform(get("/reports/jobs/{id}/download", first.get("id").asText()).with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "application/pdf"))
+				.andReturn().getResponse();
+		assertThat(new String(download.getContentAsByteArray(), 0, 4)).isEqualTo("%PDF");
+		String text = PdfTextExtractor.getTextFromPage(new PdfReader(download.getContentAsByteArray()), 1);
+		assertThat(text).contains("Total Pengeluaran: Rp25.000,00", "Hasil Bersih: -Rp25.000,00");
+		mockMvc.perform(get("/reports/jobs/{id}/download", first.get("id").asText()).with(user(principal))
+				.header(HttpHeaders.IF_NONE_MATCH, download.getHeader(HttpHeaders.ETAG)))
+				.andExpect(status().isNotModified());
+
+		// data belum berubah: job baru langsung selesai dari file yang sudah ada
+		JsonNode repeat = submit(principal);
+		assertThat(repeat.get("status").asText()).isEqualTo("DONE");
+		assertThat(repeat.get("dataVersion").asLong()).isEqualTo(first.get("dataVersion").asLong());
+
+		transactionService.createTransaction(expense("Transport", "10000"), user.getId());
+		JsonNode afterWrite = submit(principal);
+		assertThat(afterWrite.get("dataVersion").asLong()).isGreaterThan(first.get("dataVersion").asLong());
+		assertThat(waitUntilFinished(afterWrite, principal).get("status").asText()).isEqualTo("DONE");
+
+		// job milik user lain tidak terlihat
+		mockMvc.perform(get("/reports/jobs/{id}", first.get("id").asText()).with(user(otherUser())))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void invalidPeriodIsABadRequest() throws Exception {
+		UserPrincipal principal = UserPrincipal.from(TestUsers.register(userService, "report-invalid-period-user"));
+		for (String month : new String[] { "0", "13" }) {
+			mockMvc.perform(post("/reports/jobs").with(user(principal)).with(csrf())
+					.param("year", "2025")
+					.param("month", month))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	private JsonNode submit(UserPrincipal principal) throws Exception {
+		LocalDate today = LocalDate.now();
+		String body = mockMvc.perform(post("/reports/jobs").with(user(principal)).with(csrf())
+				.param("year", String.valueOf(today.getYear()))
+				.param("month", String.valueOf(today.getMonthValue())))
+				.andExpect(status().isAccepted())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private JsonNode waitUntilFinished(JsonNode job, UserPrincipal principal) throws Exception {
+		for (int attempt = 0; attempt < 100 && !job.get("finished").asBoolean(); attempt++) {
+			Thread.sleep(100);
+			String body = mockMvc.perform(get("/reports/jobs/{id}", job.get("id").asText()).with(user(principal)))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			job = objectMapper.readTree(body);
+		}
+		return job;
+	}
+
+	private UserPrincipal otherUser() {
+		return UserPrincipal.from(TestUsers.register(userService, "report-other-user"));
+	}
+
+	private static Transaction expense(String category, String amount) {
+		Transaction transaction = new Transaction();
+		transaction.setType(TransactionType.EXPENSE);
+		transaction.setCategory(category);
+		transaction.setAmount(new BigDecimal(amount));
+		transaction.setTransactionDate(LocalDate.now());
+		return transaction;
+	}
+}
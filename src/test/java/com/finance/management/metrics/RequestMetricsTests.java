@@ -0,0 +1,102 @@
+package com.finance.management.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.finance.management.TestUsers;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.model.User;
+import com.finance.management.security.UserPrincipal;
+import com.finance.management.service.TransactionService;
+import com.finance.management.service.UserService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "management.endpoints.web.exposure.include=health,prometheus",
+		"app.metrics.username=scraper", "app.metrics.password=scrape-secret" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class RequestMetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Test
+	void dashboardRequestPublishesHibernateAndServiceMetrics() throws Exception {
+		User user = TestUsers.register(userService, "metrics-user");
+		for (int i = 0; i < 3; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setType(TransactionType.EXPENSE);
+			transaction.setCategory("Makan");
+			transaction.setAmount(new BigDecimal("10000"));
+			transaction.setTransactionDate(LocalDate.now());
+			transactionService.createTransaction(transaction, user.getId());
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/transactions").with(user(UserPrincipal.from(user))))
+				.andExpect(status().isOk());
+
+		DistributionSummary statements = meterRegistry.get("app.request.sql.statements")
+				.tag("handler", "TransactionController#showTransactionPage").summary();
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat((long) statements.totalAmount()).isEqualTo(statistics.getPrepareStatementCount());
+		assertThat(meterRegistry.get("app.request.entities.loaded")
+				.tag("handler", "TransactionController#showTransactionPage").summary().totalAmount())
+				.isEqualTo(3);
+
+		Timer serviceTimer = meterRegistry.get("app.service.calls")
+				.tags("class", "TransactionService", "method", "findSliceByMonth", "exception", "none").timer();
+		assertThat(serviceTimer.count()).isEqualTo(1);
+
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("app_request_sql_statements")));
+	}
+
+	@Test
+	void onlyTheMetricsScraperCanReadPrometheus() throws Exception {
+		User user = TestUsers.register(userService, "metrics-anonymous-user");
+
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "salah")))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").with(user(UserPrincipal.from(user))))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,49 @@
+package com.finance.management.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinningMonitorTests {
+
+	private final Object lock = new Object();
+
+	@Test
+	void sleepingInsideSynchronizedIsRecordedWithItsSource() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor();
+		ReflectionTestUtils.setField(monitor, "meterRegistry", registry);
+		ReflectionTestUtils.setField(monitor, "threshold", Duration.ofMillis(5));
+		monitor.start();
+		try {
+			Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+			Timer pinned = null;
+			long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while (pinned == null && System.nanoTime() < deadline) {
+				pinned = registry.find("app.virtual-threads.pinned").tag("source", "com.finance").timer();
+				Thread.sleep(100);
+			}
+			assertThat(pinned).isNotNull();
+			assertThat(pinned.count()).isGreaterThanOrEqualTo(1);
+		} finally {
+			monitor.stop();
+		}
+	}
+
+	private void sleepWhileHoldingMonitor() {
+		synchronized (lock) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
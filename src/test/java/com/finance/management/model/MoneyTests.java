@@ -0,0 +1,65 @@
+package com.finance.management.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MoneyTests {
+
+	@Test
+	void convertsToAndFromTwoDecimalColumns() {
+		assertThat(Money.of(new BigDecimal("12345.67")).getMinorUnits()).isEqualTo(1_234_567);
+		assertThat(Money.of(new BigDecimal("10.005")).getMinorUnits()).isEqualTo(1_001);
+		assertThat(Money.of(new BigDecimal("-0.004"))).isSameAs(Money.ZERO);
+		assertThat(Money.ofMinor(1_234_567).toBigDecimal()).isEqualTo(new BigDecimal("12345.67"));
+
+		MoneyConverter converter = new MoneyConverter();
+		assertThat(converter.convertToEntityAttribute(new BigDecimal("9999999999999.99")).getMinorUnits())
+				.isEqualTo(999_999_999_999_999L);
+		assertThat(converter.convertToDatabaseColumn(Money.ofMinor(-250))).isEqualTo(new BigDecimal("-2.50"));
+		assertThat(converter.convertToEntityAttribute(null)).isNull();
+	}
+
+	@Test
+	void arithmeticFailsOnOverflowInsteadOfWrapping() {
+		Money max = Money.ofMinor(Long.MAX_VALUE);
+
+		assertThat(Money.ofMinor(150).plus(Money.ofMinor(250)).minus(Money.ofMinor(400))).isSameAs(Money.ZERO);
+		assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> max.times(2)).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).negate()).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.sum(List.of(max, Money.ofMinor(1)), Function.identity()))
+				.isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.of(new BigDecimal("1E20"))).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("100000000000000000.00")))
+				.isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.sumMinor(List.of(Long.MAX_VALUE, 1L), Long::longValue))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void sumMatchesBigDecimalAddition() {
+		List<BigDecimal> amounts = List.of(new BigDecimal("0.10"), new BigDecimal("0.20"), new BigDecimal("1500000.35"));
+
+		assertThat(Money.sum(amounts, Money::of).toBigDecimal())
+				.isEqualTo(amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+		assertThat(Money.sumMinor(amounts, Money::toMinorUnits).toBigDecimal())
+				.isEqualTo(amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+		assertThat(Money.toMinorUnits(new BigDecimal("-12.34"))).isEqualTo(-1_234);
+	}
+
+	@Test
+	void serializesAsADecimalNumber() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		assertThat(mapper.writeValueAsString(Money.ofMinor(1_050))).isEqualTo("10.50");
+		assertThat(mapper.readValue("10.5", Money.class)).isEqualTo(Money.ofMinor(1_050));
+	}
+}
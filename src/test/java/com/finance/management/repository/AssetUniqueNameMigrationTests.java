@@ -0,0 +1,52 @@
+package com.finance.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Database yang di-baseline pada V1 bisa sudah punya baris Cash ganda dari penulisan pertama yang
+ * balapan sebelum ada unique key. V1_2 harus menggabungnya tanpa mengubah total aset user.
+ */
+class AssetUniqueNameMigrationTests {
+
+	@Test
+	void mergesDuplicateAssetRowsBeforeAddingTheUniqueKey() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:asset_unique_name;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+		Flyway.configure().dataSource(dataSource).target("1.1").load().migrate();
+		jdbc.update("INSERT INTO users (id, username, email, password) VALUES (1, 'dup', 'dup@test', 'x')");
+		jdbc.update("INSERT INTO assets (user_id, type, name, current_value, acquisition_date) "
+				+ "VALUES (1, 'CASH', 'Cash', 100000.00, '2025-01-03')");
+		jdbc.update("INSERT INTO assets (user_id, type, name, current_value, acquisition_date) "
+				+ "VALUES (1, 'CASH', 'Cash', -25000.00, '2025-01-05')");
+		jdbc.update("INSERT INTO assets (user_id, type, name, current_value, acquisition_date) "
+				+ "VALUES (1, 'PROPERTY', 'Rumah', 500000000.00, '2020-06-01')");
+
+		Flyway.configure().dataSource(dataSource).load().migrate();
+
+		List<Map<String, Object>> cash = jdbc.queryForList(
+				"SELECT id, current_value, acquisition_date FROM assets WHERE user_id = 1 AND name = 'Cash'");
+		assertThat(cash).hasSize(1);
+		assertThat(cash.get(0).get("id")).isEqualTo(1L);
+		assertThat((BigDecimal) cash.get(0).get("current_value")).isEqualByComparingTo("75000.00");
+		assertThat(cash.get(0).get("acquisition_date").toString()).isEqualTo("2025-01-05");
+		assertThat(jdbc.queryForObject("SELECT SUM(current_value) FROM assets WHERE user_id = 1", BigDecimal.class))
+				.isEqualByComparingTo("500075000.00");
+
+		assertThatThrownBy(() -> jdbc.update("INSERT INTO assets (user_id, type, name, current_value) "
+				+ "VALUES (1, 'CASH', 'Cash', 1.00)"))
+				.isInstanceOf(DataIntegrityViolationException.class);
+	}
+}
@@ -0,0 +1,20 @@
+package com.finance.management.repository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Menyimpan SQL yang dihasilkan Hibernate supaya QueryPlanTests bisa menjalankan EXPLAIN atas query yang sebenarnya.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+	static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		CAPTURED.add(sql);
+		return sql;
+	}
+}
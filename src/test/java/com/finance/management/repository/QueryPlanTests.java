@@ -0,0 +1,182 @@
+package com.finance.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finance.management.dto.KeysetCursor;
+import com.finance.management.model.AssetType;
+import com.finance.management.model.DebtStatus;
+import com.finance.management.model.TransactionType;
+
+/**
+ * Menjalankan setiap query repository, menangkap SQL yang dihasilkan Hibernate, lalu memeriksa
+ * EXPLAIN dari H2: tidak boleh ada tabel yang dibaca dengan full table scan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.finance.management.repository.CapturingStatementInspector")
+class QueryPlanTests {
+
+	private static final Long USER_ID = 1L;
+	private static final LocalDate START = LocalDate.of(2025, 1, 1);
+	private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Autowired
+	private DebtRepository debtRepository;
+
+	@Autowired
+	private BudgetRepository budgetRepository;
+
+	@Autowired
+	private MonthlyRollupRepository monthlyRollupRepository;
+
+	@Autowired
+	private UserCategoryRepository userCategoryRepository;
+
+	@Autowired
+	private UserDataVersionRepository userDataVersionRepository;
+
+	@Autowired
+	private RecurringTransactionRepository recurringTransactionRepository;
+
+	@Autowired
+	private NetWorthSnapshotRepository netWorthSnapshotRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void clearCapturedSql() {
+		CapturingStatementInspector.CAPTURED.clear();
+	}
+
+	@Test
+	void repositoryQueriesUseIndexes() {
+		Map<String, Runnable> queries = new LinkedHashMap<>();
+		KeysetCursor first = KeysetCursor.FIRST;
+		PageRequest page = PageRequest.ofSize(10);
+
+		queries.put("transactions.findSliceByMonth", () -> transactionRepository.findSliceByMonth(USER_ID, START,
+				END, null, first.getDate(), first.getId(), page));
+		queries.put("transactions.findSliceByMonth(category)", () -> transactionRepository.findSliceByMonth(USER_ID,
+				START, END, "Makan", first.getDate(), first.getId(), page));
+		queries.put("transactions.findByIdAndUserId", () -> transactionRepository.findByIdAndUserId(1L, USER_ID));
+		queries.put("transactions.findAllByUserId", () -> transactionRepository.findAllByUserId(USER_ID));
+		queries.put("transactions.findAllByUserIdAndTransactionDateBetween",
+				() -> transactionRepository.findAllByUserIdAndTransactionDateBetween(USER_ID, START, END));
+		queries.put("transactions.streamReportRows", () -> transactionTemplate.executeWithoutResult(
+				status -> transactionRepository.streamReportRows(USER_ID, START, END).close()));
+		queries.put("transactions.sumByCategory",
+				() -> transactionRepository.sumByCategory(USER_ID, TransactionType.EXPENSE));
+		queries.put("transactions.sumByCategoryBetween",
+				() -> transactionRepository.sumByCategoryBetween(USER_ID, TransactionType.EXPENSE, START, END));
+
+		queries.put("assets.findByIdAndUserId", () -> assetRepository.findByIdAndUserId(1L, USER_ID));
+		queries.put("assets.deleteByIdAndUserId", () -> transactionTemplate.executeWithoutResult(
+				status -> assetRepository.deleteByIdAndUserId(-1L, USER_ID)));
+		queries.put("assets.findByNameAndUserId", () -> assetRepository.findByNameAndUserId("Cash", USER_ID));
+		queries.put("assets.findByUserId", () -> assetRepository.findByUserId(USER_ID));
+		queries.put("assets.sumCurrentValueByUserId", () -> assetRepository.sumCurrentValueByUserId(USER_ID));
+		queries.put("assets.findSliceByMonth", () -> assetRepository.findSliceByMonth(USER_ID, START, END,
+				AssetType.CASH, first.getDate(), first.getId(), page));
+		queries.put("assets.addToCurrentValue", () -> transactionTemplate.executeWithoutResult(
+				status -> assetRepository.addToCurrentValue(USER_ID, "Cash", BigDecimal.ONE, START)));
+
+		queries.put("debts.findByIdAndUserId", () -> debtRepository.findByIdAndUserId(1L, USER_ID));
+		queries.put("debts.deleteByIdAndUserId", () -> transactionTemplate.executeWithoutResult(
+				status -> debtRepository.deleteByIdAndUserId(-1L, USER_ID)));
+		queries.put("debts.findByUserId", () -> debtRepository.findByUserId(USER_ID));
+		queries.put("debts.sumTotalsByUserId", () -> debtRepository.sumTotalsByUserId(USER_ID, DebtStatus.ACTIVE));
+		queries.put("debts.findSliceAfterDueDate", () -> debtRepository.findSliceAfterDueDate(USER_ID,
+				DebtStatus.ACTIVE, null, null, first.getDate(), first.getId(), page));
+		queries.put("debts.findDueForAutoPay",
+				() -> debtRepository.findDueForAutoPay(DebtStatus.ACTIVE, 31, LocalDate.of(2025, 2, 1)));
+		queries.put("debts.findSliceWithoutDueDate",
+				() -> debtRepository.findSliceWithoutDueDate(USER_ID, null, Long.MAX_VALUE, page));
+
+		queries.put("budgets.findByUser_IdAndBudgetYearAndBudgetMonth",
+				() -> budgetRepository.findByUser_IdAndBudgetYearAndBudgetMonth(USER_ID, 2025, 1));
+		queries.put("budgets.findBudgetActualCells", () -> budgetRepository.findBudgetActualCells(USER_ID, 2025));
+		queries.put("budgets.findByCategoryAndUser_IdAndBudgetYearAndBudgetMonth",
+				() -> budgetRepository.findByCategoryAndUser_IdAndBudgetYearAndBudgetMonth("Makan", USER_ID, 2025, 1));
+
+		queries.put("monthlyRollup.sumTotal", () -> monthlyRollupRepository.sumTotal(USER_ID, TransactionType.INCOME));
+		queries.put("monthlyRollup.sumMonthlyTotal",
+				() -> monthlyRollupRepository.sumMonthlyTotal(USER_ID, TransactionType.INCOME, 2025, 1));
+		queries.put("monthlyRollup.sumTotalsByType", () -> monthlyRollupRepository.sumTotalsByType(USER_ID, 2025, 1));
+		queries.put("monthlyRollup.sumByTypeBetween",
+				() -> monthlyRollupRepository.sumByTypeBetween(USER_ID, 202501, 202512));
+		queries.put("monthlyRollup.findTopCategories", () -> monthlyRollupRepository.findTopCategories(USER_ID,
+				TransactionType.EXPENSE, 2025, 1, PageRequest.ofSize(1)));
+		// dijalankan dalam transaksi yang di-rollback supaya data test tidak berubah
+		queries.put("monthlyRollup.rebuild", () -> transactionTemplate.executeWithoutResult(status -> {
+			monthlyRollupRepository.deleteByUserId(USER_ID);
+			monthlyRollupRepository.rebuildFromTransactions(USER_ID);
+			status.setRollbackOnly();
+		}));
+
+		queries.put("user_categories.findNamesByUserId", () -> userCategoryRepository.findNamesByUserId(USER_ID));
+		queries.put("user_categories.findNamesByUsage",
+				() -> userCategoryRepository.findNamesByUsage(USER_ID, page));
+		queries.put("user_categories.rebuild", () -> transactionTemplate.executeWithoutResult(status -> {
+			userCategoryRepository.deleteByUserId(USER_ID);
+			userCategoryRepository.rebuildFromTransactions(USER_ID);
+			status.setRollbackOnly();
+		}));
+		queries.put("recurring_transactions.findByUserId",
+				() -> recurringTransactionRepository.findByUserId(USER_ID));
+		queries.put("recurring_transactions.findDueUserIds",
+				() -> recurringTransactionRepository.findDueUserIds(END, 0L, page));
+		queries.put("recurring_transactions.findDueByUserIds",
+				() -> recurringTransactionRepository.findDueByUserIds(END, List.of(USER_ID, 2L)));
+		queries.put("user_data_versions.findVersion", () -> userDataVersionRepository.findVersion(USER_ID));
+		queries.put("user_data_versions.findChangedSinceNetWorthSnapshot",
+				() -> userDataVersionRepository.findChangedSinceNetWorthSnapshot(0L, page));
+		queries.put("net_worth_snapshots.findRange", () -> netWorthSnapshotRepository.findRange(USER_ID, START, END));
+		queries.put("net_worth_snapshots.findLatestBefore",
+				() -> netWorthSnapshotRepository.findLatestBefore(USER_ID, START, PageRequest.ofSize(1)));
+		queries.put("users.findByUsername", () -> userRepository.findByUsername("someone"));
+		queries.put("users.existsByUsername", () -> userRepository.existsByUsername("someone"));
+		queries.put("users.existsByEmail", () -> userRepository.existsByEmail("someone@example.com"));
+
+		List<String> fullScans = new ArrayList<>();
+		queries.forEach((name, query) -> {
+			CapturingStatementInspector.CAPTURED.clear();
+			query.run();
+			assertThat(CapturingStatementInspector.CAPTURED).as(name).isNotEmpty();
+			for (String sql : CapturingStatementInspector.CAPTURED) {
+				String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+				if (plan.toLowerCase().contains("tablescan")) {
+					fullScans.add(name + ":\n" + plan);
+				}
+			}
+		});
+
+		assertThat(fullScans).as("query yang jatuh ke full table scan").isEmpty();
+	}
+}
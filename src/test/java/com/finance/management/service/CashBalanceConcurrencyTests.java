@@ -0,0 +1,82 @@
+package com.finance.management.service;
+
+import static com.finance.management.TestTransactions.transaction;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.model.Asset;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.repository.AssetRepository;
+import com.finance.management.repository.TransactionRepository;
+
+@SpringBootTest
+class CashBalanceConcurrencyTests {
+
+	private static final int THREADS = 8;
+	private static final int TRANSACTIONS_PER_THREAD = 50;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Test
+	void concurrentTransactionsKeepCashEqualToLedger() throws Exception {
+		Long userId = TestUsers.register(userService, "cash-stress-user").getId();
+
+		// Semua thread mulai bersamaan, termasuk saat baris Cash belum ada
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < TRANSACTIONS_PER_THREAD; i++) {
+					boolean income = (thread + i) % 3 != 0;
+					transactionService.createTransaction(
+							transaction(income ? TransactionType.INCOME : TransactionType.EXPENSE,
+									income ? "Gaji" : "Makan", String.valueOf(1000 + thread * 10 + i)),
+							userId);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		BigDecimal ledger = BigDecimal.ZERO;
+		List<Transaction> transactions = transactionRepository.findAllByUserId(userId);
+		for (Transaction transaction : transactions) {
+			ledger = transaction.getType() == TransactionType.INCOME ? ledger.add(transaction.getAmount())
+					: ledger.subtract(transaction.getAmount());
+		}
+
+		Asset cash = assetRepository.findByNameAndUserId(AssetService.DEFAULT_CASH_ASSET_NAME, userId).orElseThrow();
+		assertThat(transactions).hasSize(THREADS * TRANSACTIONS_PER_THREAD);
+		assertThat(cash.getCurrentValue()).isEqualByComparingTo(ledger);
+	}
+}
@@ -0,0 +1,212 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.AutoPayResult;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.model.Debt;
+import com.finance.management.model.DebtStatus;
+import com.finance.management.repository.AssetRepository;
+import com.finance.management.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "app.debt.auto-pay.workers=2")
+class DebtAutoPayServiceTests {
+
+	// Hari terakhir Februari: utang dengan jatuh tempo tanggal 28-31 ikut dibayar
+	private static final LocalDate TODAY = LocalDate.of(2025, 2, 28);
+
+	private static final LocalDate CREATED = LocalDate.of(2025, 2, 1);
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private DebtAutoPayService debtAutoPayService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void paysDueInstallmentsOncePerMonth() {
+		Long first = TestUsers.register(userService, "autopay-user").getId();
+		Long second = TestUsers.register(userService, "autopay-other-user").getId();
+		Long loan = debtService.createDebt(debt("Bank", "5000000", "1000000", 28, true), first, CREATED).getId();
+		Long almostPaid = debtService.createDebt(debt("Koperasi", "300000", "500000", 28, true), first, CREATED)
+				.getId();
+		Long manual = debtService.createDebt(debt("Teman", "1000000", "100000", 28, false), first, CREATED).getId();
+		Long missed = debtService.createDebt(debt("Kartu Kredit", "1000000", "100000", 10, true), first, CREATED)
+				.getId();
+		Long endOfMonth = debtService.createDebt(debt("Leasing", "2000000", "200000", 31, true), second, CREATED)
+				.getId();
+		// Tanpa cicilan tidak pernah jatuh tempo, jadi tidak terbaca di setiap run
+		Long noInstallment = debtService.createDebt(debt("Arisan", "500000", null, 10, true), second, CREATED)
+				.getId();
+
+		// Belum ada yang jatuh tempo sebelum tanggal 10
+		assertThat(debtAutoPayService.payDue(LocalDate.of(2025, 2, 9)).getDueDebts()).isZero();
+
+		// Run tanggal 10 tidak terjadi: cicilan Kartu Kredit dikejar di run berikutnya bulan ini
+		AutoPayResult result = debtAutoPayService.payDue(TODAY);
+
+		assertThat(result.getDueDebts()).isEqualTo(4);
+		assertThat(result.getUsers()).isEqualTo(2);
+		assertThat(result.getPaidDebts()).isEqualTo(4);
+		assertThat(result.getPaidOffDebts()).isEqualTo(1);
+		assertThat(result.getFailedChunks()).isZero();
+
+		assertRemaining(loan, first, "4000000", DebtStatus.ACTIVE);
+		assertRemaining(almostPaid, first, "0", DebtStatus.PAID);
+		assertRemaining(manual, first, "1000000", DebtStatus.ACTIVE);
+		assertRemaining(missed, first, "900000", DebtStatus.ACTIVE);
+		assertRemaining(endOfMonth, second, "1800000", DebtStatus.ACTIVE);
+		assertRemaining(noInstallment, second, "500000", DebtStatus.ACTIVE);
+		assertThat(transactionRepository.findAllByUserId(first))
+				.allMatch(tx -> tx.getCategory().equals("Pembayaran Utang") && tx.getTransactionDate().equals(TODAY))
+				.hasSize(3);
+		assertThat(assetRepository.findByNameAndUserId("Cash", first).orElseThrow().getCurrentValue())
+				.isEqualByComparingTo("-1400000");
+
+		// Run ulang di bulan yang sama tidak membayar lagi
+		assertThat(debtAutoPayService.payDue(TODAY).getPaidDebts()).isZero();
+		assertRemaining(loan, first, "4000000", DebtStatus.ACTIVE);
+		assertThat(meterRegistry.get("app.debt.auto-pay.paid").counter().count()).isEqualTo(4);
+		assertThat(meterRegistry.get("app.debt.auto-pay.throughput").gauge().value()).isZero();
+
+		// Bulan berikutnya cicilan dibayar lagi; Leasing (tanggal 31) belum jatuh tempo pada 28 Maret
+		assertThat(debtAutoPayService.payDue(LocalDate.of(2025, 3, 28)).getPaidDebts()).isEqualTo(2);
+		assertRemaining(loan, first, "3000000", DebtStatus.ACTIVE);
+		assertRemaining(missed, first, "800000", DebtStatus.ACTIVE);
+		assertRemaining(endOfMonth, second, "1800000", DebtStatus.ACTIVE);
+	}
+
+	@Test
+	void skipsInstallmentsThatAreNotDueYetOrAlreadyPaidThisMonth() {
+		Long userId = TestUsers.register(userService, "autopay-settled-user").getId();
+		// Dibuat tanggal 15, jatuh tempo tanggal 10: cicilan pertama bulan depan
+		Long late = debtService.createDebt(debt("Pinjol", "1000000", "100000", 10, true), userId,
+				LocalDate.of(2025, 4, 15)).getId();
+		// Sudah dibayar manual sebesar cicilan pada tanggal jatuh tempo
+		Long paidManually = debtService.createDebt(debt("Saudara", "1000000", "100000", 20, true), userId,
+				LocalDate.of(2025, 4, 1)).getId();
+		debtService.makePayment(paidManually, new BigDecimal("100000"), userId, LocalDate.of(2025, 4, 20));
+		// Auto-pay baru dicentang setelah jatuh tempo
+		Long switched = debtService.createDebt(debt("Kantor", "1000000", "100000", 10, false), userId,
+				LocalDate.of(2025, 4, 1)).getId();
+		Debt update = debtService.getDebtByIdAndUserId(switched, userId);
+		update.setAutoPay(true);
+		debtService.updateDebt(switched, update, userId, LocalDate.of(2025, 4, 15));
+
+		debtAutoPayService.payDue(LocalDate.of(2025, 4, 30));
+
+		assertRemaining(late, userId, "1000000", DebtStatus.ACTIVE);
+		assertRemaining(paidManually, userId, "900000", DebtStatus.ACTIVE);
+		assertRemaining(switched, userId, "1000000", DebtStatus.ACTIVE);
+
+		// Chunk yang dikirim sebelum jatuh tempo tidak membayar apa pun
+		assertThat(debtService.payDueInstallments(List.of(late, switched), LocalDate.of(2025, 5, 9))).isEmpty();
+
+		debtAutoPayService.payDue(LocalDate.of(2025, 5, 20));
+
+		assertRemaining(late, userId, "900000", DebtStatus.ACTIVE);
+		assertRemaining(paidManually, userId, "800000", DebtStatus.ACTIVE);
+		assertRemaining(switched, userId, "900000", DebtStatus.ACTIVE);
+	}
+
+	@Test
+	void partialOrEarlyManualPaymentsDoNotReplaceTheInstallment() {
+		Long userId = TestUsers.register(userService, "autopay-partial-user").getId();
+		LocalDate created = LocalDate.of(2025, 7, 1);
+		Long partial = debtService.createDebt(debt("Bank", "1000000", "100000", 10, true), userId, created).getId();
+		Long early = debtService.createDebt(debt("Koperasi", "1000000", "100000", 10, true), userId, created)
+				.getId();
+		LocalDate payday = LocalDate.of(2025, 7, 10);
+
+		// Sebagian cicilan setelah jatuh tempo, dan cicilan penuh sebelum jatuh tempo
+		debtService.makePayment(partial, new BigDecimal("30000"), userId, payday);
+		debtService.makePayment(early, new BigDecimal("100000"), userId, LocalDate.of(2025, 7, 5));
+
+		assertThat(debtService.payDueInstallments(List.of(partial, early), payday)).hasSize(2);
+		assertRemaining(partial, userId, "870000", DebtStatus.ACTIVE);
+		assertRemaining(early, userId, "800000", DebtStatus.ACTIVE);
+	}
+
+	@Test
+	void manualPaymentDuringAutoPayKeepsBothPayments() throws Exception {
+		Long userId = TestUsers.register(userService, "autopay-race-user").getId();
+		Long debtId = debtService.createDebt(debt("Bank", "1000000", "100000", 10, true), userId,
+				LocalDate.of(2025, 6, 1)).getId();
+		LocalDate payday = LocalDate.of(2025, 6, 10);
+
+		// Pembayaran manual dimulai saat job sudah membayar cicilan tetapi belum commit
+		CountDownLatch autoPaid = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<?> manual = executor.submit(() -> {
+			autoPaid.await();
+			debtService.makePayment(debtId, new BigDecimal("50000"), userId, payday);
+			return null;
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(debtService.payDueInstallments(List.of(debtId), payday)).hasSize(1);
+			autoPaid.countDown();
+			try {
+				Thread.sleep(300);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			// Baris utang masih dikunci job, jadi pembayaran manual menunggu
+			assertThat(manual.isDone()).isFalse();
+		});
+		manual.get(10, TimeUnit.SECONDS);
+		executor.shutdown();
+
+		assertRemaining(debtId, userId, "850000", DebtStatus.ACTIVE);
+		assertThat(transactionRepository.findAllByUserId(userId)).hasSize(2);
+		assertThat(assetRepository.findByNameAndUserId("Cash", userId).orElseThrow().getCurrentValue())
+				.isEqualByComparingTo("-150000");
+	}
+
+	private void assertRemaining(Long debtId, Long userId, String remaining, DebtStatus status) {
+		Debt debt = debtService.getDebtByIdAndUserId(debtId, userId);
+		assertThat(debt.getRemainingAmount()).as(debt.getLenderName()).isEqualByComparingTo(remaining);
+		assertThat(debt.getStatus()).as(debt.getLenderName()).isEqualTo(status);
+	}
+
+	private static DebtDto debt(String lender, String amount, String installment, int dueDay, boolean autoPay) {
+		DebtDto debt = new DebtDto();
+		debt.setLenderName(lender);
+		debt.setInitialAmount(new BigDecimal(amount));
+		debt.setMonthlyInstallment(installment == null ? null : new BigDecimal(installment));
+		debt.setDueDayOfMonth(dueDay);
+		debt.setAutoPay(autoPay);
+		return debt;
+	}
+}
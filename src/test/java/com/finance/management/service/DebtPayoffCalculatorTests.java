@@ -0,0 +1,95 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.finance.management.dto.AmortizationSchedule;
+import com.finance.management.dto.DebtTerms;
+import com.finance.management.model.PayoffStrategy;
+
+class DebtPayoffCalculatorTests {
+
+	@Test
+	void monthlyInterestIsRoundedToTheNearestCent() {
+		// 12% per tahun dari Rp 1.000,01 = 10,0001 sen
+		assertThat(DebtPayoffCalculator.monthlyInterest(100_001, 1200)).isEqualTo(1_000);
+		assertThat(DebtPayoffCalculator.monthlyInterest(150, 1200)).isEqualTo(2);
+		// saldo maksimum DECIMAL(15,2) dengan bunga 99,99% tidak overflow
+		assertThat(DebtPayoffCalculator.monthlyInterest(999_999_999_999_999L, 9_999))
+				.isEqualTo(83_325_000_000_000L);
+	}
+
+	@Test
+	void scheduleAmortizesUntilTheBalanceIsZero() {
+		// Rp 12 juta, bunga 12%, cicilan Rp 1 juta: 13 bulan
+		AmortizationSchedule schedule = DebtPayoffCalculator.schedule(new DebtTerms(1_200_000_000, 100_000_000, 1200));
+
+		assertThat(schedule.isPaidOff()).isTrue();
+		assertThat(schedule.getMonths()).isEqualTo(13);
+		assertThat(schedule.getBalances()[0]).isEqualTo(1_112_000_000);
+		assertThat(schedule.getBalances()[12]).isZero();
+		assertThat(schedule.getTotalInterest()).isEqualTo(84_779_133);
+	}
+
+	@Test
+	void installmentBelowInterestNeverPaysOff() {
+		AmortizationSchedule schedule = DebtPayoffCalculator.schedule(new DebtTerms(1_200_000_000, 1_000_000, 1200));
+
+		assertThat(schedule.isPaidOff()).isFalse();
+		assertThat(schedule.getMonths()).isEqualTo(-1);
+
+		DebtPayoffCalculator.Result result = DebtPayoffCalculator.simulate(
+				new DebtTerms[] { new DebtTerms(99_999_999_999_999L, 0, 9_999) }, PayoffStrategy.AVALANCHE, 0);
+		assertThat(result.payoffMonths()).containsExactly(-1);
+	}
+
+	@Test
+	void minimumWithoutExtraMatchesPerDebtSchedules() {
+		DebtTerms[] debts = { new DebtTerms(500_000_000, 25_000_000, 1800), new DebtTerms(200_000_000, 30_000_000, 0) };
+
+		DebtPayoffCalculator.Result result = DebtPayoffCalculator.simulate(debts, PayoffStrategy.MINIMUM, 0);
+
+		for (int i = 0; i < debts.length; i++) {
+			AmortizationSchedule schedule = DebtPayoffCalculator.schedule(debts[i]);
+			assertThat(result.payoffMonths()[i]).isEqualTo(schedule.getMonths());
+			assertThat(result.interestPaid()[i]).isEqualTo(schedule.getTotalInterest());
+		}
+	}
+
+	@Test
+	void avalancheMinimizesInterestAndSnowballClearsSmallDebtsFirst() {
+		DebtTerms[] debts = {
+				new DebtTerms(1_000_000_000, 30_000_000, 2400),
+				new DebtTerms(300_000_000, 5_000_000, 600),
+				new DebtTerms(2_000_000_000, 50_000_000, 1200) };
+
+		DebtPayoffCalculator.Result minimum = DebtPayoffCalculator.simulate(debts, PayoffStrategy.MINIMUM, 0);
+		DebtPayoffCalculator.Result avalanche = DebtPayoffCalculator.simulate(debts, PayoffStrategy.AVALANCHE,
+				20_000_000);
+		DebtPayoffCalculator.Result snowball = DebtPayoffCalculator.simulate(debts, PayoffStrategy.SNOWBALL,
+				20_000_000);
+
+		assertThat(total(avalanche.interestPaid())).isLessThan(total(snowball.interestPaid()))
+				.isLessThan(total(minimum.interestPaid()));
+		assertThat(avalanche.payoffMonths()[0]).isLessThan(avalanche.payoffMonths()[1]);
+		assertThat(snowball.payoffMonths()[1]).isLessThan(snowball.payoffMonths()[0]);
+		assertThat(max(avalanche.payoffMonths())).isLessThan(max(minimum.payoffMonths()));
+	}
+
+	private static long total(long[] values) {
+		long total = 0;
+		for (long value : values) {
+			total += value;
+		}
+		return total;
+	}
+
+	private static int max(int[] values) {
+		int max = 0;
+		for (int value : values) {
+			max = Math.max(max, value);
+		}
+		return max;
+	}
+}
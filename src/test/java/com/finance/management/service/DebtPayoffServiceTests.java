@@ -0,0 +1,78 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.AmortizationSchedule;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.DebtPayoffPlan;
+import com.finance.management.model.Debt;
+import com.finance.management.model.PayoffStrategy;
+
+@SpringBootTest
+class DebtPayoffServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private DebtPayoffService debtPayoffService;
+
+	@Test
+	void plansAreReusedUntilADebtChanges() {
+		Long userId = TestUsers.register(userService, "payoff-plan-user").getId();
+		Long cardId = debtService.createDebt(debt("Kartu Kredit", "10000000", "300000", "24"), userId).getId();
+		debtService.createDebt(debt("Koperasi", "3000000", "50000", "6"), userId);
+
+		List<DebtPayoffPlan> plans = debtPayoffService.comparePlans(userId, new BigDecimal("200000"));
+		assertThat(plans).extracting(DebtPayoffPlan::getStrategy).containsExactly(PayoffStrategy.values());
+		DebtPayoffPlan avalanche = plans.get(PayoffStrategy.AVALANCHE.ordinal());
+		assertThat(avalanche.isPaidOff()).isTrue();
+		assertThat(avalanche.getDebts()).hasSize(2);
+		assertThat(avalanche.getTotalInterest()).isLessThan(plans.get(PayoffStrategy.MINIMUM.ordinal()).getTotalInterest());
+		assertThat(debtPayoffService.getPlan(userId, PayoffStrategy.AVALANCHE, new BigDecimal("200000")))
+				.isSameAs(avalanche);
+
+		debtService.makePayment(cardId, new BigDecimal("5000000"), userId);
+
+		DebtPayoffPlan afterPayment = debtPayoffService.getPlan(userId, PayoffStrategy.AVALANCHE,
+				new BigDecimal("200000"));
+		assertThat(afterPayment).isNotSameAs(avalanche);
+		assertThat(afterPayment.getMonths()).isLessThan(avalanche.getMonths());
+	}
+
+	@Test
+	void schedulesAreCachedPerDebtTerms() {
+		Long userId = TestUsers.register(userService, "payoff-schedule-user").getId();
+		Debt debt = debtService.createDebt(debt("Bank", "12000000", "1000000", "12"), userId);
+
+		AmortizationSchedule schedule = debtPayoffService.getSchedule(debt);
+		assertThat(schedule.getMonths()).isEqualTo(13);
+		assertThat(debtPayoffService.getSchedule(debtService.getDebtByIdAndUserId(debt.getId(), userId)))
+				.isSameAs(schedule);
+
+		debtService.makePayment(debt.getId(), new BigDecimal("6000000"), userId);
+
+		assertThat(debtPayoffService.getSchedule(debtService.getDebtByIdAndUserId(debt.getId(), userId)).getMonths())
+				.isEqualTo(7);
+	}
+
+	private static DebtDto debt(String lender, String amount, String installment, String rate) {
+		DebtDto debt = new DebtDto();
+		debt.setLenderName(lender);
+		debt.setInitialAmount(new BigDecimal(amount));
+		debt.setMonthlyInstallment(new BigDecimal(installment));
+		debt.setAnnualInterestRate(new BigDecimal(rate));
+		return debt;
+	}
+}
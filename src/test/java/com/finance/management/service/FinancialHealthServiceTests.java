@@ -0,0 +1,74 @@
+package com.finance.management.service;
+
+import static com.finance.management.TestTransactions.transaction;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.HealthSnapshot;
+import com.finance.management.model.TransactionType;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class FinancialHealthServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private FinancialHealthService financialHealthService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void snapshotIsReusedUntilAWriteBumpsTheDataVersion() {
+		Long userId = TestUsers.register(userService, "health-snapshot-user").getId();
+		transactionService.createTransaction(transaction(TransactionType.INCOME, "Gaji", "1000000"), userId);
+		transactionService.createTransaction(transaction(TransactionType.EXPENSE, "Makan", "300000"), userId);
+		transactionService.createTransaction(transaction(TransactionType.EXPENSE, "Transport", "100000"), userId);
+
+		HealthSnapshot first = financialHealthService.getHealthSnapshot(userId);
+		assertThat(first.getTotalAssets()).isEqualByComparingTo("600000");
+		assertThat(first.getTopExpenseCategory()).isEqualTo("Makan");
+		assertThat(first.getSavingsRate().getStatus()).isEqualTo("Sangat Baik");
+
+		// user untuk profil risiko ikut masuk cache
+		financialHealthService.generateDynamicRecommendations(userId);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		// metrik dan rekomendasi memakai snapshot yang sama, hanya versi data yang dibaca ulang
+		assertThat(financialHealthService.calculateSavingsRate(userId)).isSameAs(first.getSavingsRate());
+		assertThat(financialHealthService.calculateDebtToAssetRatio(userId)).isSameAs(first.getDebtToAssetRatio());
+		financialHealthService.generateDynamicRecommendations(userId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+		DebtDto debt = new DebtDto();
+		debt.setLenderName("Bank");
+		debt.setInitialAmount(new BigDecimal("900000"));
+		debtService.createDebt(debt, userId);
+
+		HealthSnapshot afterDebt = financialHealthService.getHealthSnapshot(userId);
+		assertThat(afterDebt.getVersion()).isGreaterThan(first.getVersion());
+		assertThat(afterDebt.getTotalDebt()).isEqualByComparingTo("900000");
+		assertThat(afterDebt.getDebtToAssetRatio().getStatus()).isEqualTo("Berisiko");
+		assertThat(financialHealthService.generateDynamicRecommendations(userId))
+				.anySatisfy(recommendation -> assertThat(recommendation.getPriority()).isEqualTo("HIGH"));
+	}
+}
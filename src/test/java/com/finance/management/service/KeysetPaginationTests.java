@@ -0,0 +1,124 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.CursorPage;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.KeysetCursor;
+import com.finance.management.model.Debt;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class KeysetPaginationTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void transactionPagesVisitEveryRowOnceWithoutCountQueries() {
+		Long userId = TestUsers.register(userService, "keyset-transactions").getId();
+		LocalDate date = LocalDate.of(2025, 3, 10);
+		List<Transaction> transactions = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setType(TransactionType.EXPENSE);
+			transaction.setCategory(i % 2 == 0 ? "Makan" : "Transport");
+			transaction.setAmount(new BigDecimal("1000"));
+			// banyak baris dengan tanggal yang sama, supaya id ikut menentukan urutan
+			transaction.setTransactionDate(date.plusDays(i % 3));
+			transactions.add(transaction);
+		}
+		transactionService.createTransactions(transactions, userId);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<Transaction> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			CursorPage<Transaction> page = transactionService.findSliceByMonth(userId, 2025, 3, null, cursor, 10);
+			seen.addAll(page.getContent());
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(pages).isEqualTo(3);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+		assertThat(seen).hasSize(25);
+		assertThat(seen).extracting(Transaction::getId).doesNotHaveDuplicates();
+		assertThat(seen).isSortedAccordingTo(Comparator.comparing(Transaction::getTransactionDate)
+				.thenComparing(Transaction::getId).reversed());
+	}
+
+	@Test
+	void debtPagesContinueIntoDebtsWithoutDueDate() {
+		Long userId = TestUsers.register(userService, "keyset-debts").getId();
+		for (int i = 0; i < 7; i++) {
+			createDebt(userId, "Kreditur " + i, LocalDate.of(2026, 1 + i % 4, 15));
+		}
+		for (int i = 0; i < 3; i++) {
+			createDebt(userId, "Tanpa jatuh tempo " + i, null);
+		}
+
+		List<Debt> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<Debt> page = debtService.findSliceByFilter(userId, 0, 0, null, cursor, 3);
+			seen.addAll(page.getContent());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(seen).hasSize(10);
+		assertThat(seen).extracting(Debt::getId).doesNotHaveDuplicates();
+		assertThat(seen.subList(7, 10)).allMatch(debt -> debt.getDueDate() == null);
+	}
+
+	@Test
+	void undatedCursorIsRejectedOutsideAllMode() {
+		Long userId = TestUsers.register(userService, "keyset-undated-cursor").getId();
+		String undated = new KeysetCursor(null, Long.MAX_VALUE).encode();
+
+		assertThat(debtService.findSliceByFilter(userId, 0, 0, null, undated, 3).getContent()).isEmpty();
+		assertThatThrownBy(() -> debtService.findSliceByFilter(userId, 2026, 1, null, undated, 3))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> transactionService.findSliceByMonth(userId, 2025, 3, null, undated, 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void createDebt(Long userId, String lender, LocalDate dueDate) {
+		DebtDto debt = new DebtDto();
+		debt.setLenderName(lender);
+		debt.setInitialAmount(new BigDecimal("1000000"));
+		debt.setMonthlyInstallment(new BigDecimal("100000"));
+		debt.setDueDayOfMonth(15);
+		debt.setDueDate(dueDate);
+		debtService.createDebt(debt, userId);
+	}
+}
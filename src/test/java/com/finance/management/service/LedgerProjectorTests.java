@@ -0,0 +1,176 @@
+package com.finance.management.service;
+
+import static com.finance.management.TestTransactions.expense;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.model.TransactionType;
+import com.finance.management.repository.MonthlyRollupRepository;
+import com.finance.management.repository.UserCategoryRepository;
+
+@SpringBootTest(properties = "app.async.enabled=true")
+class LedgerProjectorTests {
+
+	private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+	private static final LocalDate DAY = MONTH.atDay(10);
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private MonthlyRollupService monthlyRollupService;
+
+	@Autowired
+	private ProjectionReplayService projectionReplayService;
+
+	@Autowired
+	private MonthlyRollupRepository monthlyRollupRepository;
+
+	@Autowired
+	private UserCategoryRepository userCategoryRepository;
+
+	@Autowired
+	private UserDataVersionService userDataVersionService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void rollupIsCurrentAndCategoriesCatchUpAfterCommit() throws Exception {
+		Long userId = TestUsers.register(userService, "projector-user").getId();
+		transactionService.createTransaction(expense("Makan", "40000", DAY), userId);
+		transactionService.createTransactions(List.of(expense("Makan", "10000", DAY), expense("Transport", "5000", DAY)),
+				userId);
+		Long debtId = debtService.createDebt(debt(), userId).getId();
+		debtService.makePayment(debtId, new BigDecimal("100000"), userId);
+
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE))
+				.isEqualByComparingTo("55000.00");
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, YearMonth.now(), TransactionType.EXPENSE))
+				.isEqualByComparingTo("100000.00");
+		assertThat(monthlyRollupService.getTopCategory(userId, MONTH, TransactionType.EXPENSE)).hasValueSatisfying(top -> {
+			assertThat(top.getCategory()).isEqualTo("Makan");
+			assertThat(top.getType()).isEqualTo(TransactionType.EXPENSE);
+			assertThat(top.getTotal()).isEqualByComparingTo("50000.00");
+			assertThat(top.getCount()).isEqualTo(2);
+		});
+		awaitCategories(userId, "Makan", "Pembayaran Utang", "Transport");
+	}
+
+	@Test
+	void rollupIsUpdatedInTheWritersTransaction() {
+		Long userId = TestUsers.register(userService, "projector-same-tx-user").getId();
+		transactionTemplate.executeWithoutResult(status -> {
+			transactionService.createTransaction(expense("Makan", "25000", DAY), userId);
+			assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE))
+					.isEqualByComparingTo("25000");
+			status.setRollbackOnly();
+		});
+
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE)).isZero();
+	}
+
+	@Test
+	void rolledBackWritesAreNeverProjected() throws Exception {
+		Long userId = TestUsers.register(userService, "projector-rollback-user").getId();
+		transactionTemplate.executeWithoutResult(status -> {
+			transactionService.createTransaction(expense("Makan", "70000", DAY), userId);
+			status.setRollbackOnly();
+		});
+		transactionService.createTransaction(expense("Makan", "30000", DAY), userId);
+
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE))
+				.isEqualByComparingTo("30000.00");
+	}
+
+	@Test
+	void versionIsBumpedAfterCommitOnlyWhenTheCategoryListChanges() {
+		Long userId = TestUsers.register(userService, "projector-version-user").getId();
+		Long makanId = transactionService.createTransaction(expense("Makan", "10000", DAY), userId).getId();
+		long version = userDataVersionService.getVersion(userId);
+
+		// Kategori yang sudah dipakai: hanya kenaikan versi dari penulisnya
+		transactionService.createTransaction(expense("Makan", "5000", DAY), userId);
+		assertThat(userDataVersionService.getVersion(userId)).isEqualTo(version + 1);
+
+		// Kategori baru muncul di saran, jadi versi naik lagi setelah proyeksi
+		Long transportId = transactionService.createTransaction(expense("Transport", "5000", DAY), userId).getId();
+		assertThat(userDataVersionService.getVersion(userId)).isEqualTo(version + 3);
+
+		// Makan masih dipakai satu transaksi lain; Transport kehilangan pemakaian terakhirnya
+		transactionService.deleteTransaction(makanId, userId);
+		assertThat(userDataVersionService.getVersion(userId)).isEqualTo(version + 4);
+		transactionService.deleteTransaction(transportId, userId);
+		assertThat(userDataVersionService.getVersion(userId)).isEqualTo(version + 6);
+		assertThat(transactionService.getUniqueCategories(userId)).containsExactly("Makan");
+	}
+
+	@Test
+	void replayRebuildsReadModelsFromTransactions() throws Exception {
+		Long userId = TestUsers.register(userService, "projector-replay-user").getId();
+		transactionService.createTransactions(List.of(expense("Makan", "20000", DAY), expense("Belanja", "15000", DAY)),
+				userId);
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE))
+				.isEqualByComparingTo("35000.00");
+		awaitCategories(userId, "Belanja", "Makan");
+
+		transactionTemplate.executeWithoutResult(status -> {
+			monthlyRollupRepository.deleteByUserId(userId);
+			userCategoryRepository.deleteByUserId(userId);
+		});
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE)).isZero();
+
+		projectionReplayService.replay(userId);
+
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE))
+				.isEqualByComparingTo("35000");
+		assertThat(transactionService.getUniqueCategories(userId)).containsExactly("Belanja", "Makan");
+	}
+
+	@Test
+	void longCategoriesAreProjected() throws Exception {
+		Long userId = TestUsers.register(userService, "projector-long-category-user").getId();
+		String category = "Cicilan kendaraan bermotor dan biaya perawatan bulanan keluarga besar";
+		transactionService.createTransaction(expense(category, "12000", DAY), userId);
+
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, MONTH, TransactionType.EXPENSE))
+				.isEqualByComparingTo("12000");
+		awaitCategories(userId, category);
+	}
+
+	private void awaitCategories(Long userId, String... expected) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!transactionService.getUniqueCategories(userId).equals(List.of(expected))
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(transactionService.getUniqueCategories(userId)).containsExactly(expected);
+	}
+
+
+	private static DebtDto debt() {
+		DebtDto debt = new DebtDto();
+		debt.setLenderName("Bank");
+		debt.setInitialAmount(new BigDecimal("1000000"));
+		return debt;
+	}
+}
@@ -0,0 +1,191 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.AssetDto;
+import com.finance.management.dto.DebtDto;
+import com.finance.management.dto.NetWorthPoint;
+import com.finance.management.dto.NetWorthSeries;
+import com.finance.management.model.AssetType;
+import com.finance.management.model.Budget;
+import com.finance.management.model.Money;
+import com.finance.management.model.NetWorthSnapshot;
+import com.finance.management.repository.NetWorthSnapshotRepository;
+import com.finance.management.repository.NetWorthSnapshotWriter;
+import com.finance.management.repository.UserDataVersionRepository;
+
+@SpringBootTest
+class NetWorthServiceTests {
+
+	private static final LocalDate DAY = LocalDate.of(2024, 6, 10);
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AssetService assetService;
+
+	@Autowired
+	private DebtService debtService;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private NetWorthService netWorthService;
+
+	@Autowired
+	private NetWorthSnapshotJob netWorthSnapshotJob;
+
+	@Autowired
+	private NetWorthSnapshotRepository netWorthSnapshotRepository;
+
+	@Autowired
+	private NetWorthSnapshotWriter netWorthSnapshotWriter;
+
+	@Autowired
+	private UserDataVersionRepository userDataVersionRepository;
+
+	@Test
+	void snapshotsOnlyUsersWhoseTotalsChanged() {
+		Long userId = TestUsers.register(userService, "net-worth-user").getId();
+		assetService.createAsset(asset("Tabungan", "10000000"), userId);
+		debtService.createDebt(debt("Bank", "4000000"), userId);
+
+		netWorthSnapshotJob.snapshot(DAY);
+		assertThat(snapshots(userId)).singleElement().satisfies(snapshot -> {
+			assertThat(snapshot.getSnapshotDate()).isEqualTo(DAY);
+			assertThat(snapshot.getTotalAssets()).isEqualTo(Money.of(new BigDecimal("10000000")));
+			assertThat(snapshot.getTotalDebts()).isEqualTo(Money.of(new BigDecimal("4000000")));
+		});
+		assertChangedSinceSnapshot(userId, false);
+
+		// Tanpa perubahan user ini tidak dihitung ulang
+		netWorthSnapshotJob.snapshot(DAY.plusDays(1));
+		assertThat(snapshots(userId)).hasSize(1);
+
+		// Anggaran menaikkan versi tapi tidak mengubah kekayaan bersih: tidak ada snapshot baru
+		budgetService.createOrUpdateBudget(budget(), userId);
+		assertChangedSinceSnapshot(userId, true);
+		netWorthSnapshotJob.snapshot(DAY.plusDays(2));
+		assertThat(snapshots(userId)).hasSize(1);
+		assertChangedSinceSnapshot(userId, false);
+
+		assetService.createAsset(asset("Emas", "2500000"), userId);
+		netWorthSnapshotJob.snapshot(DAY.plusDays(3));
+		assertThat(snapshots(userId)).extracting(NetWorthSnapshot::getSnapshotDate)
+				.containsExactly(DAY, DAY.plusDays(3));
+
+		// Nilai harian disimpan sebagai seri bertingkat: hari tanpa snapshot memakai snapshot sebelumnya
+		NetWorthSeries series = netWorthService.getSeries(userId, DAY.minusDays(1), DAY.plusDays(4), 100);
+		assertThat(series.getResolution()).isEqualTo(NetWorthSeries.Resolution.DAY);
+		assertThat(series.getPoints()).extracting(NetWorthPoint::getDate)
+				.containsExactly(DAY, DAY.plusDays(1), DAY.plusDays(2), DAY.plusDays(3), DAY.plusDays(4));
+		assertThat(series.getPoints()).extracting(NetWorthPoint::getNetWorth).containsExactly(
+				money("6000000"), money("6000000"), money("6000000"), money("8500000"), money("8500000"));
+
+		// Hari ini belum punya snapshot: nilainya dihitung langsung dari aset dan utang
+		debtService.createDebt(debt("Koperasi", "500000"), userId);
+		List<NetWorthPoint> current = netWorthService.getSeries(userId, DAY, LocalDate.now(), 10).getPoints();
+		assertThat(current.get(current.size() - 1).getDate()).isEqualTo(LocalDate.now());
+		assertThat(current.get(current.size() - 1).getNetWorth()).isEqualTo(money("8000000"));
+	}
+
+	@Test
+	void longRangesAreDownsampledToClosingValues() {
+		Long userId = TestUsers.register(userService, "net-worth-history-user").getId();
+		LocalDate from = LocalDate.of(2019, 1, 1);
+		LocalDate to = LocalDate.of(2023, 12, 31);
+		List<NetWorthSnapshot> history = new ArrayList<>();
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			history.add(new NetWorthSnapshot(null, userId, date, Money.ofMinor(date.toEpochDay() * 100),
+					Money.ofMinor(100_000)));
+		}
+		netWorthSnapshotWriter.upsertAll(history);
+
+		NetWorthSeries series = netWorthService.getSeries(userId, from, to, 100);
+
+		assertThat(series.getResolution()).isEqualTo(NetWorthSeries.Resolution.MONTH);
+		assertThat(series.getPoints()).hasSize(60);
+		NetWorthPoint february = series.getPoints().get(13);
+		assertThat(february.getDate()).isEqualTo(LocalDate.of(2020, 2, 29));
+		assertThat(february.getTotalAssets()).isEqualTo(Money.ofMinor(LocalDate.of(2020, 2, 29).toEpochDay() * 100));
+
+		// Rentang yang lebih panjang dari maxPoints bulan diringkas per tahun
+		NetWorthSeries yearly = netWorthService.getSeries(userId, LocalDate.of(2018, 7, 1), to, 12);
+		assertThat(yearly.getResolution()).isEqualTo(NetWorthSeries.Resolution.YEAR);
+		// Tahun sebelum snapshot pertama tidak punya titik
+		assertThat(yearly.getPoints()).extracting(NetWorthPoint::getDate).containsExactly(LocalDate.of(2019, 12, 31),
+				LocalDate.of(2020, 12, 31), LocalDate.of(2021, 12, 31), LocalDate.of(2022, 12, 31), to);
+	}
+
+	@Test
+	void seriesStopsAtTodayAndRejectsUnboundedRanges() {
+		Long userId = TestUsers.register(userService, "net-worth-range-user").getId();
+		assetService.createAsset(asset("Deposito", "3000000"), userId);
+		LocalDate today = LocalDate.now();
+
+		// Tidak ada titik setelah hari ini
+		NetWorthSeries series = netWorthService.getSeries(userId, today.minusDays(2), today.plusYears(1), 100);
+		assertThat(series.getTo()).isEqualTo(today);
+		assertThat(series.getResolution()).isEqualTo(NetWorthSeries.Resolution.DAY);
+		assertThat(series.getPoints()).singleElement().satisfies(point -> {
+			assertThat(point.getDate()).isEqualTo(today);
+			assertThat(point.getNetWorth()).isEqualTo(money("3000000"));
+		});
+
+		assertThatThrownBy(() -> netWorthService.getSeries(userId, today.plusDays(1), today.plusDays(5), 100))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> netWorthService.getSeries(userId, LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31),
+				NetWorthService.DEFAULT_MAX_POINTS)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private List<NetWorthSnapshot> snapshots(Long userId) {
+		return netWorthSnapshotRepository.findRange(userId, DAY.minusYears(1), DAY.plusYears(1));
+	}
+
+	private void assertChangedSinceSnapshot(Long userId, boolean changed) {
+		assertThat(userDataVersionRepository.findById(userId).orElseThrow())
+				.satisfies(version -> assertThat(version.getNetWorthVersion() < version.getVersion()).isEqualTo(changed));
+	}
+
+	private static Money money(String amount) {
+		return Money.of(new BigDecimal(amount));
+	}
+
+	private static AssetDto asset(String name, String value) {
+		AssetDto asset = new AssetDto();
+		asset.setType(AssetType.INVESTMENT);
+		asset.setName(name);
+		asset.setCurrentValue(new BigDecimal(value));
+		asset.setAcquisitionDate(DAY);
+		return asset;
+	}
+
+	private static DebtDto debt(String lender, String amount) {
+		DebtDto debt = new DebtDto();
+		debt.setLenderName(lender);
+		debt.setInitialAmount(new BigDecimal(amount));
+		return debt;
+	}
+
+	private static Budget budget() {
+		Budget budget = new Budget();
+		budget.setCategory("Makan");
+		budget.setAmount(new BigDecimal("1500000"));
+		budget.setBudgetYear(DAY.getYear());
+		budget.setBudgetMonth(DAY.getMonthValue());
+		return budget;
+	}
+}
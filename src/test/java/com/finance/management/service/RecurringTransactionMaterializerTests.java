@@ -0,0 +1,167 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.finance.management.TestUsers;
+import com.finance.management.model.RecurrenceFrequency;
+import com.finance.management.model.RecurringTransaction;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+import com.finance.management.model.User;
+import com.finance.management.repository.AssetRepository;
+import com.finance.management.repository.RecurringTransactionRepository;
+import com.finance.management.repository.TransactionRepository;
+import com.finance.management.security.UserPrincipal;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecurringTransactionMaterializerTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 4, 15);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private RecurringTransactionService recurringTransactionService;
+
+	@Autowired
+	private RecurringTransactionMaterializer recurringTransactionMaterializer;
+
+	@Autowired
+	private MonthlyRollupService monthlyRollupService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private RecurringTransactionRepository recurringTransactionRepository;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void postsDueOccurrencesAndSkipsThemOnRerun() throws Exception {
+		User user = TestUsers.register(userService, "recurring-user");
+		Long userId = user.getId();
+		// Tanggal 31 tetap kembali ke 31 setelah Februari
+		RecurringTransaction salary = recurringTransactionService.createRecurringTransaction(
+				template(TransactionType.INCOME, "Gaji", "5000000", RecurrenceFrequency.MONTHLY,
+						LocalDate.of(2025, 1, 31), null), userId);
+		RecurringTransaction meals = recurringTransactionService.createRecurringTransaction(
+				template(TransactionType.EXPENSE, "Makan", "10000", RecurrenceFrequency.DAILY,
+						LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10)), userId);
+
+		recurringTransactionMaterializer.materialize(TODAY);
+
+		List<Transaction> transactions = transactionRepository.findAllByUserId(userId);
+		assertThat(transactions).filteredOn(tx -> tx.getCategory().equals("Gaji"))
+				.extracting(Transaction::getTransactionDate)
+				.containsExactlyInAnyOrder(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28),
+						LocalDate.of(2025, 3, 31));
+		assertThat(transactions).filteredOn(tx -> tx.getCategory().equals("Makan")).hasSize(10);
+		assertThat(assetRepository.findByNameAndUserId("Cash", userId).orElseThrow().getCurrentValue())
+				.isEqualByComparingTo("14900000");
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, YearMonth.of(2025, 3), TransactionType.EXPENSE))
+				.isEqualByComparingTo("100000");
+
+		assertThat(recurringTransactionRepository.findById(salary.getId()).orElseThrow().getNextRunDate())
+				.isEqualTo(LocalDate.of(2025, 4, 30));
+		assertThat(recurringTransactionRepository.findById(meals.getId()).orElseThrow().isActive()).isFalse();
+
+		recurringTransactionMaterializer.materialize(TODAY);
+		assertThat(transactionRepository.findAllByUserId(userId)).hasSize(13);
+
+		mockMvc.perform(get("/transactions").with(user(UserPrincipal.from(user))))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Berikutnya 30 Apr 2025")));
+	}
+
+	@Test
+	void occurrenceKeysPreventDoublePostingWhenProgressIsLost() {
+		Long userId = TestUsers.register(userService, "recurring-rerun-user").getId();
+		RecurringTransaction rent = recurringTransactionService.createRecurringTransaction(
+				template(TransactionType.EXPENSE, "Sewa", "1500000", RecurrenceFrequency.WEEKLY,
+						LocalDate.of(2025, 3, 20), null), userId);
+
+		recurringTransactionMaterializer.materialize(TODAY);
+		assertThat(transactionRepository.findAllByUserId(userId)).hasSize(4);
+
+		// Seolah-olah job berhenti setelah transaksi tersimpan tetapi sebelum template maju
+		jdbcTemplate.update("UPDATE recurring_transactions SET next_occurrence = 0, next_run_date = ? WHERE id = ?",
+				LocalDate.of(2025, 3, 20), rent.getId());
+		recurringTransactionMaterializer.materialize(TODAY);
+
+		assertThat(transactionRepository.findAllByUserId(userId)).hasSize(4);
+		assertThat(assetRepository.findByNameAndUserId("Cash", userId).orElseThrow().getCurrentValue())
+				.isEqualByComparingTo("-6000000");
+		assertThat(recurringTransactionRepository.findById(rent.getId()).orElseThrow().getNextRunDate())
+				.isEqualTo(LocalDate.of(2025, 4, 17));
+	}
+
+	@Test
+	void failingChunkDoesNotStopLaterChunks() {
+		Long brokenUserId = TestUsers.register(userService, "recurring-broken-user").getId();
+		RecurringTransaction broken = recurringTransactionService.createRecurringTransaction(
+				template(TransactionType.INCOME, "Bonus", "1000000", RecurrenceFrequency.YEARLY,
+						LocalDate.of(2025, 1, 1), null), brokenUserId);
+		// Kemunculan berikutnya di luar rentang LocalDate: advance melempar DateTimeException
+		jdbcTemplate.update("UPDATE recurring_transactions SET interval_count = ? WHERE id = ?", Integer.MAX_VALUE,
+				broken.getId());
+		Long userId = TestUsers.register(userService, "recurring-after-broken-user").getId();
+		recurringTransactionService.createRecurringTransaction(
+				template(TransactionType.EXPENSE, "Internet", "300000", RecurrenceFrequency.MONTHLY,
+						LocalDate.of(2025, 4, 1), null), userId);
+
+		// Satu user per chunk, supaya user berikutnya ada di chunk setelah chunk yang gagal
+		Object materializer = AopTestUtils.getTargetObject(recurringTransactionMaterializer);
+		Object chunkSize = ReflectionTestUtils.getField(materializer, "chunkSize");
+		ReflectionTestUtils.setField(materializer, "chunkSize", 1);
+		try {
+			recurringTransactionMaterializer.materialize(TODAY);
+		} finally {
+			ReflectionTestUtils.setField(materializer, "chunkSize", chunkSize);
+		}
+
+		assertThat(transactionRepository.findAllByUserId(brokenUserId)).isEmpty();
+		assertThat(transactionRepository.findAllByUserId(userId)).extracting(Transaction::getCategory)
+				.containsExactly("Internet");
+	}
+
+	private static RecurringTransaction template(TransactionType type, String category, String amount,
+			RecurrenceFrequency frequency, LocalDate startDate, LocalDate endDate) {
+		RecurringTransaction template = new RecurringTransaction();
+		template.setType(type);
+		template.setCategory(category);
+		template.setAmount(new BigDecimal(amount));
+		template.setFrequency(frequency);
+		template.setStartDate(startDate);
+		template.setEndDate(endDate);
+		return template;
+	}
+}
@@ -0,0 +1,96 @@
+package com.finance.management.service;
+
+import static com.finance.management.TestTransactions.expense;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.ReportJob;
+
+@SpringBootTest(properties = { "app.report.cache-max-age=1d", "app.report.cache-max-size=10KB" })
+class ReportJobServiceTests {
+
+	@TempDir
+	static Path reportCacheDir;
+
+	@DynamicPropertySource
+	static void reportCacheDir(DynamicPropertyRegistry registry) {
+		registry.add("app.report.cache-dir", () -> reportCacheDir.toString());
+	}
+
+	@Autowired
+	private ReportJobService reportJobService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private UserDataVersionService userDataVersionService;
+
+	@Test
+	void finishedJobDeletesOnlyOlderVersionsOfItsPeriod() throws Exception {
+		Long userId = TestUsers.register(userService, "report-versions-user").getId();
+		transactionService.createTransaction(expense("Makan", "25000"), userId);
+		long version = userDataVersionService.getVersion(userId);
+		YearMonth month = YearMonth.now();
+		String period = month + "_" + month;
+		Path older = cachedFile(userId + "/" + period + "_v" + (version - 1) + ".pdf", 16, Duration.ofMinutes(5));
+		// Ditulis oleh job untuk versi yang lebih baru, yang selesai lebih dulu
+		Path newer = cachedFile(userId + "/" + period + "_v" + (version + 1) + ".pdf", 16, Duration.ofMinutes(1));
+
+		ReportJob job = reportJobService.submit(userId, month, month);
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!reportJobService.findJob(job.getId(), userId).orElseThrow().isDone()
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+
+		assertThat(job.getFile()).exists();
+		assertThat(older).doesNotExist();
+		assertThat(newer).exists();
+		// File test ini tidak ikut dihitung oleh test sweep di kelas yang sama
+		FileSystemUtils.deleteRecursively(reportCacheDir.resolve(String.valueOf(userId)));
+	}
+
+	@Test
+	void sweepRemovesExpiredFilesThenOldestUntilUnderTheSizeLimit() throws IOException {
+		Path expired = cachedFile("1/2025-01_2025-01_v3.pdf", 1024, Duration.ofDays(2));
+		Path abandonedTemp = cachedFile("1/report-123.tmp", 1024, Duration.ofDays(2));
+		Path older = cachedFile("2/2025-02_2025-02_v7.pdf", 6 * 1024, Duration.ofHours(2));
+		Path newer = cachedFile("2/2025-03_2025-03_v7.pdf", 6 * 1024, Duration.ofHours(1));
+
+		assertThat(reportJobService.sweepCache()).isEqualTo(3);
+
+		assertThat(expired).doesNotExist();
+		assertThat(abandonedTemp).doesNotExist();
+		assertThat(older).doesNotExist();
+		assertThat(newer).exists();
+		assertThat(reportCacheDir.resolve("1")).doesNotExist();
+	}
+
+	private static Path cachedFile(String name, int size, Duration age) throws IOException {
+		Path file = reportCacheDir.resolve(name);
+		Files.createDirectories(file.getParent());
+		Files.write(file, new byte[size]);
+		Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+		return file;
+	}
+}
@@ -0,0 +1,110 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.dto.ImportResult;
+import com.finance.management.importer.ImportFormat;
+import com.finance.management.model.TransactionType;
+import com.finance.management.repository.AssetRepository;
+
+@SpringBootTest(properties = "app.import.batch-size=2")
+class TransactionImportServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionImportService transactionImportService;
+
+	@Autowired
+	private MonthlyRollupService monthlyRollupService;
+
+	@Autowired
+	private AssetRepository assetRepository;
+
+	@Test
+	void csvImportSkipsBadRowsAndAppliesNetCash() throws Exception {
+		Long userId = TestUsers.register(userService, "import-csv-user").getId();
+		String csv = """
+				tanggal,tipe,kategori,jumlah,deskripsi
+				2025-01-05,INCOME,Gaji,"5,000,000.00",Gaji Januari
+				2025-01-06,EXPENSE,Makan,25000,"Makan siang, kantor"
+				bukan-tanggal,EXPENSE,Makan,10000,
+				2025-01-07,EXPENSE,Transport,abc,
+				07/01/2025,PENGELUARAN,Transport,15000,
+				""";
+
+		ImportResult result = transactionImportService.importTransactions(userId,
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+		assertThat(result.getTotalRows()).isEqualTo(5);
+		assertThat(result.getImportedRows()).isEqualTo(3);
+		assertThat(result.getFailedRows()).isEqualTo(2);
+		assertThat(result.getBatches()).isEqualTo(2);
+		assertThat(result.getErrors()).extracting(ImportResult.RowError::getLine).containsExactly(4L, 5L);
+		assertThat(cash(userId)).isEqualByComparingTo("4960000.00");
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, YearMonth.of(2025, 1), TransactionType.EXPENSE))
+				.isEqualByComparingTo("40000.00");
+	}
+
+	@Test
+	void csvImportAcceptsCategoriesUpToTheColumnLength() throws Exception {
+		Long userId = TestUsers.register(userService, "import-long-category-user").getId();
+		String longest = "k".repeat(100);
+		String csv = "tanggal,tipe,kategori,jumlah,deskripsi\n"
+				+ "2025-01-05,EXPENSE," + longest + ",10000,\n"
+				+ "2025-01-06,EXPENSE," + longest + "x,10000,\n";
+
+		ImportResult result = transactionImportService.importTransactions(userId,
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+		assertThat(result.getImportedRows()).isEqualTo(1);
+		assertThat(result.getErrors()).extracting(ImportResult.RowError::getLine).containsExactly(3L);
+		assertThat(monthlyRollupService.getMonthlyTotal(userId, YearMonth.of(2025, 1), TransactionType.EXPENSE))
+				.isEqualByComparingTo("10000.00");
+	}
+
+	@Test
+	void ofxImportReadsStatementTransactions() throws Exception {
+		Long userId = TestUsers.register(userService, "import-ofx-user").getId();
+		String ofx = """
+				OFXHEADER:100
+				DATA:OFXSGML
+
+				<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+				<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250201120000<TRNAMT>1000000.00<NAME>Transfer masuk</STMTTRN>
+				<STMTTRN>
+				<TRNTYPE>DEBIT
+				<DTPOSTED>20250203
+				<TRNAMT>-150000.00
+				<NAME>Listrik
+				<MEMO>Token PLN
+				</STMTTRN>
+				<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>xx<TRNAMT>-1.00</STMTTRN>
+				</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+				""";
+
+		ImportResult result = transactionImportService.importTransactions(userId,
+				new ByteArrayInputStream(ofx.getBytes(StandardCharsets.UTF_8)), ImportFormat.OFX);
+
+		assertThat(result.getImportedRows()).isEqualTo(2);
+		assertThat(result.getFailedRows()).isEqualTo(1);
+		assertThat(cash(userId)).isEqualByComparingTo("850000.00");
+	}
+
+
+	private BigDecimal cash(Long userId) {
+		return assetRepository.findByNameAndUserId(AssetService.DEFAULT_CASH_ASSET_NAME, userId).orElseThrow()
+				.getCurrentValue();
+	}
+}
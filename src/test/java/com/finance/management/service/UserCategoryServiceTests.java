@@ -0,0 +1,54 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.finance.management.TestUsers;
+import com.finance.management.model.Transaction;
+import com.finance.management.model.TransactionType;
+
+@SpringBootTest
+class UserCategoryServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Test
+	void categoryDictionaryFollowsTransactionWrites() {
+		Long userId = TestUsers.register(userService, "category-user").getId();
+		Transaction makan = transactionService.createTransaction(transaction("Makan"), userId);
+		transactionService.createTransaction(transaction("Makan"), userId);
+		Transaction hiburan = transactionService.createTransaction(transaction("Hiburan"), userId);
+		transactionService.createTransactions(List.of(transaction("Transport"), transaction("Transport"),
+				transaction("Transport"), transaction("Makan")), userId);
+
+		assertThat(transactionService.getUniqueCategories(userId)).containsExactly("Hiburan", "Makan", "Transport");
+		assertThat(transactionService.getFrequentCategories(userId)).containsExactly("Makan", "Transport", "Hiburan");
+
+		// memindahkan satu-satunya transaksi Hiburan membuat kategori itu hilang dari daftar
+		transactionService.updateTransaction(hiburan.getId(), transaction("Belanja"), userId);
+		transactionService.deleteTransaction(makan.getId(), userId);
+
+		assertThat(transactionService.getUniqueCategories(userId)).containsExactly("Belanja", "Makan", "Transport");
+		assertThat(transactionService.getFrequentCategories(userId)).containsExactly("Transport", "Makan", "Belanja");
+	}
+
+	private Transaction transaction(String category) {
+		Transaction transaction = new Transaction();
+		transaction.setType(TransactionType.EXPENSE);
+		transaction.setCategory(category);
+		transaction.setAmount(new BigDecimal("1000"));
+		transaction.setTransactionDate(LocalDate.of(2025, 4, 1));
+		return transaction;
+	}
+}
@@ -0,0 +1,50 @@
+package com.finance.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finance.management.TestUsers;
+import com.finance.management.config.CacheConfig;
+import com.finance.management.dto.ProfileUpdateDto;
+import com.finance.management.dto.UserSnapshot;
+import com.finance.management.model.RiskProfile;
+
+@SpringBootTest
+class UserServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void cachedProfileIsEvictedOnlyAfterTheUpdateCommits() {
+		Long userId = TestUsers.register(userService, "profile-cache-user").getId();
+		UserSnapshot before = userService.getById(userId);
+		assertThat(cacheManager.getCache(CacheConfig.USERS).get(userId, UserSnapshot.class)).isEqualTo(before);
+
+		ProfileUpdateDto dto = new ProfileUpdateDto();
+		dto.setName("Nama Baru");
+		dto.setEmail("profile-cache-user@example.com");
+		dto.setRiskProfile(RiskProfile.AGRESIF);
+		transactionTemplate.executeWithoutResult(status -> {
+			userService.updateProfile(userId, dto);
+			// Sebelum commit, entry lama masih ada di cache
+			assertThat(cacheManager.getCache(CacheConfig.USERS).get(userId)).isNotNull();
+		});
+
+		assertThat(cacheManager.getCache(CacheConfig.USERS).get(userId)).isNull();
+		UserSnapshot after = userService.getById(userId);
+		assertThat(after.getName()).isEqualTo("Nama Baru");
+		assertThat(after.getRiskProfile()).isEqualTo(RiskProfile.AGRESIF);
+	}
+}